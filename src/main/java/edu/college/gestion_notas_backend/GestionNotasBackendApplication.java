@@ -2,8 +2,14 @@ package edu.college.gestion_notas_backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import edu.college.gestion_notas_backend.repository.RepositorioNaturalIdImpl;
 
 @SpringBootApplication
+@EnableScheduling
+@EnableJpaRepositories(repositoryBaseClass = RepositorioNaturalIdImpl.class)
 public class GestionNotasBackendApplication {
 
 	public static void main(String[] args) {
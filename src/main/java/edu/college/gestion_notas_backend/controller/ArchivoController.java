@@ -0,0 +1,161 @@
+package edu.college.gestion_notas_backend.controller;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import edu.college.gestion_notas_backend.service.FileStorageService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+// Fotos subidas de estudiantes y docentes.
+// FileStorageService guarda cada archivo con un nombre UUID nuevo, así que el contenido de una URL no cambia nunca
+// y puede cachearse como inmutable. El archivo se envía con sendfile de Tomcat cuando está disponible.
+@Tag(name = "Archivos", description = "API para servir las fotos subidas")
+@RestController
+@RequestMapping("/uploads")
+@RequiredArgsConstructor
+public class ArchivoController {
+
+    private static final CacheControl CACHE_INMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+
+    // Atributos de petición con los que Tomcat envía el archivo desde el sistema operativo (fin exclusivo)
+    private static final String SENDFILE_SOPORTADO = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_ARCHIVO = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_INICIO = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_FIN = "org.apache.tomcat.sendfile.end";
+
+    private final FileStorageService fileStorageService;
+
+    @Operation(
+        summary = "Obtener archivo subido",
+        description = "Devuelve una foto subida con Cache-Control inmutable, ETag y Last-Modified. " +
+                     "Admite peticiones condicionales y un rango de bytes (Range)."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Archivo completo"),
+        @ApiResponse(responseCode = "206", description = "Rango de bytes solicitado"),
+        @ApiResponse(responseCode = "304", description = "El cliente ya tiene el archivo"),
+        @ApiResponse(responseCode = "404", description = "Archivo no encontrado"),
+        @ApiResponse(responseCode = "416", description = "Rango fuera del archivo")
+    })
+    @GetMapping({"/{archivo}", "/{carpeta}/{archivo}"})
+    public void obtenerArchivo(
+            @Parameter(description = "Subdirectorio (estudiantes, docentes)") @PathVariable(required = false) String carpeta,
+            @Parameter(description = "Nombre del archivo", required = true) @PathVariable String archivo,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        Optional<Path> ruta = fileStorageService.resolveFile(carpeta, archivo);
+        if (ruta.isEmpty()) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        Path path = ruta.get();
+        BasicFileAttributes atributos = Files.readAttributes(path, BasicFileAttributes.class);
+        long longitud = atributos.size();
+        long modificado = atributos.lastModifiedTime().toMillis();
+        // El nombre ya identifica el contenido
+        String etag = "\"" + archivo + "\"";
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_INMUTABLE.getHeaderValue());
+        // Añade ETag y Last-Modified; responde 304 si If-None-Match / If-Modified-Since coinciden
+        if (new ServletWebRequest(request, response).checkNotModified(etag, modificado)) {
+            return;
+        }
+
+        String tipo = request.getServletContext().getMimeType(archivo);
+        response.setContentType(tipo != null ? tipo : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        long inicio = 0;
+        long fin = longitud - 1;
+        String rango = request.getHeader(HttpHeaders.RANGE);
+        if (rango != null && rangoVigente(request, etag, modificado)) {
+            List<HttpRange> rangos;
+            try {
+                rangos = HttpRange.parseRanges(rango);
+            } catch (IllegalArgumentException e) {
+                rangos = List.of();
+            }
+            // Un solo rango; con varios (o mal formados) se envía el archivo completo, como permite la RFC 9110
+            if (rangos.size() == 1) {
+                try {
+                    inicio = rangos.get(0).getRangeStart(longitud);
+                    fin = rangos.get(0).getRangeEnd(longitud);
+                } catch (IllegalArgumentException e) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + longitud);
+                    response.sendError(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    return;
+                }
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + inicio + "-" + fin + "/" + longitud);
+            }
+        }
+
+        long bytes = fin - inicio + 1;
+        response.setContentLengthLong(bytes);
+        if ("HEAD".equals(request.getMethod()) || bytes <= 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SOPORTADO))) {
+            request.setAttribute(SENDFILE_ARCHIVO, path.toString());
+            request.setAttribute(SENDFILE_INICIO, inicio);
+            request.setAttribute(SENDFILE_FIN, fin + 1);
+            return;
+        }
+
+        // Sin sendfile: el canal del archivo transfiere directamente al stream de la respuesta
+        try (FileChannel canal = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel salida = Channels.newChannel(response.getOutputStream());
+            long posicion = inicio;
+            long restante = bytes;
+            while (restante > 0) {
+                long enviados = canal.transferTo(posicion, restante, salida);
+                if (enviados <= 0) {
+                    break;
+                }
+                posicion += enviados;
+                restante -= enviados;
+            }
+        }
+    }
+
+    // If-Range: el rango solo se aplica si el cliente tiene la misma versión del archivo
+    private boolean rangoVigente(HttpServletRequest request, String etag, long modificado) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null || ifRange.equals(etag)) {
+            return true;
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == modificado / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package edu.college.gestion_notas_backend.controller;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import edu.college.gestion_notas_backend.service.VersionesColecciones;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Respuestas JSON ya serializadas (y comprimidas con gzip) de listados muy consultados.
+// Cada entrada guarda el ETag de VersionesColecciones con el que se generó: cuando una escritura cambia la versión
+// la entrada deja de servirse y se regenera en la siguiente petición, sin invalidaciones explícitas.
+@Component
+class CacheRespuestasJson {
+
+    // Por debajo de este tamaño gzip no compensa
+    private static final int MINIMO_GZIP = 1024;
+
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Respuesta> respuestas;
+
+    CacheRespuestasJson(ObjectMapper objectMapper,
+                        @Value("${notas.cache.respuestas.maximo:1000}") long maximo) {
+        this.objectMapper = objectMapper;
+        this.respuestas = Caffeine.newBuilder()
+            .maximumSize(maximo)
+            .build();
+    }
+
+    // Escribir la respuesta de la clave (endpoint y parámetros) para la versión indicada.
+    // El ETag se obtiene antes de consultar: si una escritura se cruza, la entrada queda con la versión anterior.
+    void responder(String clave, String etag, Supplier<Object> contenido,
+                   HttpServletRequest request, HttpServletResponse response) throws IOException {
+        boolean gzip = aceptaGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        String coincidente = VersionesColecciones.etagNoModificado(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag, gzip);
+        if (coincidente != null) {
+            response.setHeader(HttpHeaders.ETAG, coincidente);
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        Respuesta respuesta = respuestas.getIfPresent(clave);
+        if (respuesta == null || !respuesta.etag().equals(etag)) {
+            respuesta = serializar(etag, contenido.get());
+            respuestas.put(clave, respuesta);
+        }
+
+        byte[] cuerpo = respuesta.json();
+        String etagCuerpo = etag;
+        if (respuesta.gzip() != null && gzip) {
+            cuerpo = respuesta.gzip();
+            etagCuerpo = VersionesColecciones.etagGzip(etag);
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setHeader(HttpHeaders.ETAG, etagCuerpo);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(cuerpo.length);
+        response.getOutputStream().write(cuerpo);
+    }
+
+    private Respuesta serializar(String etag, Object contenido) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(contenido);
+        if (json.length < MINIMO_GZIP) {
+            return new Respuesta(etag, json, null);
+        }
+        ByteArrayOutputStream comprimido = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(comprimido)) {
+            gzip.write(json);
+        }
+        return new Respuesta(etag, json, comprimido.toByteArray());
+    }
+
+    private static boolean aceptaGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String codificacion : acceptEncoding.split(",")) {
+            String[] partes = codificacion.trim().split(";");
+            if (partes[0].trim().equalsIgnoreCase("gzip")) {
+                return partes.length == 1 || !partes[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private record Respuesta(String etag, byte[] json, byte[] gzip) {
+    }
+}
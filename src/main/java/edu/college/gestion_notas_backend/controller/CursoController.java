@@ -1,9 +1,16 @@
 package edu.college.gestion_notas_backend.controller;
 
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -12,23 +19,35 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import edu.college.gestion_notas_backend.dto.request.ConfigurarPesosDTO;
 import edu.college.gestion_notas_backend.dto.request.CrearCursoDTO;
 import edu.college.gestion_notas_backend.dto.response.CursoResponseDTO;
+import edu.college.gestion_notas_backend.dto.response.PesosCursoDTO;
 import edu.college.gestion_notas_backend.model.Curso;
 import edu.college.gestion_notas_backend.model.Docente;
+import edu.college.gestion_notas_backend.model.Nota;
+import edu.college.gestion_notas_backend.model.PeriodoAcademico;
+import edu.college.gestion_notas_backend.service.CalificacionFinalService;
 import edu.college.gestion_notas_backend.service.CursoService;
 import edu.college.gestion_notas_backend.service.DocenteService;
+import edu.college.gestion_notas_backend.service.PeriodoAcademicoService;
+import edu.college.gestion_notas_backend.service.VersionesColecciones;
+import edu.college.gestion_notas_backend.service.VersionesColecciones.Coleccion;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -40,6 +59,10 @@ public class CursoController {
     
     private final CursoService cursoService;
     private final DocenteService docenteService;
+    private final CalificacionFinalService calificacionFinalService;
+    private final PeriodoAcademicoService periodoAcademicoService;
+    private final VersionesColecciones versionesColecciones;
+    private final CacheRespuestasJson cacheRespuestasJson;
     
     @Operation(
         summary = "Crear un nuevo curso",
@@ -52,7 +75,7 @@ public class CursoController {
             content = @Content(schema = @Schema(implementation = CursoResponseDTO.class))),
         @ApiResponse(responseCode = "409", description = "Conflicto - El código del curso ya existe",
             content = @Content),
-        @ApiResponse(responseCode = "400", description = "Datos inválidos en la solicitud",
+        @ApiResponse(responseCode = "400", description = "Datos inválidos en la solicitud o periodo inexistente",
             content = @Content)
     })
     @PostMapping
@@ -76,6 +99,15 @@ public class CursoController {
                 docente.ifPresent(curso::setDocente);
             }
             
+            // Sin periodo indicado, el curso se crea en el periodo actual
+            if (crearCursoDTO.getIdPeriodo() != null) {
+                Optional<PeriodoAcademico> periodo = periodoAcademicoService.obtenerPeriodoPorId(crearCursoDTO.getIdPeriodo());
+                if (periodo.isEmpty()) {
+                    return ResponseEntity.badRequest().build();
+                }
+                curso.setPeriodo(periodo.get());
+            }
+            
             Curso cursoCreado = cursoService.crearCurso(curso);
             return ResponseEntity.status(HttpStatus.CREATED).body(convertirADTO(cursoCreado));
             
@@ -86,31 +118,54 @@ public class CursoController {
     
     @Operation(
         summary = "Obtener todos los cursos",
-        description = "Recupera la lista completa de cursos registrados en el sistema, " +
+        description = "Recupera los cursos de un periodo académico (por defecto el actual), " +
                      "incluyendo tanto activos como inactivos."
     )
-    @ApiResponse(responseCode = "200", description = "Lista de cursos obtenida exitosamente")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lista de cursos obtenida exitosamente"),
+        @ApiResponse(responseCode = "304", description = "Sin cambios desde el ETag indicado en If-None-Match",
+            content = @Content)
+    })
     @GetMapping
-    public ResponseEntity<List<CursoResponseDTO>> obtenerTodosLosCursos() {
-        List<Curso> cursos = cursoService.obtenerTodosLosCursos();
+    public ResponseEntity<List<CursoResponseDTO>> obtenerTodosLosCursos(
+            @Parameter(description = "ID del periodo académico (por defecto el actual)") @RequestParam(required = false) Integer idPeriodo,
+            @Parameter(description = "ETag de un listado anterior; si no hubo cambios se responde 304")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // La versión se lee antes que los cursos: una escritura concurrente deja este ETag desfasado
+        String etag = versionesColecciones.etag(Coleccion.CURSOS);
+        if (VersionesColecciones.noModificado(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+        }
+        List<Curso> cursos = cursoService.obtenerCursosPorPeriodo(idPeriodo);
         List<CursoResponseDTO> cursosDTO = cursos.stream()
             .map(this::convertirADTO)
             .collect(Collectors.toList());
-        return ResponseEntity.ok(cursosDTO);
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(cursosDTO);
     }
     
     @Operation(
         summary = "Obtener cursos activos",
-        description = "Recupera únicamente los cursos que están marcados como activos."
+        description = "Recupera únicamente los cursos que están marcados como activos en un periodo académico (por defecto el actual)."
     )
-    @ApiResponse(responseCode = "200", description = "Lista de cursos activos obtenida")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lista de cursos activos obtenida",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = CursoResponseDTO.class)))),
+        @ApiResponse(responseCode = "304", description = "Sin cambios desde el ETag indicado en If-None-Match",
+            content = @Content)
+    })
     @GetMapping("/activos")
-    public ResponseEntity<List<CursoResponseDTO>> obtenerCursosActivos() {
-        List<Curso> cursos = cursoService.obtenerCursosActivos();
-        List<CursoResponseDTO> cursosDTO = cursos.stream()
-            .map(this::convertirADTO)
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(cursosDTO);
+    public void obtenerCursosActivos(
+            @Parameter(description = "ID del periodo académico (por defecto el actual)") @RequestParam(required = false) Integer idPeriodo,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        // JSON ya serializado mientras no cambie la versión de los cursos
+        // La clave lleva el periodo resuelto: sin idPeriodo y con el ID del actual se comparte la entrada
+        Integer periodo = periodoAcademicoService.resolverIdPeriodo(idPeriodo);
+        cacheRespuestasJson.responder("/cursos/activos?idPeriodo=" + periodo, versionesColecciones.etag(Coleccion.CURSOS),
+            () -> cursoService.obtenerCursosActivosPorPeriodo(periodo).stream()
+                .map(this::convertirADTO)
+                .collect(Collectors.toList()),
+            request, response);
     }
     
     @Operation(
@@ -349,18 +404,67 @@ public class CursoController {
         }
     }
     
+    // Obtener pesos de evaluación de un curso
+    @Operation(
+        summary = "Obtener pesos de evaluación de un curso",
+        description = "Devuelve el porcentaje de cada tipo de evaluación en la nota final. " +
+                     "Si no hay pesos configurados la nota final es el promedio simple."
+    )
+    @ApiResponse(responseCode = "200", description = "Pesos del curso",
+        content = @Content(schema = @Schema(implementation = PesosCursoDTO.class)))
+    @GetMapping("/{id}/pesos")
+    public ResponseEntity<PesosCursoDTO> obtenerPesos(@PathVariable Integer id) {
+        return ResponseEntity.ok(convertirPesosADTO(id, calificacionFinalService.obtenerPesos(id)));
+    }
+    
+    // Configurar pesos de evaluación de un curso
+    @Operation(
+        summary = "Configurar pesos de evaluación de un curso",
+        description = "Reemplaza los pesos del curso. Cada peso es un porcentaje mayor a 0 y deben sumar 100."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Pesos configurados",
+            content = @Content(schema = @Schema(implementation = PesosCursoDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Tipo de evaluación inválido, curso inexistente o pesos que no suman 100",
+            content = @Content)
+    })
+    @PutMapping("/{id}/pesos")
+    public ResponseEntity<PesosCursoDTO> configurarPesos(
+            @PathVariable Integer id,
+            @Valid @RequestBody ConfigurarPesosDTO configurarPesosDTO) {
+        try {
+            Map<Nota.TipoEvaluacion, BigDecimal> pesos = new EnumMap<>(Nota.TipoEvaluacion.class);
+            configurarPesosDTO.getPesos().forEach((tipo, peso) ->
+                pesos.put(Nota.TipoEvaluacion.valueOf(tipo.toUpperCase()), peso));
+            return ResponseEntity.ok(convertirPesosADTO(id, calificacionFinalService.configurarPesos(id, pesos)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     // Obtener estadísticas por docente
     @Operation(
         summary = "Obtener estadísticas por docente",
         description = "Obtiene estadísticas relacionadas con los cursos agrupados por docente."
     )
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas")
+        @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = Object[].class)))),
+        @ApiResponse(responseCode = "304", description = "Sin cambios desde el ETag indicado en If-None-Match",
+            content = @Content)
     })
     @GetMapping("/estadisticas/docente")
-    public ResponseEntity<List<Object[]>> obtenerEstadisticasPorDocente() {
-        List<Object[]> estadisticas = cursoService.obtenerEstadisticasPorDocente();
-        return ResponseEntity.ok(estadisticas);
+    public void obtenerEstadisticasPorDocente(
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        cacheRespuestasJson.responder("/cursos/estadisticas/docente", versionesColecciones.etag(Coleccion.CURSOS),
+            cursoService::obtenerEstadisticasPorDocente, request, response);
+    }
+    
+    private PesosCursoDTO convertirPesosADTO(Integer idCurso, Map<Nota.TipoEvaluacion, BigDecimal> pesos) {
+        Map<String, BigDecimal> porTipo = new LinkedHashMap<>();
+        pesos.forEach((tipo, peso) -> porTipo.put(tipo.name(), peso));
+        return PesosCursoDTO.builder().idCurso(idCurso).pesos(porTipo).build();
     }
     
     // Método de conversión
@@ -372,6 +476,7 @@ public class CursoController {
             .descripcion(curso.getDescripcion())
             .creditos(curso.getCreditos())
             .activo(curso.getActivo())
+            .idPeriodo(curso.getPeriodo() != null ? curso.getPeriodo().getIdPeriodo() : null)
             .idDocente(curso.getDocente() != null ? curso.getDocente().getIdDocente() : null)
             .nombreDocente(curso.getDocente() != null ? curso.getDocente().getNombres() : null)
             .apellidosDocente(curso.getDocente() != null ? curso.getDocente().getApellidos() : null)
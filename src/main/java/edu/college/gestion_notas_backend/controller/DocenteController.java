@@ -1,9 +1,12 @@
 package edu.college.gestion_notas_backend.controller;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -14,6 +17,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -28,13 +32,18 @@ import edu.college.gestion_notas_backend.model.Usuario;
 import edu.college.gestion_notas_backend.service.DocenteService;
 import edu.college.gestion_notas_backend.service.FileStorageService;
 import edu.college.gestion_notas_backend.service.UsuarioService;
+import edu.college.gestion_notas_backend.service.VersionesColecciones;
+import edu.college.gestion_notas_backend.service.VersionesColecciones.Coleccion;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -47,6 +56,8 @@ public class DocenteController {
     private final DocenteService docenteService;
     private final UsuarioService usuarioService;
     private final FileStorageService fileStorageService;
+    private final VersionesColecciones versionesColecciones;
+    private final CacheRespuestasJson cacheRespuestasJson;
 
     @Operation(
         summary = "Crear docente completo",
@@ -159,28 +170,46 @@ public class DocenteController {
         summary = "Obtener todos los docentes",
         description = "Recupera la lista completa de docentes registrados en el sistema."
     )
-    @ApiResponse(responseCode = "200", description = "Lista de docentes obtenida exitosamente")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lista de docentes obtenida exitosamente"),
+        @ApiResponse(responseCode = "304", description = "Sin cambios desde el ETag indicado en If-None-Match",
+            content = @Content)
+    })
     @GetMapping
-    public ResponseEntity<List<DocenteResponseDTO>> obtenerTodosLosDocentes() {
+    public ResponseEntity<List<DocenteResponseDTO>> obtenerTodosLosDocentes(
+            @Parameter(description = "ETag de un listado anterior; si no hubo cambios se responde 304")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = versionesColecciones.etag(Coleccion.DOCENTES);
+        if (VersionesColecciones.noModificado(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+        }
         List<Docente> docentes = docenteService.obtenerTodosLosDocentes();
         List<DocenteResponseDTO> docentesDTO = docentes.stream()
                 .map(this::convertirADTO)
                 .collect(Collectors.toList());
-        return ResponseEntity.ok(docentesDTO);
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(docentesDTO);
     }
 
     @Operation(
         summary = "Obtener docentes activos",
         description = "Recupera únicamente los docentes con usuario activo."
     )
-    @ApiResponse(responseCode = "200", description = "Lista de docentes activos")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lista de docentes activos",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = DocenteResponseDTO.class)))),
+        @ApiResponse(responseCode = "304", description = "Sin cambios desde el ETag indicado en If-None-Match",
+            content = @Content)
+    })
     @GetMapping("/activos")
-    public ResponseEntity<List<DocenteResponseDTO>> obtenerDocentesActivos() {
-        List<Docente> docentes = docenteService.obtenerDocentesActivos();
-        List<DocenteResponseDTO> docentesDTO = docentes.stream()
+    public void obtenerDocentesActivos(
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        // JSON ya serializado mientras no cambie la versión de los docentes
+        cacheRespuestasJson.responder("/docentes/activos", versionesColecciones.etag(Coleccion.DOCENTES),
+            () -> docenteService.obtenerDocentesActivos().stream()
                 .map(this::convertirADTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(docentesDTO);
+                .collect(Collectors.toList()),
+            request, response);
     }
 
     @Operation(
@@ -400,13 +429,18 @@ public class DocenteController {
         description = "Obtiene estadísticas relacionadas con los docentes agrupados por especialidad."
     )
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas"),
-        @ApiResponse(responseCode = "404", description = "Especialidad no encontrada")
+        @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = Object[].class)))),
+        @ApiResponse(responseCode = "404", description = "Especialidad no encontrada"),
+        @ApiResponse(responseCode = "304", description = "Sin cambios desde el ETag indicado en If-None-Match",
+            content = @Content)
     })
     @GetMapping("/estadisticas/especialidad")
-    public ResponseEntity<List<Object[]>> obtenerEstadisticasPorEspecialidad() {
-        List<Object[]> estadisticas = docenteService.obtenerEstadisticasPorEspecialidad();
-        return ResponseEntity.ok(estadisticas);
+    public void obtenerEstadisticasPorEspecialidad(
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        cacheRespuestasJson.responder("/docentes/estadisticas/especialidad", versionesColecciones.etag(Coleccion.DOCENTES),
+            docenteService::obtenerEstadisticasPorEspecialidad, request, response);
     }
 
     // Método de conversión
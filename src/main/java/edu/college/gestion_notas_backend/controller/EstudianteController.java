@@ -1,9 +1,13 @@
 package edu.college.gestion_notas_backend.controller;
 
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -14,9 +18,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
 
 import edu.college.gestion_notas_backend.dto.request.ActualizarEstudianteConFotoDTO;
 import edu.college.gestion_notas_backend.dto.request.ActualizarEstudianteDTO;
@@ -24,30 +30,46 @@ import edu.college.gestion_notas_backend.dto.request.ActualizarPerfilEstudianteD
 import edu.college.gestion_notas_backend.dto.request.CrearEstudianteCompletoDTO;
 import edu.college.gestion_notas_backend.dto.request.CrearEstudianteDTO;
 import edu.college.gestion_notas_backend.dto.response.EstudianteResponseDTO;
+import edu.college.gestion_notas_backend.dto.response.PaginaRankingDTO;
+import edu.college.gestion_notas_backend.dto.response.RankingMeritoDTO;
+import edu.college.gestion_notas_backend.exception.RankingEnProcesoException;
 import edu.college.gestion_notas_backend.model.Estudiante;
 import edu.college.gestion_notas_backend.model.Usuario;
+import edu.college.gestion_notas_backend.service.AlmacenIdempotencia;
 import edu.college.gestion_notas_backend.service.EstudianteService;
 import edu.college.gestion_notas_backend.service.FileStorageService;
+import edu.college.gestion_notas_backend.service.RankingMeritoService;
 import edu.college.gestion_notas_backend.service.UsuarioService;
+import edu.college.gestion_notas_backend.service.VersionesColecciones;
+import edu.college.gestion_notas_backend.service.VersionesColecciones.Coleccion;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 @Tag(name = "Estudiantes", description = "API para la gestión de estudiantes")
 @RestController
 @RequestMapping("/estudiantes")
 @RequiredArgsConstructor
+@Slf4j
 public class EstudianteController {
 
     private final EstudianteService estudianteService;
     private final UsuarioService usuarioService;
     private final FileStorageService fileStorageService;
+    private final RankingMeritoService rankingMeritoService;
+    private final AlmacenIdempotencia almacenIdempotencia;
+    private final VersionesColecciones versionesColecciones;
+    private final CacheRespuestasJson cacheRespuestasJson;
     
     @Operation(
         summary = "Crear estudiante completo",
@@ -58,12 +80,31 @@ public class EstudianteController {
         @ApiResponse(responseCode = "201", description = "Estudiante creado exitosamente",
             content = @Content(schema = @Schema(implementation = EstudianteResponseDTO.class))),
         @ApiResponse(responseCode = "400", description = "Datos inválidos o email ya registrado",
+            content = @Content),
+        @ApiResponse(responseCode = "409", description = "Petición con la misma Idempotency-Key en curso",
+            content = @Content),
+        @ApiResponse(responseCode = "422", description = "Idempotency-Key ya usada con otros datos",
             content = @Content)
     })
     @PostMapping(value = "/completo", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     // @PostMapping("/completo")
     public ResponseEntity<EstudianteResponseDTO> crearEstudianteCompleto(
+            @Parameter(description = "Clave única del intento; un reintento con la misma clave devuelve la respuesta original")
+            @RequestHeader(value = AlmacenIdempotencia.CABECERA_IDEMPOTENCIA, required = false) String claveIdempotencia,
             @Valid @ModelAttribute CrearEstudianteCompletoDTO dto) {
+        return almacenIdempotencia.ejecutar("POST /estudiantes/completo", claveIdempotencia,
+            huellaEstudianteCompleto(dto), () -> registrarEstudianteCompleto(dto));
+    }
+    
+    // Datos que identifican la petición; la contraseña no se guarda en memoria
+    private List<Object> huellaEstudianteCompleto(CrearEstudianteCompletoDTO dto) {
+        MultipartFile foto = dto.getFoto();
+        return Arrays.asList(dto.getEmail(), dto.getNombres(), dto.getApellidos(), dto.getTelefono(),
+            dto.getDireccion(), dto.getDistrito(), dto.getFechaNacimiento(), dto.getCodigoEstudiante(),
+            foto != null ? foto.getOriginalFilename() : null, foto != null ? foto.getSize() : null);
+    }
+    
+    private ResponseEntity<EstudianteResponseDTO> registrarEstudianteCompleto(CrearEstudianteCompletoDTO dto) {
         // Log para debug
         System.out.println("=== Crear Estudiante Completo ===");
         System.out.println("Email: " + dto.getEmail());
@@ -159,14 +200,71 @@ public class EstudianteController {
         summary = "Obtener todos los estudiantes",
         description = "Recupera la lista completa de estudiantes registrados."
     )
-    @ApiResponse(responseCode = "200", description = "Lista de estudiantes obtenida")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lista de estudiantes obtenida"),
+        @ApiResponse(responseCode = "304", description = "Sin cambios desde el ETag indicado en If-None-Match",
+            content = @Content)
+    })
     @GetMapping
-    public ResponseEntity<List<EstudianteResponseDTO>> obtenerTodosLosEstudiantes() {
+    public ResponseEntity<List<EstudianteResponseDTO>> obtenerTodosLosEstudiantes(
+            @Parameter(description = "ETag de un listado anterior; si no hubo cambios se responde 304")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = versionesColecciones.etag(Coleccion.ESTUDIANTES);
+        if (VersionesColecciones.noModificado(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+        }
         List<Estudiante> estudiantes = estudianteService.obtenerTodosLosEstudiantes();
         List<EstudianteResponseDTO> estudiantesDTO = estudiantes.stream()
                 .map(this::convertirADTO)
                 .collect(Collectors.toList());
-        return ResponseEntity.ok(estudiantesDTO);
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(estudiantesDTO);
+    }
+
+    // Orden de mérito
+    @Operation(
+        summary = "Obtener orden de mérito",
+        description = "Devuelve una página de la última versión generada del orden de mérito (o de la versión indicada). " +
+                     "El promedio de cada estudiante está ponderado por los créditos de sus cursos; " +
+                     "los estudiantes con el mismo promedio comparten puesto."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página del orden de mérito",
+            content = @Content(schema = @Schema(implementation = PaginaRankingDTO.class))),
+        @ApiResponse(responseCode = "404", description = "No hay un orden de mérito generado o la versión no existe",
+            content = @Content)
+    })
+    @GetMapping("/ranking")
+    public ResponseEntity<PaginaRankingDTO> obtenerRanking(
+            @Parameter(description = "Versión del orden de mérito (por defecto la última)") @RequestParam(required = false) Integer version,
+            @Parameter(description = "Número de página, empezando en 0") @RequestParam(defaultValue = "0") int pagina,
+            @Parameter(description = "Tamaño de página") @RequestParam(required = false) Integer tamanio) {
+        return rankingMeritoService.obtenerPagina(version, pagina, tamanio)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Generar una nueva versión del orden de mérito
+    @Operation(
+        summary = "Generar orden de mérito",
+        description = "Calcula el promedio ponderado por créditos de todos los estudiantes y guarda una nueva versión."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Versión generada",
+            content = @Content(schema = @Schema(implementation = RankingMeritoDTO.class))),
+        @ApiResponse(responseCode = "409", description = "Ya se está generando el orden de mérito", content = @Content),
+        @ApiResponse(responseCode = "500", description = "Error al calcular el orden de mérito", content = @Content)
+    })
+    @PostMapping("/ranking/generar")
+    public ResponseEntity<RankingMeritoDTO> generarRanking() {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(rankingMeritoService.generarRanking());
+        } catch (RankingEnProcesoException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (RuntimeException e) {
+            // Un fallo del cálculo es un error del servidor, no de la petición
+            log.error("No se pudo generar el orden de mérito", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
     }
 
     @Operation(
@@ -418,13 +516,18 @@ public class EstudianteController {
         description = "Recupera estadísticas de estudiantes agrupadas por distrito."
     )
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas exitosamente"),
-        @ApiResponse(responseCode = "404", description = "Estadísticas no encontradas")
+        @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas exitosamente",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = Object[].class)))),
+        @ApiResponse(responseCode = "404", description = "Estadísticas no encontradas"),
+        @ApiResponse(responseCode = "304", description = "Sin cambios desde el ETag indicado en If-None-Match",
+            content = @Content)
     })
     @GetMapping("/estadisticas/distrito")
-    public ResponseEntity<List<Object[]>> obtenerEstadisticasPorDistrito() {
-        List<Object[]> estadisticas = estudianteService.obtenerEstadisticasPorDistrito();
-        return ResponseEntity.ok(estadisticas);
+    public void obtenerEstadisticasPorDistrito(
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        cacheRespuestasJson.responder("/estudiantes/estadisticas/distrito", versionesColecciones.etag(Coleccion.ESTUDIANTES),
+            estudianteService::obtenerEstadisticasPorDistrito, request, response);
     }
 
     // Método de conversión
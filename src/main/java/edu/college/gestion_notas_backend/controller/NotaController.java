@@ -1,10 +1,16 @@
 package edu.college.gestion_notas_backend.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,26 +18,63 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import edu.college.gestion_notas_backend.dto.request.ActualizarNotaDTO;
 import edu.college.gestion_notas_backend.dto.request.CrearNotaDTO;
+import edu.college.gestion_notas_backend.dto.response.ActaCursoDTO;
+import edu.college.gestion_notas_backend.dto.response.AuditoriaNotaDTO;
+import edu.college.gestion_notas_backend.dto.response.AnaliticaCursoDTO;
+import edu.college.gestion_notas_backend.dto.response.ConsistenciaResumenDTO;
+import edu.college.gestion_notas_backend.dto.response.CuantilesNotasDTO;
+import edu.college.gestion_notas_backend.dto.response.HistogramaNotasDTO;
 import edu.college.gestion_notas_backend.dto.response.NotaResponseDTO;
+import edu.college.gestion_notas_backend.dto.response.ResultadoActasDTO;
+import edu.college.gestion_notas_backend.dto.response.ResultadoLoteNotasDTO;
+import edu.college.gestion_notas_backend.dto.response.TrabajoLibretasDTO;
+import edu.college.gestion_notas_backend.exception.VersionNotaConflictoException;
+import edu.college.gestion_notas_backend.model.AuditoriaNota;
 import edu.college.gestion_notas_backend.model.Curso;
 import edu.college.gestion_notas_backend.model.Estudiante;
 import edu.college.gestion_notas_backend.model.Nota;
+import edu.college.gestion_notas_backend.service.AlmacenIdempotencia;
+import edu.college.gestion_notas_backend.service.AnaliticaNotaService;
+import edu.college.gestion_notas_backend.service.AuditoriaNotaService;
+import edu.college.gestion_notas_backend.service.CalificacionFinalService;
+import edu.college.gestion_notas_backend.service.CuantilesNotaService;
 import edu.college.gestion_notas_backend.service.CursoService;
 import edu.college.gestion_notas_backend.service.EstudianteService;
+import edu.college.gestion_notas_backend.service.ExportacionNotaService;
+import edu.college.gestion_notas_backend.service.HistogramaNotaService;
+import edu.college.gestion_notas_backend.service.LibretaNotasService;
+import edu.college.gestion_notas_backend.service.NotaLoteService;
 import edu.college.gestion_notas_backend.service.NotaService;
+import edu.college.gestion_notas_backend.service.NotificacionNotaService;
+import edu.college.gestion_notas_backend.service.PaginaCursor;
+import edu.college.gestion_notas_backend.service.PeriodoAcademicoService;
+import edu.college.gestion_notas_backend.service.ResumenNotaService;
+import edu.college.gestion_notas_backend.service.VersionesColecciones;
+import edu.college.gestion_notas_backend.service.VersionesColecciones.Coleccion;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -41,9 +84,27 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class NotaController {
     
+    // Cabecera con el cursor de la siguiente página en los listados paginados
+    public static final String CABECERA_SIGUIENTE_CURSOR = "X-Siguiente-Cursor";
+    
     private final NotaService notaService;
     private final EstudianteService estudianteService;
     private final CursoService cursoService;
+    private final ResumenNotaService resumenNotaService;
+    private final ExportacionNotaService exportacionNotaService;
+    private final NotaLoteService notaLoteService;
+    private final AnaliticaNotaService analiticaNotaService;
+    private final HistogramaNotaService histogramaNotaService;
+    private final CuantilesNotaService cuantilesNotaService;
+    private final CalificacionFinalService calificacionFinalService;
+    private final AuditoriaNotaService auditoriaNotaService;
+    private final NotificacionNotaService notificacionNotaService;
+    private final LibretaNotasService libretaNotasService;
+    private final PeriodoAcademicoService periodoAcademicoService;
+    private final AlmacenIdempotencia almacenIdempotencia;
+    private final ObjectMapper objectMapper;
+    private final VersionesColecciones versionesColecciones;
+    private final CacheRespuestasJson cacheRespuestasJson;
     
     @Operation(
         summary = "Crear una nueva nota",
@@ -55,11 +116,21 @@ public class NotaController {
             content = @Content(schema = @Schema(implementation = NotaResponseDTO.class))),
         @ApiResponse(responseCode = "400", description = "Datos inválidos o estudiante/curso no encontrado",
             content = @Content),
-        @ApiResponse(responseCode = "409", description = "Conflicto al crear la nota",
+        @ApiResponse(responseCode = "409", description = "Conflicto al crear la nota o petición con la misma Idempotency-Key en curso",
+            content = @Content),
+        @ApiResponse(responseCode = "422", description = "Idempotency-Key ya usada con otro contenido",
             content = @Content)
     })
     @PostMapping
-    public ResponseEntity<NotaResponseDTO> crearNota(@Valid @RequestBody CrearNotaDTO crearNotaDTO) {
+    public ResponseEntity<NotaResponseDTO> crearNota(
+            @Parameter(description = "Clave única del intento; un reintento con la misma clave devuelve la respuesta original")
+            @RequestHeader(value = AlmacenIdempotencia.CABECERA_IDEMPOTENCIA, required = false) String claveIdempotencia,
+            @Valid @RequestBody CrearNotaDTO crearNotaDTO) {
+        return almacenIdempotencia.ejecutar("POST /notas", claveIdempotencia, crearNotaDTO,
+            () -> registrarNota(crearNotaDTO));
+    }
+    
+    private ResponseEntity<NotaResponseDTO> registrarNota(CrearNotaDTO crearNotaDTO) {
         try {
             // Obtener estudiante y curso
             Optional<Estudiante> estudianteOpt = estudianteService.obtenerEstudiantePorId(crearNotaDTO.getIdEstudiante());
@@ -78,7 +149,9 @@ public class NotaController {
                 .build();
             
             Nota notaCreada = notaService.crearNota(nota);
-            return ResponseEntity.status(HttpStatus.CREATED).body(convertirADTO(notaCreada));
+            return ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(String.valueOf(notaCreada.getVersion()))
+                .body(convertirADTO(notaCreada));
             
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
@@ -87,22 +160,68 @@ public class NotaController {
         }
     }
     
+    // Crear notas en lote (JSON)
+    @Operation(
+        summary = "Crear notas en lote",
+        description = "Registra un arreglo de notas en una sola transacción. Cada fila se valida por separado: " +
+                     "las filas con errores se informan por índice y las demás se registran. " +
+                     "Máximo " + NotaLoteService.MAXIMO_NOTAS_POR_LOTE + " notas por lote."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Lote procesado; al menos una nota registrada",
+            content = @Content(schema = @Schema(implementation = ResultadoLoteNotasDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Ninguna nota del lote es válida o el lote es demasiado grande",
+            content = @Content(schema = @Schema(implementation = ResultadoLoteNotasDTO.class)))
+    })
+    @PostMapping(value = "/lote", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ResultadoLoteNotasDTO> crearNotasEnLote(@RequestBody List<CrearNotaDTO> notas) {
+        return responderLote(notaLoteService.crearNotasEnLote(notas));
+    }
+    
+    // Crear notas en lote (NDJSON: una nota JSON por línea)
+    @Operation(
+        summary = "Crear notas en lote (NDJSON)",
+        description = "Igual que el lote JSON, pero el cuerpo contiene una nota JSON por línea."
+    )
+    @PostMapping(value = "/lote", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResultadoLoteNotasDTO> crearNotasEnLoteNdjson(InputStream cuerpo) throws IOException {
+        List<CrearNotaDTO> notas = new ArrayList<>();
+        try (MappingIterator<CrearNotaDTO> filas = objectMapper.readerFor(CrearNotaDTO.class).readValues(cuerpo)) {
+            while (filas.hasNextValue()) {
+                // Se corta al superar el máximo, sin leer el resto del cuerpo
+                if (notas.size() == NotaLoteService.MAXIMO_NOTAS_POR_LOTE) {
+                    throw new IllegalArgumentException("El lote no puede superar " + NotaLoteService.MAXIMO_NOTAS_POR_LOTE + " notas");
+                }
+                notas.add(filas.nextValue());
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("NDJSON inválido cerca de la fila " + notas.size() + ": " + e.getOriginalMessage());
+        }
+        return responderLote(notaLoteService.crearNotasEnLote(notas));
+    }
+    
     // Obtener todas las notas
     @Operation(
         summary = "Obtener todas las notas",
-        description = "Recupera la lista completa de calificaciones registradas."
+        description = "Recupera las calificaciones registradas, paginadas por cursor en orden de registro. " +
+                     "Sin cursor ni tamaño se devuelve la primera página de " + NotaService.TAMANIO_PAGINA_POR_DEFECTO +
+                     " notas. La siguiente página se indica en la cabecera " + CABECERA_SIGUIENTE_CURSOR +
+                     " y en Link con rel=\"next\"."
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Lista de notas obtenida exitosamente"),
         @ApiResponse(responseCode = "404", description = "Notas no encontradas")
     })
     @GetMapping
-    public ResponseEntity<List<NotaResponseDTO>> obtenerTodasLasNotas() {
-        List<Nota> notas = notaService.obtenerTodasLasNotas();
-        List<NotaResponseDTO> notasDTO = notas.stream()
-            .map(this::convertirADTO)
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(notasDTO);
+    public ResponseEntity<List<NotaResponseDTO>> obtenerTodasLasNotas(
+            @Parameter(description = "ID del periodo académico (por defecto el actual)")
+            @RequestParam(required = false) Integer idPeriodo,
+            @Parameter(description = "Cursor devuelto en la cabecera " + CABECERA_SIGUIENTE_CURSOR + " de la página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (por defecto " + NotaService.TAMANIO_PAGINA_POR_DEFECTO +
+                                     ", máximo " + NotaService.TAMANIO_PAGINA_MAXIMO + ")")
+            @RequestParam(required = false) Integer tamanio) {
+        return responderPagina(notaService.obtenerPaginaNotas(idPeriodo, cursor, tamanio));
     }
     
     // Obtener nota por ID
@@ -116,62 +235,107 @@ public class NotaController {
     })
     @GetMapping("/{id}")
     public ResponseEntity<NotaResponseDTO> obtenerNotaPorId(@PathVariable Integer id) {
-        Optional<Nota> nota = notaService.obtenerNotaPorId(id);
-        return nota.map(n -> ResponseEntity.ok(convertirADTO(n)))
+        Optional<NotaResponseDTO> nota = notaService.obtenerNotaDTOPorId(id);
+        return nota.map(n -> ResponseEntity.ok().eTag(String.valueOf(n.getVersion())).body(completarEstadoAcademico(n)))
                   .orElse(ResponseEntity.notFound().build());
     }
     
     @Operation(
         summary = "Obtener notas por estudiante",
-        description = "Recupera todas las calificaciones de un estudiante específico."
+        description = "Recupera las calificaciones de un estudiante específico, paginadas por cursor."
     )
     @ApiResponse(responseCode = "200", description = "Lista de notas del estudiante")
     @GetMapping("/estudiante/{idEstudiante}")
     public ResponseEntity<List<NotaResponseDTO>> obtenerNotasPorEstudiante(
+            @Parameter(description = "ID del estudiante", required = true) @PathVariable Integer idEstudiante,
+            @Parameter(description = "ID del periodo académico (por defecto el actual)")
+            @RequestParam(required = false) Integer idPeriodo,
+            @Parameter(description = "Cursor devuelto en la cabecera " + CABECERA_SIGUIENTE_CURSOR + " de la página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (por defecto " + NotaService.TAMANIO_PAGINA_POR_DEFECTO +
+                                     ", máximo " + NotaService.TAMANIO_PAGINA_MAXIMO + ")")
+            @RequestParam(required = false) Integer tamanio) {
+        return responderPagina(notaService.obtenerPaginaNotasPorIdEstudiante(idEstudiante, idPeriodo, cursor, tamanio));
+    }
+    
+    // Stream de cambios de notas de un estudiante
+    @Operation(
+        summary = "Suscribirse a los cambios de notas de un estudiante",
+        description = "Abre un stream Server-Sent Events que envía cada nota creada, actualizada o eliminada del estudiante " +
+                     "(eventos CREADA, ACTUALIZADA y ELIMINADA con un CambioNotaDTO). Reemplaza la consulta periódica " +
+                     "de /notas/estudiante/{idEstudiante}; si el stream se cierra, el cliente debe reconectarse y volver a consultar."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stream abierto"),
+        @ApiResponse(responseCode = "404", description = "Estudiante no encontrado", content = @Content),
+        @ApiResponse(responseCode = "503", description = "Se alcanzó el máximo de suscriptores", content = @Content)
+    })
+    @GetMapping(value = "/estudiante/{idEstudiante}/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> suscribirCambiosEstudiante(
             @Parameter(description = "ID del estudiante", required = true) @PathVariable Integer idEstudiante) {
-        List<Nota> notas = notaService.obtenerNotasPorIdEstudiante(idEstudiante);
-        List<NotaResponseDTO> notasDTO = notas.stream()
-            .map(this::convertirADTO)
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(notasDTO);
+        if (estudianteService.obtenerEstudiantePorId(idEstudiante).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            return ResponseEntity.ok(notificacionNotaService.suscribir(idEstudiante));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
     }
     
     // Obtener notas por curso
     @Operation(
         summary = "Obtener notas por curso",
-        description = "Recupera todas las calificaciones de un curso específico."
+        description = "Recupera las calificaciones de un curso específico, paginadas por cursor."
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Lista de notas del curso"),
+        @ApiResponse(responseCode = "304", description = "Sin cambios desde el ETag indicado en If-None-Match",
+            content = @Content),
         @ApiResponse(responseCode = "404", description = "Curso no encontrado")
     })
     @GetMapping("/curso/{idCurso}")
-    public ResponseEntity<List<NotaResponseDTO>> obtenerNotasPorCurso(@PathVariable Integer idCurso) {
-        List<Nota> notas = notaService.obtenerNotasPorIdCurso(idCurso);
-        List<NotaResponseDTO> notasDTO = notas.stream()
-            .map(this::convertirADTO)
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(notasDTO);
+    public ResponseEntity<List<NotaResponseDTO>> obtenerNotasPorCurso(
+            @PathVariable Integer idCurso,
+            @Parameter(description = "ETag de un listado anterior; si no hubo cambios se responde 304")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @Parameter(description = "ID del periodo académico (por defecto el actual)")
+            @RequestParam(required = false) Integer idPeriodo,
+            @Parameter(description = "Cursor devuelto en la cabecera " + CABECERA_SIGUIENTE_CURSOR + " de la página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (por defecto " + NotaService.TAMANIO_PAGINA_POR_DEFECTO +
+                                     ", máximo " + NotaService.TAMANIO_PAGINA_MAXIMO + ")")
+            @RequestParam(required = false) Integer tamanio) {
+        // Cada página (cursor y tamaño forman parte de la URL) comparte la versión de las notas del curso
+        String etag = versionesColecciones.etagNotasCurso(idCurso);
+        if (VersionesColecciones.noModificado(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+        }
+        return responderPagina(notaService.obtenerPaginaNotasPorIdCurso(idCurso, idPeriodo, cursor, tamanio), etag);
     }
     
     // Obtener notas por tipo de evaluación
     @Operation(
         summary = "Obtener notas por tipo de evaluación",
-        description = "Recupera todas las calificaciones de un tipo de evaluación específico."
+        description = "Recupera las calificaciones de un tipo de evaluación específico, paginadas por cursor."
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Lista de notas del tipo de evaluación"),
         @ApiResponse(responseCode = "404", description = "Tipo de evaluación no encontrado")
     })
     @GetMapping("/tipo/{tipoEvaluacion}")
-    public ResponseEntity<List<NotaResponseDTO>> obtenerNotasPorTipo(@PathVariable String tipoEvaluacion) {
+    public ResponseEntity<List<NotaResponseDTO>> obtenerNotasPorTipo(
+            @PathVariable String tipoEvaluacion,
+            @Parameter(description = "ID del periodo académico (por defecto el actual)")
+            @RequestParam(required = false) Integer idPeriodo,
+            @Parameter(description = "Cursor devuelto en la cabecera " + CABECERA_SIGUIENTE_CURSOR + " de la página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (por defecto " + NotaService.TAMANIO_PAGINA_POR_DEFECTO +
+                                     ", máximo " + NotaService.TAMANIO_PAGINA_MAXIMO + ")")
+            @RequestParam(required = false) Integer tamanio) {
         try {
             Nota.TipoEvaluacion tipo = Nota.TipoEvaluacion.valueOf(tipoEvaluacion.toUpperCase());
-            List<Nota> notas = notaService.obtenerNotasPorTipoEvaluacion(tipo);
-            List<NotaResponseDTO> notasDTO = notas.stream()
-                .map(this::convertirADTO)
-                .collect(Collectors.toList());
-            return ResponseEntity.ok(notasDTO);
+            return responderPagina(notaService.obtenerPaginaNotasPorTipoEvaluacion(tipo, idPeriodo, cursor, tamanio));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -179,35 +343,40 @@ public class NotaController {
     
     @Operation(
         summary = "Calcular promedio por estudiante",
-        description = "Calcula el promedio general de todas las notas de un estudiante."
+        description = "Calcula el promedio de las notas de un estudiante en un periodo académico (por defecto el actual)."
     )
     @ApiResponse(responseCode = "200", description = "Promedio calculado")
     @GetMapping("/promedio/estudiante/{idEstudiante}")
     public ResponseEntity<Double> calcularPromedioPorEstudiante(
-            @Parameter(description = "ID del estudiante", required = true) @PathVariable Integer idEstudiante) {
-        Double promedio = notaService.calcularPromedioPorEstudiante(idEstudiante);
+            @Parameter(description = "ID del estudiante", required = true) @PathVariable Integer idEstudiante,
+            @Parameter(description = "ID del periodo académico (por defecto el actual)") @RequestParam(required = false) Integer idPeriodo) {
+        Double promedio = notaService.calcularPromedioPorEstudiante(idEstudiante, idPeriodo);
         return ResponseEntity.ok(promedio);
     }
     
     // Calcular promedio por curso
     @Operation(
         summary = "Calcular promedio por curso",
-        description = "Calcula el promedio general de todas las notas de un curso."
+        description = "Calcula el promedio general de todas las notas de un curso. Es 0 si el curso no pertenece " +
+                     "al periodo académico indicado (por defecto el actual)."
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Promedio calculado"),
         @ApiResponse(responseCode = "404", description = "Curso no encontrado")
     })
     @GetMapping("/promedio/curso/{idCurso}")
-    public ResponseEntity<Double> calcularPromedioPorCurso(@PathVariable Integer idCurso) {
-        Double promedio = notaService.calcularPromedioPorCurso(idCurso);
+    public ResponseEntity<Double> calcularPromedioPorCurso(
+            @PathVariable Integer idCurso,
+            @Parameter(description = "ID del periodo académico (por defecto el actual)") @RequestParam(required = false) Integer idPeriodo) {
+        Double promedio = notaService.calcularPromedioPorCurso(idCurso, idPeriodo);
         return ResponseEntity.ok(promedio);
     }
     
     // Calcular promedio por estudiante y curso
     @Operation(
         summary = "Calcular promedio por estudiante y curso",
-        description = "Calcula el promedio general de todas las notas de un estudiante en un curso específico."
+        description = "Calcula el promedio general de todas las notas de un estudiante en un curso específico. " +
+                     "Es 0 si el curso no pertenece al periodo académico indicado (por defecto el actual)."
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Promedio calculado"),
@@ -216,8 +385,9 @@ public class NotaController {
     @GetMapping("/promedio/estudiante/{idEstudiante}/curso/{idCurso}")
     public ResponseEntity<Double> calcularPromedioPorEstudianteYCurso(
             @PathVariable Integer idEstudiante, 
-            @PathVariable Integer idCurso) {
-        Double promedio = notaService.calcularPromedioPorEstudianteYCurso(idEstudiante, idCurso);
+            @PathVariable Integer idCurso,
+            @Parameter(description = "ID del periodo académico (por defecto el actual)") @RequestParam(required = false) Integer idPeriodo) {
+        Double promedio = notaService.calcularPromedioPorEstudianteYCurso(idEstudiante, idCurso, idPeriodo);
         return ResponseEntity.ok(promedio);
     }
     
@@ -237,25 +407,28 @@ public class NotaController {
     // Obtener notas aprobatorias
     @Operation(
         summary = "Obtener notas aprobatorias",
-        description = "Obtiene todas las notas que son consideradas aprobatorias."
+        description = "Obtiene las notas que son consideradas aprobatorias, paginadas por cursor."
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Notas aprobatorias obtenidas exitosamente"),
         @ApiResponse(responseCode = "404", description = "No se encontraron notas aprobatorias")
     })
     @GetMapping("/aprobatorias")
-    public ResponseEntity<List<NotaResponseDTO>> obtenerNotasAprobatorias() {
-        List<Nota> notas = notaService.obtenerNotasAprobatorias();
-        List<NotaResponseDTO> notasDTO = notas.stream()
-            .map(this::convertirADTO)
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(notasDTO);
+    public ResponseEntity<List<NotaResponseDTO>> obtenerNotasAprobatorias(
+            @Parameter(description = "ID del periodo académico (por defecto el actual)")
+            @RequestParam(required = false) Integer idPeriodo,
+            @Parameter(description = "Cursor devuelto en la cabecera " + CABECERA_SIGUIENTE_CURSOR + " de la página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (por defecto " + NotaService.TAMANIO_PAGINA_POR_DEFECTO +
+                                     ", máximo " + NotaService.TAMANIO_PAGINA_MAXIMO + ")")
+            @RequestParam(required = false) Integer tamanio) {
+        return responderPagina(notaService.obtenerPaginaNotasAprobatorias(idPeriodo, cursor, tamanio));
     }
     
     // Obtener mejores notas por curso
     @Operation(
         summary = "Obtener mejores notas por curso",
-        description = "Obtiene las mejores notas de un curso específico."
+        description = "Obtiene las mejores notas de un curso específico en un periodo académico (por defecto el actual)."
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Mejores notas obtenidas exitosamente"),
@@ -264,35 +437,56 @@ public class NotaController {
     @GetMapping("/mejores/curso/{idCurso}")
     public ResponseEntity<List<NotaResponseDTO>> obtenerMejoresNotasPorCurso(
             @PathVariable Integer idCurso, 
+            @Parameter(description = "ID del periodo académico (por defecto el actual)") @RequestParam(required = false) Integer idPeriodo,
             @RequestParam(defaultValue = "10") int limite) {
-        List<Nota> notas = notaService.obtenerMejoresNotasPorCurso(idCurso, limite);
-        List<NotaResponseDTO> notasDTO = notas.stream()
-            .map(this::convertirADTO)
-            .collect(Collectors.toList());
+        List<NotaResponseDTO> notasDTO = notaService.completarEstadosAcademicos(
+            notaService.obtenerMejoresNotasPorCurso(idCurso, idPeriodo, limite));
         return ResponseEntity.ok(notasDTO);
     }
     
     @Operation(
         summary = "Actualizar nota",
-        description = "Modifica una calificación existente."
+        description = "Modifica una calificación existente. Con la cabecera If-Match (ETag devuelto al leer la nota) " +
+                     "la actualización solo se aplica si nadie la modificó desde entonces; la nueva versión se devuelve en ETag."
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Nota actualizada exitosamente"),
-        @ApiResponse(responseCode = "404", description = "Nota no encontrada")
+        @ApiResponse(responseCode = "400", description = "Tipo de evaluación o nota inválidos", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Nota no encontrada"),
+        @ApiResponse(responseCode = "409", description = "Sin If-Match: la nota siguió cambiando al reintentar la actualización",
+            content = @Content),
+        @ApiResponse(responseCode = "412", description = "La nota fue modificada por otro usuario (If-Match no coincide)",
+            content = @Content)
     })
     @PutMapping("/{id}")
     public ResponseEntity<NotaResponseDTO> actualizarNota(
             @Parameter(description = "ID de la nota", required = true) @PathVariable Integer id, 
+            @Parameter(description = "ETag de la versión leída; sin ella se actualiza la versión vigente")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody ActualizarNotaDTO notaDTO) {
+        Nota notaActualizada;
         try {
-            Nota notaActualizada = Nota.builder()
+            notaActualizada = Nota.builder()
                 .nota(notaDTO.getNota())
                 .tipoEvaluacion(Nota.TipoEvaluacion.valueOf(notaDTO.getTipoEvaluacion()))
                 .observaciones(notaDTO.getObservaciones())
                 .build();
-            
-            Nota nota = notaService.actualizarNota(id, notaActualizada);
-            return ResponseEntity.ok(convertirADTO(nota));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        try {
+            NotaResponseDTO nota = notaService.actualizarNota(id, notaActualizada, versionDeIfMatch(ifMatch));
+            return ResponseEntity.ok()
+                .eTag(String.valueOf(nota.getVersion()))
+                .body(completarEstadoAcademico(nota));
+        } catch (VersionNotaConflictoException e) {
+            ResponseEntity.BodyBuilder respuesta = ResponseEntity.status(
+                e.isPrecondicion() ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT);
+            if (e.getVersionActual() != null) {
+                respuesta.eTag(String.valueOf(e.getVersionActual()));
+            }
+            return respuesta.build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -320,16 +514,495 @@ public class NotaController {
     // Obtener estadísticas por tipo de evaluación
     @Operation(
         summary = "Obtener estadísticas por tipo de evaluación",
-        description = "Obtiene estadísticas agrupadas por tipo de evaluación."
+        description = "Obtiene estadísticas agrupadas por tipo de evaluación de un periodo académico (por defecto el actual)."
     )
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas exitosamente"),
-        @ApiResponse(responseCode = "404", description = "No se encontraron estadísticas")
+        @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas exitosamente",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = Object[].class)))),
+        @ApiResponse(responseCode = "404", description = "No se encontraron estadísticas"),
+        @ApiResponse(responseCode = "304", description = "Sin cambios desde el ETag indicado en If-None-Match",
+            content = @Content)
     })
     @GetMapping("/estadisticas/tipo")
-    public ResponseEntity<List<Object[]>> obtenerEstadisticasPorTipo() {
-        List<Object[]> estadisticas = notaService.obtenerEstadisticasPorTipoEvaluacion();
-        return ResponseEntity.ok(estadisticas);
+    public void obtenerEstadisticasPorTipo(
+            @Parameter(description = "ID del periodo académico (por defecto el actual)") @RequestParam(required = false) Integer idPeriodo,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        // La clave lleva el periodo resuelto: sin idPeriodo y con el ID del actual se comparte la entrada
+        Integer periodo = periodoAcademicoService.resolverIdPeriodo(idPeriodo);
+        cacheRespuestasJson.responder("/notas/estadisticas/tipo?idPeriodo=" + periodo, versionesColecciones.etag(Coleccion.NOTAS),
+            () -> notaService.obtenerEstadisticasPorTipoEvaluacion(periodo), request, response);
+    }
+    
+    // Analítica de un curso
+    @Operation(
+        summary = "Obtener analítica de un curso",
+        description = "Distribución, percentiles, desviación estándar y tasa de aprobación por tipo de evaluación, " +
+                     "calculados en memoria sin consultar la base de datos."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Analítica del curso",
+            content = @Content(schema = @Schema(implementation = AnaliticaCursoDTO.class))),
+        @ApiResponse(responseCode = "404", description = "El curso no tiene notas registradas o no pertenece al periodo",
+            content = @Content)
+    })
+    @GetMapping("/analitica/curso/{idCurso}")
+    public ResponseEntity<AnaliticaCursoDTO> obtenerAnaliticaCurso(
+            @Parameter(description = "ID del curso", required = true) @PathVariable Integer idCurso,
+            @Parameter(description = "ID del periodo académico (por defecto el actual)") @RequestParam(required = false) Integer idPeriodo) {
+        return analiticaNotaService.obtenerAnaliticaCurso(idCurso, idPeriodo)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+    
+    // Histograma de un curso
+    @Operation(
+        summary = "Obtener histograma de notas de un curso",
+        description = "Cuenta las notas por intervalos de 0 a 20 agrupando en la base de datos. " +
+                     "Se puede filtrar por tipo de evaluación y elegir el ancho del intervalo."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Histograma del curso",
+            content = @Content(schema = @Schema(implementation = HistogramaNotasDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Tipo de evaluación o ancho inválido", content = @Content)
+    })
+    @GetMapping("/histograma/curso/{idCurso}")
+    public ResponseEntity<HistogramaNotasDTO> obtenerHistogramaCurso(
+            @Parameter(description = "ID del curso", required = true) @PathVariable Integer idCurso,
+            @Parameter(description = "ID del periodo académico (por defecto el actual)") @RequestParam(required = false) Integer idPeriodo,
+            @Parameter(description = "Tipo de evaluación (opcional)") @RequestParam(required = false) String tipoEvaluacion,
+            @Parameter(description = "Ancho del intervalo en puntos (por defecto 1)") @RequestParam(required = false) Double ancho) {
+        try {
+            return ResponseEntity.ok(histogramaNotaService.obtenerHistogramaCurso(
+                idCurso, idPeriodo, convertirTipoEvaluacion(tipoEvaluacion), ancho));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    // Histograma de los cursos de un docente
+    @Operation(
+        summary = "Obtener histograma de notas de un docente",
+        description = "Cuenta las notas de los cursos del docente en un periodo académico (por defecto el actual) " +
+                     "por intervalos de 0 a 20."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Histograma del docente",
+            content = @Content(schema = @Schema(implementation = HistogramaNotasDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Tipo de evaluación o ancho inválido", content = @Content)
+    })
+    @GetMapping("/histograma/docente/{idDocente}")
+    public ResponseEntity<HistogramaNotasDTO> obtenerHistogramaDocente(
+            @Parameter(description = "ID del docente", required = true) @PathVariable Integer idDocente,
+            @Parameter(description = "ID del periodo académico (por defecto el actual)") @RequestParam(required = false) Integer idPeriodo,
+            @Parameter(description = "Tipo de evaluación (opcional)") @RequestParam(required = false) String tipoEvaluacion,
+            @Parameter(description = "Ancho del intervalo en puntos (por defecto 1)") @RequestParam(required = false) Double ancho) {
+        try {
+            return ResponseEntity.ok(histogramaNotaService.obtenerHistogramaDocente(
+                idDocente, idPeriodo, convertirTipoEvaluacion(tipoEvaluacion), ancho));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    // Histograma de un tipo de evaluación
+    @Operation(
+        summary = "Obtener histograma de notas por tipo de evaluación",
+        description = "Cuenta las notas de un tipo de evaluación en todos los cursos de un periodo académico " +
+                     "(por defecto el actual) por intervalos de 0 a 20."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Histograma del tipo de evaluación",
+            content = @Content(schema = @Schema(implementation = HistogramaNotasDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Tipo de evaluación o ancho inválido", content = @Content)
+    })
+    @GetMapping("/histograma/tipo/{tipoEvaluacion}")
+    public ResponseEntity<HistogramaNotasDTO> obtenerHistogramaTipoEvaluacion(
+            @PathVariable String tipoEvaluacion,
+            @Parameter(description = "ID del periodo académico (por defecto el actual)") @RequestParam(required = false) Integer idPeriodo,
+            @Parameter(description = "Ancho del intervalo en puntos (por defecto 1)") @RequestParam(required = false) Double ancho) {
+        try {
+            return ResponseEntity.ok(histogramaNotaService.obtenerHistogramaTipoEvaluacion(
+                Nota.TipoEvaluacion.valueOf(tipoEvaluacion.toUpperCase()), idPeriodo, ancho));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    // Cuantiles de un curso
+    @Operation(
+        summary = "Obtener cuantiles de notas de un curso",
+        description = "Percentiles 10, 25, 50, 75 y 90 del curso, opcionalmente de un tipo de evaluación, " +
+                     "a partir de los sketches mantenidos en memoria. Sin notas si el curso no pertenece al periodo académico " +
+                     "indicado (por defecto el actual)."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cuantiles del curso",
+            content = @Content(schema = @Schema(implementation = CuantilesNotasDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Tipo de evaluación inválido", content = @Content)
+    })
+    @GetMapping("/cuantiles/curso/{idCurso}")
+    public ResponseEntity<CuantilesNotasDTO> obtenerCuantilesCurso(
+            @Parameter(description = "ID del curso", required = true) @PathVariable Integer idCurso,
+            @Parameter(description = "ID del periodo académico (por defecto el actual)") @RequestParam(required = false) Integer idPeriodo,
+            @Parameter(description = "Tipo de evaluación (opcional)") @RequestParam(required = false) String tipoEvaluacion) {
+        try {
+            return ResponseEntity.ok(cuantilesNotaService.obtenerCuantilesCurso(idCurso, idPeriodo, convertirTipoEvaluacion(tipoEvaluacion)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    // Cuantiles de los cursos de un docente
+    @Operation(
+        summary = "Obtener cuantiles de notas de un docente",
+        description = "Fusiona los sketches de los cursos del docente en un periodo académico (por defecto el actual)."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cuantiles del docente",
+            content = @Content(schema = @Schema(implementation = CuantilesNotasDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Tipo de evaluación inválido", content = @Content)
+    })
+    @GetMapping("/cuantiles/docente/{idDocente}")
+    public ResponseEntity<CuantilesNotasDTO> obtenerCuantilesDocente(
+            @Parameter(description = "ID del docente", required = true) @PathVariable Integer idDocente,
+            @Parameter(description = "ID del periodo académico (por defecto el actual)") @RequestParam(required = false) Integer idPeriodo,
+            @Parameter(description = "Tipo de evaluación (opcional)") @RequestParam(required = false) String tipoEvaluacion) {
+        try {
+            return ResponseEntity.ok(cuantilesNotaService.obtenerCuantilesDocente(idDocente, idPeriodo, convertirTipoEvaluacion(tipoEvaluacion)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    // Cuantiles de todo el colegio
+    @Operation(
+        summary = "Obtener cuantiles generales de notas",
+        description = "Fusiona los sketches de todos los cursos de un periodo académico (por defecto el actual), " +
+                     "opcionalmente de un tipo de evaluación."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cuantiles generales",
+            content = @Content(schema = @Schema(implementation = CuantilesNotasDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Tipo de evaluación inválido", content = @Content)
+    })
+    @GetMapping("/cuantiles")
+    public ResponseEntity<CuantilesNotasDTO> obtenerCuantilesGenerales(
+            @Parameter(description = "ID del periodo académico (por defecto el actual)") @RequestParam(required = false) Integer idPeriodo,
+            @Parameter(description = "Tipo de evaluación (opcional)") @RequestParam(required = false) String tipoEvaluacion) {
+        try {
+            return ResponseEntity.ok(cuantilesNotaService.obtenerCuantilesGenerales(idPeriodo, convertirTipoEvaluacion(tipoEvaluacion)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    // Historial de cambios de una nota
+    @Operation(
+        summary = "Obtener historial de cambios de una nota",
+        description = "Registros de auditoría (quién, valor anterior, valor nuevo y fecha) del más reciente al más antiguo, " +
+                     "paginados por cursor. Los cambios se escriben por lotes y pueden tardar unos segundos en aparecer."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Historial de la nota"),
+        @ApiResponse(responseCode = "400", description = "Cursor inválido", content = @Content)
+    })
+    @GetMapping("/auditoria/nota/{idNota}")
+    public ResponseEntity<List<AuditoriaNotaDTO>> obtenerAuditoriaNota(
+            @Parameter(description = "ID de la nota", required = true) @PathVariable Integer idNota,
+            @Parameter(description = "Cursor devuelto en la cabecera " + CABECERA_SIGUIENTE_CURSOR + " de la página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (máximo " + NotaService.TAMANIO_PAGINA_MAXIMO + ")")
+            @RequestParam(required = false) Integer tamanio) {
+        try {
+            return responderAuditoria(auditoriaNotaService.obtenerPorNota(idNota, cursor, tamanio));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    // Historial de cambios de las notas de un estudiante
+    @Operation(
+        summary = "Obtener historial de cambios de las notas de un estudiante",
+        description = "Registros de auditoría de todas las notas del estudiante, opcionalmente de un curso, paginados por cursor."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Historial del estudiante"),
+        @ApiResponse(responseCode = "400", description = "Cursor inválido", content = @Content)
+    })
+    @GetMapping("/auditoria/estudiante/{idEstudiante}")
+    public ResponseEntity<List<AuditoriaNotaDTO>> obtenerAuditoriaEstudiante(
+            @Parameter(description = "ID del estudiante", required = true) @PathVariable Integer idEstudiante,
+            @Parameter(description = "ID del curso (opcional)") @RequestParam(required = false) Integer idCurso,
+            @Parameter(description = "Cursor devuelto en la cabecera " + CABECERA_SIGUIENTE_CURSOR + " de la página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (máximo " + NotaService.TAMANIO_PAGINA_MAXIMO + ")")
+            @RequestParam(required = false) Integer tamanio) {
+        try {
+            return responderAuditoria(auditoriaNotaService.obtenerPorEstudiante(idEstudiante, idCurso, cursor, tamanio));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    // Historial de cambios de las notas de un curso
+    @Operation(
+        summary = "Obtener historial de cambios de las notas de un curso",
+        description = "Registros de auditoría de todas las notas del curso, paginados por cursor."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Historial del curso"),
+        @ApiResponse(responseCode = "400", description = "Cursor inválido", content = @Content)
+    })
+    @GetMapping("/auditoria/curso/{idCurso}")
+    public ResponseEntity<List<AuditoriaNotaDTO>> obtenerAuditoriaCurso(
+            @Parameter(description = "ID del curso", required = true) @PathVariable Integer idCurso,
+            @Parameter(description = "Cursor devuelto en la cabecera " + CABECERA_SIGUIENTE_CURSOR + " de la página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (máximo " + NotaService.TAMANIO_PAGINA_MAXIMO + ")")
+            @RequestParam(required = false) Integer tamanio) {
+        try {
+            return responderAuditoria(auditoriaNotaService.obtenerPorCurso(idCurso, cursor, tamanio));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    // Acta de un curso
+    @Operation(
+        summary = "Calcular notas finales de un curso",
+        description = "Nota final de cada estudiante ponderada con los pesos por tipo de evaluación del curso " +
+                     "(promedio simple si no hay pesos configurados)."
+    )
+    @ApiResponse(responseCode = "200", description = "Acta del curso",
+        content = @Content(schema = @Schema(implementation = ActaCursoDTO.class)))
+    @GetMapping("/final/curso/{idCurso}")
+    public ResponseEntity<ActaCursoDTO> calcularActaCurso(
+            @Parameter(description = "ID del curso", required = true) @PathVariable Integer idCurso) {
+        return ResponseEntity.ok(calificacionFinalService.calcularActaCurso(idCurso));
+    }
+    
+    // Actas de todos los cursos activos
+    @Operation(
+        summary = "Generar actas de todos los cursos activos",
+        description = "Calcula en paralelo las notas finales de todos los cursos activos e informa " +
+                     "la duración total y los cursos procesados por segundo."
+    )
+    @ApiResponse(responseCode = "200", description = "Actas generadas",
+        content = @Content(schema = @Schema(implementation = ResultadoActasDTO.class)))
+    @PostMapping("/actas/generar")
+    public ResponseEntity<ResultadoActasDTO> generarActas() {
+        return ResponseEntity.ok(calificacionFinalService.generarActas());
+    }
+    
+    // Libretas de notas de todos los estudiantes
+    @Operation(
+        summary = "Generar libretas de notas de todos los estudiantes",
+        description = "Inicia un trabajo que genera en paralelo una libreta (HTML o CSV) por estudiante con sus notas, " +
+                     "promedios y estado académico, y las reúne en un ZIP. El avance se consulta con /notas/libretas/{idTrabajo}."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Trabajo iniciado",
+            content = @Content(schema = @Schema(implementation = TrabajoLibretasDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Formato inválido", content = @Content),
+        @ApiResponse(responseCode = "409", description = "Ya hay un trabajo en proceso", content = @Content)
+    })
+    @PostMapping("/libretas")
+    public ResponseEntity<TrabajoLibretasDTO> generarLibretas(
+            @Parameter(description = "Formato de las libretas: HTML o CSV") @RequestParam(defaultValue = "HTML") String formato) {
+        LibretaNotasService.Formato formatoLibreta;
+        try {
+            formatoLibreta = LibretaNotasService.Formato.valueOf(formato.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(libretaNotasService.iniciarGeneracion(formatoLibreta));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+    
+    // Estado de un trabajo de libretas
+    @Operation(
+        summary = "Consultar el avance de un trabajo de libretas",
+        description = "Estado, libretas generadas y porcentaje de avance del trabajo."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Estado del trabajo",
+            content = @Content(schema = @Schema(implementation = TrabajoLibretasDTO.class))),
+        @ApiResponse(responseCode = "404", description = "Trabajo no encontrado", content = @Content)
+    })
+    @GetMapping("/libretas/{idTrabajo}")
+    public ResponseEntity<TrabajoLibretasDTO> obtenerTrabajoLibretas(
+            @Parameter(description = "ID del trabajo", required = true) @PathVariable String idTrabajo) {
+        return libretaNotasService.obtenerTrabajo(idTrabajo)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+    
+    // Descargar el ZIP de libretas
+    @Operation(
+        summary = "Descargar las libretas de notas (ZIP)",
+        description = "Descarga por streaming el ZIP de un trabajo completado."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "ZIP de libretas",
+            content = @Content(mediaType = "application/zip")),
+        @ApiResponse(responseCode = "404", description = "Trabajo no encontrado", content = @Content),
+        @ApiResponse(responseCode = "409", description = "El trabajo aún no está completado", content = @Content)
+    })
+    @GetMapping(value = "/libretas/{idTrabajo}/zip", produces = "application/zip")
+    public ResponseEntity<StreamingResponseBody> descargarLibretas(
+            @Parameter(description = "ID del trabajo", required = true) @PathVariable String idTrabajo) throws IOException {
+        Optional<LibretaNotasService.DescargaZip> zip;
+        try {
+            zip = libretaNotasService.abrirZip(idTrabajo);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        if (zip.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        LibretaNotasService.DescargaZip descarga = zip.get();
+        // Cerrar la descarga permite eliminar el ZIP si mientras tanto se descartó el trabajo
+        StreamingResponseBody cuerpo = salida -> {
+            try (descarga) {
+                descarga.getEntrada().transferTo(salida);
+            }
+        };
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType("application/zip"))
+            .contentLength(descarga.getTamanio())
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"libretas-" + idTrabajo + ".zip\"")
+            .body(cuerpo);
+    }
+    
+    // Exportar todas las notas
+    @Operation(
+        summary = "Exportar todas las notas (NDJSON)",
+        description = "Descarga el registro completo de notas como NDJSON: un objeto JSON plano por línea. " +
+                     "Las filas se envían a medida que se leen de la base de datos."
+    )
+    @ApiResponse(responseCode = "200", description = "Exportación en curso",
+        content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE))
+    @GetMapping(value = "/exportar", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportarNotas() {
+        StreamingResponseBody cuerpo = salida -> exportacionNotaService.exportarNotasNdjson(salida);
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"notas.ndjson\"")
+            .body(cuerpo);
+    }
+    
+    // Reconstruir resúmenes de notas
+    @Operation(
+        summary = "Reconstruir resúmenes de notas",
+        description = "Recalcula desde cero la suma, cantidad, mínimo y máximo por estudiante y curso " +
+                     "a partir de la tabla de notas. Útil para reparar desviaciones."
+    )
+    @ApiResponse(responseCode = "200", description = "Número de pares (estudiante, curso) reconstruidos")
+    @PostMapping("/resumen/reconstruir")
+    public ResponseEntity<Integer> reconstruirResumenes() {
+        return ResponseEntity.ok(resumenNotaService.reconstruirResumenes());
+    }
+    
+    // Verificar resúmenes de notas
+    @Operation(
+        summary = "Verificar resúmenes de notas",
+        description = "Compara los resúmenes por estudiante y curso con los agregados calculados sobre la tabla de notas."
+    )
+    @ApiResponse(responseCode = "200", description = "Resultado de la verificación")
+    @GetMapping("/resumen/verificar")
+    public ResponseEntity<ConsistenciaResumenDTO> verificarResumenes() {
+        return ResponseEntity.ok(resumenNotaService.verificarConsistencia());
+    }
+    
+    private ResponseEntity<ResultadoLoteNotasDTO> responderLote(ResultadoLoteNotasDTO resultado) {
+        HttpStatus estado = resultado.getCreadas() > 0 || resultado.getRecibidas() == 0
+            ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST;
+        return ResponseEntity.status(estado).body(resultado);
+    }
+    
+    // Respuesta de un listado paginado: el cuerpo sigue siendo una lista y el cursor va en cabecera,
+    // solo y como enlace rel="next" a la misma petición con ?cursor=
+    private ResponseEntity<List<NotaResponseDTO>> responderPagina(PaginaCursor<NotaResponseDTO> pagina) {
+        return responderPagina(pagina, null);
+    }
+    
+    private ResponseEntity<List<NotaResponseDTO>> responderPagina(PaginaCursor<NotaResponseDTO> pagina, String etag) {
+        ResponseEntity.BodyBuilder respuesta = respuestaPagina(pagina);
+        if (etag != null) {
+            respuesta.eTag(etag).cacheControl(CacheControl.noCache());
+        }
+        return respuesta.body(notaService.completarEstadosAcademicos(pagina.getContenido()));
+    }
+    
+    private ResponseEntity<List<AuditoriaNotaDTO>> responderAuditoria(PaginaCursor<AuditoriaNota> pagina) {
+        return respuestaPagina(pagina).body(pagina.getContenido().stream()
+            .map(this::convertirAuditoriaADTO)
+            .collect(Collectors.toList()));
+    }
+    
+    // Cabeceras de la siguiente página (X-Siguiente-Cursor y Link rel="next") si la hay
+    private ResponseEntity.BodyBuilder respuestaPagina(PaginaCursor<?> pagina) {
+        ResponseEntity.BodyBuilder respuesta = ResponseEntity.ok();
+        if (pagina.getSiguienteCursor() != null) {
+            String siguiente = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("cursor", pagina.getSiguienteCursor())
+                .toUriString();
+            respuesta.header(CABECERA_SIGUIENTE_CURSOR, pagina.getSiguienteCursor());
+            respuesta.header(HttpHeaders.LINK, "<" + siguiente + ">; rel=\"next\"");
+        }
+        return respuesta;
+    }
+    
+    // Versión indicada en If-Match ("3"); null si no hay cabecera o es "*".
+    // If-Match usa comparación fuerte: una ETag débil (W/"3") o un valor que no es una versión
+    // no coincide con ninguna y produce 412.
+    private Long versionDeIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String valor = ifMatch.trim();
+        if (valor.startsWith("W/")) {
+            return -1L;
+        }
+        valor = valor.replace("\"", "");
+        try {
+            return Long.valueOf(valor);
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+    
+    private Nota.TipoEvaluacion convertirTipoEvaluacion(String tipoEvaluacion) {
+        return tipoEvaluacion == null || tipoEvaluacion.isBlank()
+            ? null
+            : Nota.TipoEvaluacion.valueOf(tipoEvaluacion.toUpperCase());
+    }
+    
+    private NotaResponseDTO completarEstadoAcademico(NotaResponseDTO nota) {
+        nota.setEstadoAcademico(notaService.obtenerEstadoAcademico(nota.getIdEstudiante(), nota.getIdCurso()));
+        return nota;
+    }
+    
+    private AuditoriaNotaDTO convertirAuditoriaADTO(AuditoriaNota auditoria) {
+        return AuditoriaNotaDTO.builder()
+            .idAuditoria(auditoria.getIdAuditoria())
+            .idNota(auditoria.getIdNota())
+            .idEstudiante(auditoria.getIdEstudiante())
+            .idCurso(auditoria.getIdCurso())
+            .accion(auditoria.getAccion().toString())
+            .notaAnterior(auditoria.getNotaAnterior())
+            .notaNueva(auditoria.getNotaNueva())
+            .tipoEvaluacionAnterior(auditoria.getTipoEvaluacionAnterior() != null ? auditoria.getTipoEvaluacionAnterior().toString() : null)
+            .tipoEvaluacionNueva(auditoria.getTipoEvaluacionNueva() != null ? auditoria.getTipoEvaluacionNueva().toString() : null)
+            .observacionesAnterior(auditoria.getObservacionesAnterior())
+            .observacionesNueva(auditoria.getObservacionesNueva())
+            .usuario(auditoria.getUsuario())
+            .fechaCambio(auditoria.getFechaCambio())
+            .build();
     }
     
     // Método de conversión
@@ -337,7 +1010,10 @@ public class NotaController {
         String estadoAcademico = notaService.obtenerEstadoAcademico(
             nota.getEstudiante().getIdEstudiante(), 
             nota.getCurso().getIdCurso());
-        
+        return convertirADTO(nota, estadoAcademico);
+    }
+    
+    private NotaResponseDTO convertirADTO(Nota nota, String estadoAcademico) {
         return NotaResponseDTO.builder()
             .idNota(nota.getIdNota())
             .nota(nota.getNota())
@@ -351,6 +1027,8 @@ public class NotaController {
             .idCurso(nota.getCurso().getIdCurso())
             .nombreCurso(nota.getCurso().getNombre())
             .codigoCurso(nota.getCurso().getCodigoCurso())
+            .idPeriodo(nota.getPeriodo() != null ? nota.getPeriodo().getIdPeriodo() : null)
+            .version(nota.getVersion())
             .estadoAcademico(estadoAcademico)
             .build();
     }
@@ -0,0 +1,146 @@
+package edu.college.gestion_notas_backend.controller;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import edu.college.gestion_notas_backend.dto.request.CrearPeriodoAcademicoDTO;
+import edu.college.gestion_notas_backend.dto.response.PeriodoAcademicoDTO;
+import edu.college.gestion_notas_backend.model.PeriodoAcademico;
+import edu.college.gestion_notas_backend.service.PeriodoAcademicoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+@Tag(name = "Periodos académicos", description = "API para la gestión de periodos académicos")
+@RestController
+@RequestMapping("/periodos")
+@RequiredArgsConstructor
+public class PeriodoAcademicoController {
+    
+    private final PeriodoAcademicoService periodoAcademicoService;
+    
+    @Operation(
+        summary = "Crear un periodo académico",
+        description = "Registra un periodo académico. Si se marca como actual, pasa a ser el periodo " +
+                     "usado por defecto en las consultas de notas y cursos."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Periodo creado exitosamente",
+            content = @Content(schema = @Schema(implementation = PeriodoAcademicoDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Fechas inválidas o código duplicado",
+            content = @Content)
+    })
+    @PostMapping
+    public ResponseEntity<PeriodoAcademicoDTO> crearPeriodo(@Valid @RequestBody CrearPeriodoAcademicoDTO crearPeriodoDTO) {
+        try {
+            PeriodoAcademico periodo = PeriodoAcademico.builder()
+                .codigo(crearPeriodoDTO.getCodigo())
+                .nombre(crearPeriodoDTO.getNombre())
+                .fechaInicio(crearPeriodoDTO.getFechaInicio())
+                .fechaFin(crearPeriodoDTO.getFechaFin())
+                .actual(crearPeriodoDTO.getActual())
+                .build();
+            PeriodoAcademico periodoCreado = periodoAcademicoService.crearPeriodo(periodo);
+            return ResponseEntity.status(HttpStatus.CREATED).body(convertirADTO(periodoCreado));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @Operation(
+        summary = "Obtener todos los periodos académicos",
+        description = "Recupera los periodos académicos del más reciente al más antiguo."
+    )
+    @ApiResponse(responseCode = "200", description = "Lista de periodos obtenida exitosamente")
+    @GetMapping
+    public ResponseEntity<List<PeriodoAcademicoDTO>> obtenerTodosLosPeriodos() {
+        List<PeriodoAcademicoDTO> periodos = periodoAcademicoService.obtenerTodosLosPeriodos().stream()
+            .map(this::convertirADTO)
+            .collect(Collectors.toList());
+        return ResponseEntity.ok(periodos);
+    }
+    
+    @Operation(
+        summary = "Obtener el periodo académico actual",
+        description = "Periodo usado por defecto en las consultas de notas y cursos."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Periodo actual",
+            content = @Content(schema = @Schema(implementation = PeriodoAcademicoDTO.class))),
+        @ApiResponse(responseCode = "404", description = "No hay un periodo actual", content = @Content)
+    })
+    @GetMapping("/actual")
+    public ResponseEntity<PeriodoAcademicoDTO> obtenerPeriodoActual() {
+        try {
+            return periodoAcademicoService.obtenerPeriodoActual()
+                .map(periodo -> ResponseEntity.ok(convertirADTO(periodo)))
+                .orElse(ResponseEntity.notFound().build());
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @Operation(
+        summary = "Obtener periodo académico por ID",
+        description = "Busca un periodo académico por su identificador."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Periodo encontrado",
+            content = @Content(schema = @Schema(implementation = PeriodoAcademicoDTO.class))),
+        @ApiResponse(responseCode = "404", description = "Periodo no encontrado", content = @Content)
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<PeriodoAcademicoDTO> obtenerPeriodoPorId(
+            @Parameter(description = "ID del periodo", required = true) @PathVariable Integer id) {
+        return periodoAcademicoService.obtenerPeriodoPorId(id)
+            .map(periodo -> ResponseEntity.ok(convertirADTO(periodo)))
+            .orElse(ResponseEntity.notFound().build());
+    }
+    
+    @Operation(
+        summary = "Marcar periodo académico como actual",
+        description = "Cambia el periodo usado por defecto en las consultas de notas y cursos."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Periodo marcado como actual",
+            content = @Content(schema = @Schema(implementation = PeriodoAcademicoDTO.class))),
+        @ApiResponse(responseCode = "404", description = "Periodo no encontrado", content = @Content)
+    })
+    @PutMapping("/{id}/actual")
+    public ResponseEntity<PeriodoAcademicoDTO> marcarComoActual(
+            @Parameter(description = "ID del periodo", required = true) @PathVariable Integer id) {
+        try {
+            return ResponseEntity.ok(convertirADTO(periodoAcademicoService.marcarComoActual(id)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    // Método de conversión
+    private PeriodoAcademicoDTO convertirADTO(PeriodoAcademico periodo) {
+        return PeriodoAcademicoDTO.builder()
+            .idPeriodo(periodo.getIdPeriodo())
+            .codigo(periodo.getCodigo())
+            .nombre(periodo.getNombre())
+            .fechaInicio(periodo.getFechaInicio())
+            .fechaFin(periodo.getFechaFin())
+            .actual(periodo.getActual())
+            .build();
+    }
+}
@@ -0,0 +1,19 @@
+package edu.college.gestion_notas_backend.dto.request;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConfigurarPesosDTO {
+    
+    // Porcentaje por tipo de evaluación, p. ej. {"PARCIAL": 30, "FINAL": 40, "TAREA": 30}; debe sumar 100
+    @NotEmpty(message = "Debe indicar al menos un peso")
+    private Map<String, BigDecimal> pesos;
+}
@@ -29,4 +29,7 @@ public class CrearCursoDTO {
     
     // ID del docente responsable
     private Integer idDocente;
+    
+    // ID del periodo académico; si se omite, el periodo actual
+    private Integer idPeriodo;
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package edu.college.gestion_notas_backend.dto.request;
+
+import java.time.LocalDate;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CrearPeriodoAcademicoDTO {
+    
+    // Código del periodo, p. ej. "2026-I"
+    @NotBlank(message = "El código del periodo es obligatorio")
+    @Size(max = 20, message = "El código no puede exceder 20 caracteres")
+    private String codigo;
+    
+    @NotBlank(message = "El nombre del periodo es obligatorio")
+    @Size(max = 100, message = "El nombre no puede exceder 100 caracteres")
+    private String nombre;
+    
+    @NotNull(message = "La fecha de inicio es obligatoria")
+    private LocalDate fechaInicio;
+    
+    @NotNull(message = "La fecha de fin es obligatoria")
+    private LocalDate fechaFin;
+    
+    // Marcar como periodo actual al crearlo
+    private Boolean actual;
+}
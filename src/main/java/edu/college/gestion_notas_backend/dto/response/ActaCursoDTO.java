@@ -0,0 +1,22 @@
+package edu.college.gestion_notas_backend.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ActaCursoDTO {
+    
+    private Integer idCurso;
+    
+    // true si se aplicaron pesos por tipo de evaluación
+    private Boolean ponderada;
+    
+    private List<CalificacionFinalDTO> calificaciones;
+}
@@ -0,0 +1,46 @@
+package edu.college.gestion_notas_backend.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AnaliticaCursoDTO {
+    
+    private Integer idCurso;
+    private Long totalNotas;
+    private Double promedio;
+    private Double desviacionEstandar;
+    private Double notaMinima;
+    private Double notaMaxima;
+    
+    // Percentiles por rango más cercano
+    private Double percentil25;
+    private Double mediana;
+    private Double percentil75;
+    private Double percentil90;
+    
+    // Porcentaje de notas >= 11 (0-100)
+    private Double tasaAprobacion;
+    
+    // Cantidad de notas por nota entera: posición 0 = [0, 1), ..., posición 20 = exactamente 20
+    private int[] distribucion;
+    
+    private List<PorTipo> porTipoEvaluacion;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PorTipo {
+        private String tipoEvaluacion;
+        private Long totalNotas;
+        private Double promedio;
+        private Double tasaAprobacion;
+    }
+}
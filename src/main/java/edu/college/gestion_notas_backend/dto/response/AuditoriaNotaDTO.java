@@ -0,0 +1,33 @@
+package edu.college.gestion_notas_backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Registro del historial de cambios de una nota
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditoriaNotaDTO {
+    
+    private Long idAuditoria;
+    private Integer idNota; // null para las notas registradas por lote
+    private Integer idEstudiante;
+    private Integer idCurso;
+    private String accion; // "CREADA", "ACTUALIZADA", "ELIMINADA"
+    
+    private BigDecimal notaAnterior;
+    private BigDecimal notaNueva;
+    private String tipoEvaluacionAnterior;
+    private String tipoEvaluacionNueva;
+    private String observacionesAnterior;
+    private String observacionesNueva;
+    
+    private String usuario;
+    private LocalDateTime fechaCambio;
+}
@@ -0,0 +1,24 @@
+package edu.college.gestion_notas_backend.dto.response;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CalificacionFinalDTO {
+    
+    private Integer idEstudiante;
+    private Double notaFinal;
+    private String estado;
+    
+    // false si falta alguna evaluación con peso; la nota final se calcula con los pesos presentes
+    private Boolean evaluacionesCompletas;
+    
+    private Map<String, Double> promediosPorTipo;
+}
@@ -0,0 +1,31 @@
+package edu.college.gestion_notas_backend.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Cambio de nota enviado a los suscriptores del stream de eventos de un estudiante
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CambioNotaDTO {
+    
+    // CREADA, ACTUALIZADA o ELIMINADA
+    private String tipo;
+    
+    // null para las notas registradas por lote
+    private Integer idNota;
+    
+    private Integer idEstudiante;
+    private Integer idCurso;
+    private BigDecimal notaAnterior;
+    private BigDecimal notaNueva;
+    private String tipoEvaluacion;
+    private String observaciones;
+    private LocalDateTime fecha;
+}
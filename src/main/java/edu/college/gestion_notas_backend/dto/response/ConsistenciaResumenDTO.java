@@ -0,0 +1,22 @@
+package edu.college.gestion_notas_backend.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ConsistenciaResumenDTO {
+    
+    private Integer paresEnNotas;
+    private Integer paresEnResumen;
+    private Boolean consistente;
+    
+    // Descripción de cada par cuyo resumen no coincide con la tabla nota
+    private List<String> discrepancias;
+}
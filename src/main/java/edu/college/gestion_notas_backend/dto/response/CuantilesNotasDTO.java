@@ -0,0 +1,25 @@
+package edu.college.gestion_notas_backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CuantilesNotasDTO {
+    
+    // CURSO, DOCENTE o GENERAL
+    private String ambito;
+    private Integer idAmbito;
+    private String tipoEvaluacion;
+    private Long totalNotas;
+    
+    private Double percentil10;
+    private Double percentil25;
+    private Double mediana;
+    private Double percentil75;
+    private Double percentil90;
+}
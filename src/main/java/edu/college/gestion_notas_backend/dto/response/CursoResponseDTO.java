@@ -17,6 +17,7 @@ public class CursoResponseDTO {
     private String descripcion;
     private Integer creditos;
     private Boolean activo;
+    private Integer idPeriodo;
     
     // Información del docente responsable
     private Integer idDocente;
@@ -0,0 +1,33 @@
+package edu.college.gestion_notas_backend.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HistogramaNotasDTO {
+    
+    // CURSO, DOCENTE o TIPO_EVALUACION
+    private String ambito;
+    private Integer idAmbito;
+    private String tipoEvaluacion;
+    private Double anchoIntervalo;
+    private Long totalNotas;
+    private List<Intervalo> intervalos;
+    
+    // Notas en [desde, hasta); el último intervalo incluye el 20
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Intervalo {
+        private Double desde;
+        private Double hasta;
+        private Long cantidad;
+    }
+}
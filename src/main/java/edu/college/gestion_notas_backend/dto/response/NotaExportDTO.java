@@ -0,0 +1,28 @@
+package edu.college.gestion_notas_backend.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import edu.college.gestion_notas_backend.model.Nota;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Fila plana de la exportación de notas (proyección directa desde JPQL)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotaExportDTO {
+    
+    private Integer idNota;
+    private BigDecimal nota;
+    private Nota.TipoEvaluacion tipoEvaluacion;
+    private LocalDateTime fechaRegistro;
+    private String observaciones;
+    
+    private Integer idEstudiante;
+    private String codigoEstudiante;
+    
+    private Integer idCurso;
+    private String codigoCurso;
+}
@@ -8,6 +8,8 @@ import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import edu.college.gestion_notas_backend.model.Nota;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -31,6 +33,33 @@ public class NotaResponseDTO {
     private String nombreCurso;
     private String codigoCurso;
     
+    // Periodo académico de la nota (el de su curso)
+    private Integer idPeriodo;
+    
+    // Versión para If-Match (también en la cabecera ETag)
+    private Long version;
+    
     // Estado académico calculado
     private String estadoAcademico; // "EXCELENTE", "BUENO", "REGULAR", "DESAPROBADO"
-}
\ No newline at end of file
+    
+    // Constructor para proyecciones JPQL (SELECT new ...); el estado académico se completa después
+    public NotaResponseDTO(Integer idNota, BigDecimal nota, Nota.TipoEvaluacion tipoEvaluacion,
+                           LocalDateTime fechaRegistro, String observaciones,
+                           Integer idEstudiante, String nombreEstudiante, String apellidosEstudiante, String codigoEstudiante,
+                           Integer idCurso, String nombreCurso, String codigoCurso, Integer idPeriodo, Long version) {
+        this.idNota = idNota;
+        this.nota = nota;
+        this.tipoEvaluacion = tipoEvaluacion != null ? tipoEvaluacion.toString() : null;
+        this.fechaRegistro = fechaRegistro;
+        this.observaciones = observaciones;
+        this.idEstudiante = idEstudiante;
+        this.nombreEstudiante = nombreEstudiante;
+        this.apellidosEstudiante = apellidosEstudiante;
+        this.codigoEstudiante = codigoEstudiante;
+        this.idCurso = idCurso;
+        this.nombreCurso = nombreCurso;
+        this.codigoCurso = codigoCurso;
+        this.idPeriodo = idPeriodo;
+        this.version = version;
+    }
+}
@@ -0,0 +1,40 @@
+package edu.college.gestion_notas_backend.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PaginaRankingDTO {
+    
+    private Integer version;
+    private LocalDateTime fechaGeneracion;
+    private Integer totalEstudiantes;
+    private Integer pagina;
+    private Integer tamanio;
+    private List<Posicion> posiciones;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Posicion {
+        private Integer posicion;
+        private Integer puesto;
+        private Integer idEstudiante;
+        private String codigoEstudiante;
+        private String nombres;
+        private String apellidos;
+        private BigDecimal promedioPonderado;
+        private Integer creditos;
+        private Integer cursos;
+    }
+}
@@ -0,0 +1,22 @@
+package edu.college.gestion_notas_backend.dto.response;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PeriodoAcademicoDTO {
+    
+    private Integer idPeriodo;
+    private String codigo;
+    private String nombre;
+    private LocalDate fechaInicio;
+    private LocalDate fechaFin;
+    private Boolean actual;
+}
@@ -0,0 +1,21 @@
+package edu.college.gestion_notas_backend.dto.response;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PesosCursoDTO {
+    
+    private Integer idCurso;
+    
+    // Vacío si el curso no tiene pesos: la nota final es el promedio simple
+    private Map<String, BigDecimal> pesos;
+}
@@ -0,0 +1,21 @@
+package edu.college.gestion_notas_backend.dto.response;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RankingMeritoDTO {
+    
+    private Integer version;
+    private LocalDateTime fechaGeneracion;
+    private Integer totalEstudiantes;
+    private Long duracionMs;
+    private Integer particiones;
+}
@@ -0,0 +1,22 @@
+package edu.college.gestion_notas_backend.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResultadoActasDTO {
+    
+    private Integer cursosProcesados;
+    private Integer estudiantesProcesados;
+    private Integer paralelismo;
+    private Long duracionMs;
+    private Double cursosPorSegundo;
+    private List<ActaCursoDTO> actas;
+}
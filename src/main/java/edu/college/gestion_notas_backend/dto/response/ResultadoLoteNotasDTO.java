@@ -0,0 +1,30 @@
+package edu.college.gestion_notas_backend.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResultadoLoteNotasDTO {
+    
+    private Integer recibidas;
+    private Integer creadas;
+    private Long duracionMs;
+    
+    // Filas rechazadas; el índice corresponde a la posición en el lote enviado (desde 0)
+    private List<ErrorFila> errores;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ErrorFila {
+        private Integer indice;
+        private String mensaje;
+    }
+}
@@ -0,0 +1,37 @@
+package edu.college.gestion_notas_backend.dto.response;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Estado de un trabajo de generación de libretas de notas
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TrabajoLibretasDTO {
+    
+    private String idTrabajo;
+    
+    // EN_PROCESO, COMPLETADO o FALLIDO
+    private String estado;
+    
+    // HTML o CSV
+    private String formato;
+    
+    private Integer totalEstudiantes;
+    private Integer libretasGeneradas;
+    private Integer libretasConError;
+    private Double porcentaje;
+    private LocalDateTime fechaInicio;
+    private LocalDateTime fechaFin;
+    
+    // Tamaño del ZIP en bytes, cuando está completado
+    private Long tamanioBytes;
+    
+    // Causa del fallo, si lo hubo
+    private String mensaje;
+}
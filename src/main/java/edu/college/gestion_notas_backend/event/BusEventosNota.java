@@ -0,0 +1,203 @@
+package edu.college.gestion_notas_backend.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+// Bus de eventos de notas en memoria.
+// Los cambios confirmados se escriben en un buffer circular acotado; cada consumidor avanza su propia
+// secuencia en un hilo dedicado. Si el consumidor más lento está una vuelta completa atrás, quien
+// publica espera (contrapresión) en lugar de descartar eventos.
+@Component
+@Slf4j
+public class BusEventosNota implements SmartLifecycle {
+    
+    // Se detiene después de los servicios web y antes de cerrar los repositorios
+    public static final int FASE = Integer.MAX_VALUE - 2048;
+    
+    private final NotaCambiadaEvent[] buffer;
+    private final int mascara;
+    private final List<Consumidor> consumidores = new ArrayList<>();
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition hayEventos = lock.newCondition();
+    private final Condition hayEspacio = lock.newCondition();
+    
+    // Secuencia del último evento publicado (-1 = ninguno)
+    private volatile long publicado = -1;
+    private final AtomicLong esperasPorEspacio = new AtomicLong();
+    private volatile boolean activo;
+    
+    public BusEventosNota(List<ConsumidorEventosNota> consumidores,
+                          MeterRegistry meterRegistry,
+                          @Value("${notas.eventos.capacidad:8192}") int capacidad) {
+        // La capacidad se redondea a potencia de dos para calcular la posición con una máscara
+        int tamanio = Integer.highestOneBit(Math.max(2, capacidad - 1)) << 1;
+        this.buffer = new NotaCambiadaEvent[tamanio];
+        this.mascara = tamanio - 1;
+        
+        for (ConsumidorEventosNota consumidor : consumidores) {
+            Consumidor registrado = new Consumidor(consumidor);
+            this.consumidores.add(registrado);
+            Gauge.builder("notas.eventos.retraso", registrado, c -> publicado - c.procesado)
+                .description("Eventos publicados que el consumidor aún no procesa")
+                .tag("consumidor", registrado.nombre)
+                .register(meterRegistry);
+        }
+        Gauge.builder("notas.eventos.capacidad", buffer, b -> b.length)
+            .description("Tamaño del buffer circular de eventos de notas")
+            .register(meterRegistry);
+        FunctionCounter.builder("notas.eventos.publicados", this, bus -> bus.publicado + 1)
+            .description("Eventos de notas publicados")
+            .register(meterRegistry);
+        FunctionCounter.builder("notas.eventos.esperas", esperasPorEspacio, AtomicLong::get)
+            .description("Publicaciones que esperaron por buffer lleno")
+            .register(meterRegistry);
+    }
+    
+    // Puente desde los eventos de Spring: solo llegan cambios confirmados
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alConfirmarCambio(NotaCambiadaEvent evento) {
+        publicar(evento);
+    }
+    
+    // Escribir un evento en el buffer; espera si el consumidor más lento no liberó espacio
+    public void publicar(NotaCambiadaEvent evento) {
+        lock.lock();
+        try {
+            long siguiente = publicado + 1;
+            boolean espero = false;
+            while (siguiente - minimoProcesado() > buffer.length) {
+                if (!espero) {
+                    esperasPorEspacio.incrementAndGet();
+                    espero = true;
+                }
+                if (!hayEspacio.await(1, TimeUnit.SECONDS)) {
+                    log.warn("Bus de eventos de notas lleno: esperando al consumidor más lento");
+                }
+            }
+            buffer[(int) (siguiente & mascara)] = evento;
+            publicado = siguiente;
+            hayEventos.signalAll();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Publicación interrumpida, evento descartado: {}", evento);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private long minimoProcesado() {
+        long minimo = publicado;
+        for (Consumidor consumidor : consumidores) {
+            minimo = Math.min(minimo, consumidor.procesado);
+        }
+        return minimo;
+    }
+    
+    @Override
+    public void start() {
+        activo = true;
+        for (Consumidor consumidor : consumidores) {
+            consumidor.hilo = Thread.ofPlatform()
+                .name("eventos-nota-" + consumidor.nombre)
+                .daemon(true)
+                .start(consumidor::ejecutar);
+        }
+        log.info("Bus de eventos de notas iniciado: {} consumidores, capacidad {}", consumidores.size(), buffer.length);
+    }
+    
+    // Al detener, los consumidores terminan de procesar lo ya publicado
+    @Override
+    public void stop() {
+        activo = false;
+        lock.lock();
+        try {
+            hayEventos.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        for (Consumidor consumidor : consumidores) {
+            try {
+                consumidor.hilo.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return activo;
+    }
+    
+    @Override
+    public int getPhase() {
+        return FASE;
+    }
+    
+    private class Consumidor {
+        private final ConsumidorEventosNota destino;
+        private final String nombre;
+        private volatile long procesado = -1;
+        private Thread hilo;
+        
+        Consumidor(ConsumidorEventosNota destino) {
+            this.destino = destino;
+            this.nombre = destino.nombreConsumidor();
+        }
+        
+        void ejecutar() {
+            while (true) {
+                long siguiente = procesado + 1;
+                long hasta;
+                lock.lock();
+                try {
+                    while (publicado < siguiente && activo) {
+                        hayEventos.await();
+                    }
+                    hasta = publicado;
+                } catch (InterruptedException e) {
+                    return;
+                } finally {
+                    lock.unlock();
+                }
+                if (hasta < siguiente) {
+                    return;
+                }
+                
+                // Las posiciones [siguiente, hasta] no se sobrescriben hasta que avance "procesado"
+                for (long secuencia = siguiente; secuencia <= hasta; secuencia++) {
+                    NotaCambiadaEvent evento = buffer[(int) (secuencia & mascara)];
+                    try {
+                        destino.alCambiarNota(evento);
+                    } catch (RuntimeException e) {
+                        log.error("Error en el consumidor {} al procesar {}", nombre, evento, e);
+                    }
+                }
+                procesado = hasta;
+                
+                lock.lock();
+                try {
+                    hayEspacio.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+}
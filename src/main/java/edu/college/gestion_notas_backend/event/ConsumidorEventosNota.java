@@ -0,0 +1,14 @@
+package edu.college.gestion_notas_backend.event;
+
+// Consumidor del bus de eventos de notas. Cada consumidor recibe todos los eventos en orden
+// de publicación, en su propio hilo, así un consumidor lento no retrasa a los demás ni a las escrituras.
+public interface ConsumidorEventosNota {
+    
+    // Procesar un cambio de nota ya confirmado
+    void alCambiarNota(NotaCambiadaEvent evento);
+    
+    // Nombre usado en el hilo y en las métricas
+    default String nombreConsumidor() {
+        return getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,50 @@
+package edu.college.gestion_notas_backend.event;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import edu.college.gestion_notas_backend.model.Nota;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+// Evento publicado por NotaService al crear, actualizar o eliminar una nota.
+// Después del commit pasa a BusEventosNota, que lo entrega a cada ConsumidorEventosNota en su propio hilo;
+// así los consumidores nunca ven cambios revertidos ni alargan la transacción de escritura.
+@Getter
+@Builder
+@AllArgsConstructor
+@ToString
+public class NotaCambiadaEvent {
+    
+    public enum Tipo {
+        CREADA, ACTUALIZADA, ELIMINADA
+    }
+    
+    private final Tipo tipo;
+    
+    // ID de la nota; las registradas por lote (POST /notas/lote) lo obtienen con RETURNING id_nota
+    private final Integer idNota;
+    
+    private final Integer idEstudiante;
+    private final Integer idCurso;
+    
+    // Periodo de la nota (el de su curso)
+    private final Integer idPeriodo;
+    
+    // Versión de la nota tras el cambio (null en ELIMINADA); permite descartar cambios ya leídos
+    private final Long version;
+    
+    // Valores anteriores (null en CREADA) y nuevos (null en ELIMINADA)
+    private final BigDecimal notaAnterior;
+    private final BigDecimal notaNueva;
+    private final Nota.TipoEvaluacion tipoEvaluacionAnterior;
+    private final Nota.TipoEvaluacion tipoEvaluacionNueva;
+    private final String observacionesAnterior;
+    private final String observacionesNueva;
+    
+    // Quién hizo el cambio y cuándo, para la auditoría
+    private final String usuario;
+    private final LocalDateTime fecha;
+}
@@ -20,6 +20,17 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
     }
 
+    @ExceptionHandler(VersionNotaConflictoException.class)
+    public ResponseEntity<ErrorResponseDTO> handleVersionNotaConflictoException(VersionNotaConflictoException ex) {
+        HttpStatus estado = ex.isPrecondicion() ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT;
+        ErrorResponseDTO error = new ErrorResponseDTO(
+            estado.value(),
+            ex.getMessage(),
+            "VERSION_CONFLICTO"
+        );
+        return ResponseEntity.status(estado).body(error);
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ErrorResponseDTO> handleRuntimeException(RuntimeException ex) {
         ErrorResponseDTO error = new ErrorResponseDTO(
@@ -0,0 +1,7 @@
+package edu.college.gestion_notas_backend.exception;
+
+public class RankingEnProcesoException extends RuntimeException {
+    public RankingEnProcesoException() {
+        super("Ya se está generando el orden de mérito");
+    }
+}
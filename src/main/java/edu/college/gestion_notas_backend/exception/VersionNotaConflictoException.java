@@ -0,0 +1,21 @@
+package edu.college.gestion_notas_backend.exception;
+
+import lombok.Getter;
+
+// La nota cambió desde que el cliente la leyó (If-Match no coincide con la versión actual)
+// o siguió cambiando durante el reintento de una actualización sin If-Match
+@Getter
+public class VersionNotaConflictoException extends RuntimeException {
+    
+    // Versión vigente, o null si no se conoce (la nota cambió entre la lectura y la actualización)
+    private final Long versionActual;
+    
+    // true si el cliente envió If-Match (412); sin él el conflicto es entre escrituras concurrentes (409)
+    private final boolean precondicion;
+    
+    public VersionNotaConflictoException(Integer idNota, Long versionActual, boolean precondicion) {
+        super("La nota con ID " + idNota + " fue modificada por otro usuario; vuelva a cargarla");
+        this.versionActual = versionActual;
+        this.precondicion = precondicion;
+    }
+}
@@ -0,0 +1,71 @@
+package edu.college.gestion_notas_backend.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import edu.college.gestion_notas_backend.event.NotaCambiadaEvent;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Registro de solo inserción de un cambio de nota; lo escribe AuditoriaNotaService por lotes
+@Entity
+@Table(name = "auditoria_nota")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditoriaNota {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long idAuditoria;
+
+    // null para las notas registradas por lote
+    @Column(name = "id_nota", updatable = false)
+    private Integer idNota;
+
+    @Column(name = "id_estudiante", nullable = false, updatable = false)
+    private Integer idEstudiante;
+
+    @Column(name = "id_curso", nullable = false, updatable = false)
+    private Integer idCurso;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20, updatable = false)
+    private NotaCambiadaEvent.Tipo accion;
+
+    @Column(precision = 4, scale = 2, updatable = false)
+    private BigDecimal notaAnterior;
+
+    @Column(precision = 4, scale = 2, updatable = false)
+    private BigDecimal notaNueva;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, updatable = false)
+    private Nota.TipoEvaluacion tipoEvaluacionAnterior;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, updatable = false)
+    private Nota.TipoEvaluacion tipoEvaluacionNueva;
+
+    @Column(columnDefinition = "TEXT", updatable = false)
+    private String observacionesAnterior;
+
+    @Column(columnDefinition = "TEXT", updatable = false)
+    private String observacionesNueva;
+
+    @Column(nullable = false, length = 100, updatable = false)
+    private String usuario;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime fechaCambio;
+}
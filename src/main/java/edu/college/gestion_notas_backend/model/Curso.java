@@ -1,10 +1,18 @@
 package edu.college.gestion_notas_backend.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
 import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
 @Table(name = "curso")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "curso")
+@NaturalIdCache(region = "curso-codigo")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -17,6 +25,7 @@ public class Curso {
     @Column(nullable = false, length = 100)
     private String nombre;
 
+    @NaturalId(mutable = true)
     @Column(length = 20, unique = true)
     private String codigoCurso;
 
@@ -32,4 +41,8 @@ public class Curso {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_docente")
     private Docente docente;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_periodo")
+    private PeriodoAcademico periodo;
 }
@@ -2,6 +2,12 @@ package edu.college.gestion_notas_backend.model;
 
 import java.time.LocalDate;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -19,6 +25,9 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "docente")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "docente")
+@NaturalIdCache(region = "docente-codigo")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -32,6 +41,7 @@ public class Docente {
     @JoinColumn(name = "id_usuario", nullable = false, unique = true)
     private Usuario usuario;
 
+    @NaturalId(mutable = true)
     @Column(length = 20, unique = true)
     private String codigoDocente;
 
@@ -24,6 +24,10 @@ public class Nota {
     @JoinColumn(name = "id_curso", nullable = false)
     private Curso curso;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_periodo")
+    private PeriodoAcademico periodo;
+
     @Column(nullable = false, precision = 4, scale = 2)
     private BigDecimal nota;
 
@@ -37,6 +41,11 @@ public class Nota {
     @Column(columnDefinition = "TEXT")
     private String observaciones;
 
+    // Control de concurrencia optimista; se expone como ETag
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     public enum TipoEvaluacion {
         PARCIAL, FINAL, TAREA, PRACTICA, EXAMEN
     }
@@ -0,0 +1,44 @@
+package edu.college.gestion_notas_backend.model;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Periodo académico (p. ej. "2026-I"); cada curso y cada nota pertenecen a uno
+@Entity
+@Table(name = "periodo_academico")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PeriodoAcademico {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer idPeriodo;
+
+    @Column(nullable = false, length = 20, unique = true)
+    private String codigo;
+
+    @Column(nullable = false, length = 100)
+    private String nombre;
+
+    @Column(nullable = false)
+    private LocalDate fechaInicio;
+
+    @Column(nullable = false)
+    private LocalDate fechaFin;
+
+    // Periodo usado por defecto en las consultas; solo uno a la vez
+    @Column(nullable = false)
+    @Builder.Default
+    private Boolean actual = false;
+}
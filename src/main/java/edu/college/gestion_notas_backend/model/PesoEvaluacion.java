@@ -0,0 +1,40 @@
+package edu.college.gestion_notas_backend.model;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Peso (en porcentaje) de un tipo de evaluación en la nota final de un curso
+@Entity
+@Table(name = "peso_evaluacion", uniqueConstraints = @UniqueConstraint(columnNames = {"id_curso", "tipo_evaluacion"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PesoEvaluacion {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer idPeso;
+
+    @Column(name = "id_curso", nullable = false)
+    private Integer idCurso;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo_evaluacion", nullable = false, length = 20)
+    private Nota.TipoEvaluacion tipoEvaluacion;
+
+    @Column(nullable = false, precision = 5, scale = 2)
+    private BigDecimal peso;
+}
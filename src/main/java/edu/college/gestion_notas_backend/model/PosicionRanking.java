@@ -0,0 +1,50 @@
+package edu.college.gestion_notas_backend.model;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Fila de una versión del orden de mérito. "posicion" es correlativa (paginación por rango)
+// y "puesto" es el rango denso: estudiantes con el mismo promedio comparten puesto.
+@Entity
+@Table(name = "posicion_ranking", uniqueConstraints = @UniqueConstraint(columnNames = {"id_ranking", "posicion"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PosicionRanking {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer idPosicion;
+
+    @Column(name = "id_ranking", nullable = false)
+    private Integer idRanking;
+
+    @Column(nullable = false)
+    private Integer posicion;
+
+    @Column(nullable = false)
+    private Integer puesto;
+
+    @Column(name = "id_estudiante", nullable = false)
+    private Integer idEstudiante;
+
+    @Column(nullable = false, precision = 4, scale = 2)
+    private BigDecimal promedioPonderado;
+
+    @Column(nullable = false)
+    private Integer creditos;
+
+    @Column(nullable = false)
+    private Integer cursos;
+}
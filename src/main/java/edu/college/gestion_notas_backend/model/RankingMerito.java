@@ -0,0 +1,36 @@
+package edu.college.gestion_notas_backend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Versión generada del orden de mérito; sus filas están en posicion_ranking
+@Entity
+@Table(name = "ranking_merito")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RankingMerito {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer idRanking;
+
+    @Column(nullable = false)
+    private LocalDateTime fechaGeneracion;
+
+    @Column(nullable = false)
+    private Integer totalEstudiantes;
+
+    @Column(nullable = false)
+    private Long duracionMs;
+}
@@ -0,0 +1,52 @@
+package edu.college.gestion_notas_backend.model;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Agregado de notas por (estudiante, curso), mantenido en la misma transacción que las notas
+@Entity
+@Table(name = "resumen_nota", uniqueConstraints = @UniqueConstraint(name = "ux_resumen_nota_estudiante_curso",
+                                                                   columnNames = {"id_estudiante", "id_curso"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResumenNota {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer idResumen;
+
+    @Column(name = "id_estudiante", nullable = false)
+    private Integer idEstudiante;
+
+    @Column(name = "id_curso", nullable = false)
+    private Integer idCurso;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal suma;
+
+    @Column(nullable = false)
+    private Integer cantidad;
+
+    @Column(nullable = false, precision = 4, scale = 2)
+    private BigDecimal notaMinima;
+
+    @Column(nullable = false, precision = 4, scale = 2)
+    private BigDecimal notaMaxima;
+
+    // Promedio del par (estudiante, curso)
+    public Double getPromedio() {
+        return cantidad != null && cantidad > 0 ? suma.doubleValue() / cantidad : 0.0;
+    }
+}
@@ -0,0 +1,48 @@
+package edu.college.gestion_notas_backend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Copia persistida del sketch de cuantiles de un (curso, tipo de evaluación)
+@Entity
+@Table(name = "sketch_nota", uniqueConstraints = @UniqueConstraint(columnNames = {"id_curso", "tipo_evaluacion"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SketchNota {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer idSketch;
+
+    @Column(name = "id_curso", nullable = false)
+    private Integer idCurso;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo_evaluacion", nullable = false, length = 20)
+    private Nota.TipoEvaluacion tipoEvaluacion;
+
+    // Cantidad total de notas representadas
+    @Column(nullable = false)
+    private Long cantidad;
+
+    // Pares "centesimas:cantidad" separados por ';'
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String datos;
+
+    @Column(nullable = false)
+    private LocalDateTime fechaActualizacion;
+}
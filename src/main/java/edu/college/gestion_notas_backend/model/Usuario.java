@@ -2,6 +2,12 @@ package edu.college.gestion_notas_backend.model;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -17,6 +23,9 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "usuario")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "usuario")
+@NaturalIdCache(region = "usuario-email")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -26,6 +35,7 @@ public class Usuario {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer idUsuario;
 
+    @NaturalId(mutable = true)
     @Column(nullable = false, unique = true, length = 100)
     private String email;
 
@@ -0,0 +1,23 @@
+package edu.college.gestion_notas_backend.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import edu.college.gestion_notas_backend.model.AuditoriaNota;
+
+// Consultas del historial de cambios, del más reciente al más antiguo y paginadas por cursor (ID anterior)
+@Repository
+public interface AuditoriaNotaRepository extends JpaRepository<AuditoriaNota, Long> {
+    
+    List<AuditoriaNota> findByIdNotaAndIdAuditoriaLessThanOrderByIdAuditoriaDesc(Integer idNota, Long antesDe, Limit limite);
+    
+    List<AuditoriaNota> findByIdEstudianteAndIdAuditoriaLessThanOrderByIdAuditoriaDesc(Integer idEstudiante, Long antesDe, Limit limite);
+    
+    List<AuditoriaNota> findByIdCursoAndIdAuditoriaLessThanOrderByIdAuditoriaDesc(Integer idCurso, Long antesDe, Limit limite);
+    
+    List<AuditoriaNota> findByIdEstudianteAndIdCursoAndIdAuditoriaLessThanOrderByIdAuditoriaDesc(
+            Integer idEstudiante, Integer idCurso, Long antesDe, Limit limite);
+}
@@ -1,28 +1,48 @@
 package edu.college.gestion_notas_backend.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import edu.college.gestion_notas_backend.model.Curso;
 import edu.college.gestion_notas_backend.model.Docente;
+import edu.college.gestion_notas_backend.model.PeriodoAcademico;
+import jakarta.persistence.QueryHint;
 
 @Repository
-public interface CursoRepository extends JpaRepository<Curso, Integer> {
+public interface CursoRepository extends RepositorioNaturalId<Curso, Integer> {
     
     // Buscar por código de curso
     Optional<Curso> findByCodigoCurso(String codigoCurso);
     
+    // Buscar por ID o código con docente y periodo cargados (para la caché de CursoService)
+    @Query("SELECT c FROM Curso c LEFT JOIN FETCH c.docente LEFT JOIN FETCH c.periodo WHERE c.idCurso = :id")
+    Optional<Curso> findConDocenteById(@Param("id") Integer id);
+    
+    @Query("SELECT c FROM Curso c LEFT JOIN FETCH c.docente LEFT JOIN FETCH c.periodo WHERE c.codigoCurso = :codigo")
+    Optional<Curso> findConDocenteByCodigo(@Param("codigo") String codigo);
+    
     // Buscar por nombre (like)
     List<Curso> findByNombreContainingIgnoreCase(String nombre);
     
-    // Buscar cursos activos
+    // Buscar cursos activos (caché de consultas: se invalida con cualquier escritura en curso)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Curso> findByActivoTrue();
     
+    // Buscar cursos de un periodo
+    List<Curso> findByPeriodo_IdPeriodo(Integer idPeriodo);
+    
+    // Buscar cursos activos de un periodo (caché de consultas, usada por /cursos/activos)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Curso> findByPeriodo_IdPeriodoAndActivoTrue(Integer idPeriodo);
+    
     // Buscar por docente
     List<Curso> findByDocente(Docente docente);
     
@@ -50,4 +70,28 @@ public interface CursoRepository extends JpaRepository<Curso, Integer> {
     
         // Verificar si existe un curso con el mismo código y docente
         boolean existsByCodigoCursoAndDocente_IdDocente(String codigoCurso, Integer idDocente);
+    
+    // IDs de los cursos de un docente
+    @Query("SELECT c.idCurso FROM Curso c WHERE c.docente.idDocente = :idDocente")
+    List<Integer> findIdsByDocente(@Param("idDocente") Integer idDocente);
+    
+    // IDs de los cursos de un docente en un periodo
+    @Query("SELECT c.idCurso FROM Curso c WHERE c.docente.idDocente = :idDocente AND c.periodo.idPeriodo = :idPeriodo")
+    List<Integer> findIdsByDocenteAndPeriodo(@Param("idDocente") Integer idDocente, @Param("idPeriodo") Integer idPeriodo);
+    
+    // IDs de los cursos de un periodo
+    @Query("SELECT c.idCurso FROM Curso c WHERE c.periodo.idPeriodo = :idPeriodo")
+    List<Integer> findIdsByPeriodo(@Param("idPeriodo") Integer idPeriodo);
+    
+    // Si el curso pertenece al periodo
+    boolean existsByIdCursoAndPeriodo_IdPeriodo(Integer idCurso, Integer idPeriodo);
+    
+    // Periodo de cada curso (null si no tiene)
+    @Query("SELECT c.idCurso, p.idPeriodo FROM Curso c LEFT JOIN c.periodo p WHERE c.idCurso IN :ids")
+    List<Object[]> findPeriodosByIds(@Param("ids") Collection<Integer> ids);
+    
+    // Asignar un periodo a los cursos creados antes de existir los periodos
+    @Modifying
+    @Query("UPDATE Curso c SET c.periodo = :periodo WHERE c.periodo IS NULL")
+    int assignPeriodoWhereMissing(@Param("periodo") PeriodoAcademico periodo);
 }
\ No newline at end of file
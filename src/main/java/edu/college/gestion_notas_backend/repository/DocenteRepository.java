@@ -3,16 +3,18 @@ package edu.college.gestion_notas_backend.repository;
 import java.util.List;
 import java.util.Optional;
 
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import edu.college.gestion_notas_backend.model.Docente;
 import edu.college.gestion_notas_backend.model.Usuario;
+import jakarta.persistence.QueryHint;
 
 @Repository
-public interface DocenteRepository extends JpaRepository<Docente, Integer> {
+public interface DocenteRepository extends RepositorioNaturalId<Docente, Integer> {
     
     // Verificar si existe por código de docente
     boolean existsByCodigoDocente(String codigoDocente);
@@ -20,6 +22,10 @@ public interface DocenteRepository extends JpaRepository<Docente, Integer> {
     // Buscar por código de docente
     Optional<Docente> findByCodigoDocente(String codigoDocente);
     
+    // Buscar por ID con el usuario cargado (para la caché de DocenteService)
+    @Query("SELECT d FROM Docente d LEFT JOIN FETCH d.usuario WHERE d.idDocente = :id")
+    Optional<Docente> findConUsuarioById(@Param("id") Integer id);
+    
     // Buscar por usuario
     Optional<Docente> findByUsuario(Usuario usuario);
     
@@ -35,8 +41,9 @@ public interface DocenteRepository extends JpaRepository<Docente, Integer> {
            "LOWER(d.apellidos) LIKE LOWER(CONCAT('%', :nombre, '%'))")
     List<Docente> findByNombresOrApellidosContaining(@Param("nombre") String nombre);
     
-    // Buscar docentes activos (usuario activo)
+    // Buscar docentes activos (usuario activo); caché de consultas: se invalida con escrituras en docente o usuario
     @Query("SELECT d FROM Docente d WHERE d.usuario.activo = true")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Docente> findActiveDocentes();
     
     // Buscar por distrito
@@ -1,5 +1,6 @@
 package edu.college.gestion_notas_backend.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,6 +18,13 @@ public interface EstudianteRepository extends JpaRepository<Estudiante, Integer>
     // Buscar por código de estudiante
     Optional<Estudiante> findByCodigoEstudiante(String codigoEstudiante);
     
+    // Buscar por ID o código con el usuario cargado (para la caché de EstudianteService)
+    @Query("SELECT e FROM Estudiante e LEFT JOIN FETCH e.usuario WHERE e.idEstudiante = :id")
+    Optional<Estudiante> findConUsuarioById(@Param("id") Integer id);
+    
+    @Query("SELECT e FROM Estudiante e LEFT JOIN FETCH e.usuario WHERE e.codigoEstudiante = :codigo")
+    Optional<Estudiante> findConUsuarioByCodigo(@Param("codigo") String codigo);
+    
     // Buscar por usuario
     Optional<Estudiante> findByUsuario(Usuario usuario);
     
@@ -38,4 +46,8 @@ public interface EstudianteRepository extends JpaRepository<Estudiante, Integer>
     // Contar estudiantes por distrito
     @Query("SELECT e.distrito, COUNT(e) FROM Estudiante e GROUP BY e.distrito")
     List<Object[]> countStudentsByDistrito();
+    
+    // IDs existentes de una lista (validación de lotes con una sola consulta)
+    @Query("SELECT e.idEstudiante FROM Estudiante e WHERE e.idEstudiante IN :ids")
+    List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
 }
\ No newline at end of file
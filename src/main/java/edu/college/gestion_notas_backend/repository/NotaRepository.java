@@ -1,20 +1,39 @@
 package edu.college.gestion_notas_backend.repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
+import edu.college.gestion_notas_backend.dto.response.NotaExportDTO;
+import edu.college.gestion_notas_backend.dto.response.NotaResponseDTO;
 import edu.college.gestion_notas_backend.model.Curso;
 import edu.college.gestion_notas_backend.model.Estudiante;
 import edu.college.gestion_notas_backend.model.Nota;
+import edu.college.gestion_notas_backend.model.PeriodoAcademico;
 
 @Repository
 public interface NotaRepository extends JpaRepository<Nota, Integer> {
     
+    // Proyección plana de NotaResponseDTO: estudiante y curso se leen en la misma sentencia
+    String SELECT_NOTA_DTO = "SELECT new edu.college.gestion_notas_backend.dto.response.NotaResponseDTO(" +
+        "n.idNota, n.nota, n.tipoEvaluacion, n.fechaRegistro, n.observaciones, " +
+        "e.idEstudiante, e.nombres, e.apellidos, e.codigoEstudiante, c.idCurso, c.nombre, c.codigoCurso, n.periodo.idPeriodo, n.version) " +
+        "FROM Nota n JOIN n.estudiante e JOIN n.curso c ";
+    
     // Buscar notas por estudiante
     List<Nota> findByEstudiante(Estudiante estudiante);
     
@@ -50,15 +69,148 @@ public interface NotaRepository extends JpaRepository<Nota, Integer> {
     Double findAverageGradeByStudentAndCourse(@Param("idEstudiante") Integer idEstudiante, 
                                               @Param("idCurso") Integer idCurso);
     
+    // Suma, cantidad, mínimo y máximo por estudiante y curso (verificación de resúmenes)
+    @Query("SELECT n.estudiante.idEstudiante, n.curso.idCurso, SUM(n.nota), COUNT(n), MIN(n.nota), MAX(n.nota) " +
+           "FROM Nota n GROUP BY n.estudiante.idEstudiante, n.curso.idCurso")
+    List<Object[]> summarizeGradesByStudentAndCourse();
+    
     // Notas mayores o iguales a un valor
     @Query("SELECT n FROM Nota n WHERE n.nota >= :minNota")
     List<Nota> findNotasWithMinGrade(@Param("minNota") BigDecimal minNota);
     
-    // Mejores notas por curso (top N)
-    @Query("SELECT n FROM Nota n WHERE n.curso.idCurso = :idCurso ORDER BY n.nota DESC")
-    List<Nota> findTopGradesByCourse(@Param("idCurso") Integer idCurso);
+    // Nota por ID como DTO
+    @Query(SELECT_NOTA_DTO + "WHERE n.idNota = :idNota")
+    Optional<NotaResponseDTO> findDtoById(@Param("idNota") Integer idNota);
+    
+    // Notas por IDs como DTO (sin orden)
+    @Query(SELECT_NOTA_DTO + "WHERE n.idNota IN :ids")
+    List<NotaResponseDTO> findDtosByIds(@Param("ids") Collection<Integer> ids);
+    
+    // Mejores notas por curso en un periodo (top N, el límite se aplica en la base de datos)
+    @Query(SELECT_NOTA_DTO + "WHERE c.idCurso = :idCurso AND n.periodo.idPeriodo = :idPeriodo ORDER BY n.nota DESC, n.idNota")
+    List<NotaResponseDTO> findTopGradesByCourse(@Param("idCurso") Integer idCurso, @Param("idPeriodo") Integer idPeriodo, Limit limit);
+    
+    // IDs y valores de las mejores notas por curso en un periodo (carga del ranking en memoria)
+    @Query("SELECT n.idNota, n.nota FROM Nota n WHERE n.curso.idCurso = :idCurso AND n.periodo.idPeriodo = :idPeriodo " +
+           "ORDER BY n.nota DESC, n.idNota")
+    List<Object[]> findTopGradeIdsByCourse(@Param("idCurso") Integer idCurso, @Param("idPeriodo") Integer idPeriodo, Limit limit);
+    
+    // Contar notas por tipo de evaluación en un periodo
+    @Query("SELECT n.tipoEvaluacion, COUNT(n) FROM Nota n WHERE n.periodo.idPeriodo = :idPeriodo GROUP BY n.tipoEvaluacion")
+    List<Object[]> countNotasByTipoEvaluacion(@Param("idPeriodo") Integer idPeriodo);
+    
+    // Versión vigente de una nota (vacío si no existe)
+    @Query("SELECT n.version FROM Nota n WHERE n.idNota = :idNota")
+    Optional<Long> findVersionById(@Param("idNota") Integer idNota);
+    
+    // Actualización condicional: solo si la versión no cambió desde la lectura (devuelve 0 si cambió)
+    @Modifying
+    @Query("UPDATE Nota n SET n.nota = :nota, n.tipoEvaluacion = :tipoEvaluacion, n.observaciones = :observaciones, " +
+           "n.version = n.version + 1 WHERE n.idNota = :idNota AND n.version = :version")
+    int updateIfVersionMatches(@Param("idNota") Integer idNota,
+                               @Param("version") Long version,
+                               @Param("nota") BigDecimal nota,
+                               @Param("tipoEvaluacion") Nota.TipoEvaluacion tipoEvaluacion,
+                               @Param("observaciones") String observaciones);
+    
+    // Asignar un periodo a las notas registradas antes de existir los periodos
+    @Modifying
+    @Query("UPDATE Nota n SET n.periodo = :periodo WHERE n.periodo IS NULL")
+    int assignPeriodoWhereMissing(@Param("periodo") PeriodoAcademico periodo);
+    
+    // Exportación completa como proyección plana, leída por streaming con fetch size
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new edu.college.gestion_notas_backend.dto.response.NotaExportDTO(" +
+           "n.idNota, n.nota, n.tipoEvaluacion, n.fechaRegistro, n.observaciones, " +
+           "e.idEstudiante, e.codigoEstudiante, c.idCurso, c.codigoCurso) " +
+           "FROM Nota n JOIN n.estudiante e JOIN n.curso c ORDER BY n.idNota")
+    Stream<NotaExportDTO> streamAllForExport();
+    
+    // ID, curso, valor, tipo y versión de todas las notas (carga de la analítica en memoria)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT n.idNota, n.curso.idCurso, n.nota, n.tipoEvaluacion, n.version FROM Nota n")
+    Stream<Object[]> streamGradesByCourse();
+    
+    // ===== Histogramas: cantidad de notas por valor =====
+    
+    @Query("SELECT n.nota, COUNT(n) FROM Nota n WHERE n.curso.idCurso = :idCurso " +
+           "AND n.periodo.idPeriodo = :idPeriodo GROUP BY n.nota")
+    List<Object[]> countByGradeForCourse(@Param("idCurso") Integer idCurso, @Param("idPeriodo") Integer idPeriodo);
+    
+    @Query("SELECT n.nota, COUNT(n) FROM Nota n WHERE n.curso.idCurso = :idCurso " +
+           "AND n.periodo.idPeriodo = :idPeriodo AND n.tipoEvaluacion = :tipo GROUP BY n.nota")
+    List<Object[]> countByGradeForCourseTypeAndPeriod(@Param("idCurso") Integer idCurso,
+                                                      @Param("idPeriodo") Integer idPeriodo,
+                                                      @Param("tipo") Nota.TipoEvaluacion tipo);
+    
+    // Todos los periodos: un sketch de cuantiles abarca todas las notas de su curso
+    @Query("SELECT n.nota, COUNT(n) FROM Nota n WHERE n.curso.idCurso = :idCurso " +
+           "AND n.tipoEvaluacion = :tipo GROUP BY n.nota")
+    List<Object[]> countByGradeForCourseAndType(@Param("idCurso") Integer idCurso,
+                                                @Param("tipo") Nota.TipoEvaluacion tipo);
+    
+    @Query("SELECT n.nota, COUNT(n) FROM Nota n WHERE n.periodo.idPeriodo = :idPeriodo " +
+           "AND n.tipoEvaluacion = :tipo GROUP BY n.nota")
+    List<Object[]> countByGradeForType(@Param("idPeriodo") Integer idPeriodo, @Param("tipo") Nota.TipoEvaluacion tipo);
+    
+    // Cantidad de notas por curso, tipo y valor (reconstrucción de sketches de cuantiles)
+    @Query("SELECT n.curso.idCurso, n.tipoEvaluacion, n.nota, COUNT(n) FROM Nota n " +
+           "WHERE n.tipoEvaluacion IS NOT NULL GROUP BY n.curso.idCurso, n.tipoEvaluacion, n.nota")
+    List<Object[]> countByCourseTypeAndGrade();
+    
+    // Cantidad, suma y suma de cuadrados de las notas por curso y tipo (verificación de sketches de cuantiles)
+    @Query("SELECT n.curso.idCurso, n.tipoEvaluacion, COUNT(n), SUM(n.nota), SUM(n.nota * n.nota) FROM Nota n " +
+           "WHERE n.tipoEvaluacion IS NOT NULL GROUP BY n.curso.idCurso, n.tipoEvaluacion")
+    List<Object[]> summarizeByCourseAndType();
+    
+    // Estudiante, tipo y valor de las notas de un curso (cálculo de la nota final)
+    @Query("SELECT n.estudiante.idEstudiante, n.tipoEvaluacion, n.nota FROM Nota n WHERE n.curso.idCurso = :idCurso")
+    List<Object[]> findGradeComponentsByCourse(@Param("idCurso") Integer idCurso);
+    
+    // ===== Paginación por cursor dentro de un periodo: filas posteriores a (fechaRegistro, idNota) =====
+    // Todas empiezan por id_periodo para usar los índices (id_periodo, ..., fecha_registro, id_nota)
+    
+    @Query(SELECT_NOTA_DTO + "WHERE n.periodo.idPeriodo = :idPeriodo " +
+           "AND (n.fechaRegistro > :fecha OR (n.fechaRegistro = :fecha AND n.idNota > :idNota)) " +
+           "ORDER BY n.fechaRegistro, n.idNota")
+    List<NotaResponseDTO> findPageAfter(@Param("idPeriodo") Integer idPeriodo,
+                                        @Param("fecha") LocalDateTime fecha,
+                                        @Param("idNota") Integer idNota,
+                                        Limit limit);
+    
+    @Query(SELECT_NOTA_DTO + "WHERE n.periodo.idPeriodo = :idPeriodo AND e.idEstudiante = :idEstudiante " +
+           "AND (n.fechaRegistro > :fecha OR (n.fechaRegistro = :fecha AND n.idNota > :idNota)) " +
+           "ORDER BY n.fechaRegistro, n.idNota")
+    List<NotaResponseDTO> findPageByEstudianteAfter(@Param("idPeriodo") Integer idPeriodo,
+                                                    @Param("idEstudiante") Integer idEstudiante,
+                                                    @Param("fecha") LocalDateTime fecha,
+                                                    @Param("idNota") Integer idNota,
+                                                    Limit limit);
+    
+    @Query(SELECT_NOTA_DTO + "WHERE n.periodo.idPeriodo = :idPeriodo AND c.idCurso = :idCurso " +
+           "AND (n.fechaRegistro > :fecha OR (n.fechaRegistro = :fecha AND n.idNota > :idNota)) " +
+           "ORDER BY n.fechaRegistro, n.idNota")
+    List<NotaResponseDTO> findPageByCursoAfter(@Param("idPeriodo") Integer idPeriodo,
+                                               @Param("idCurso") Integer idCurso,
+                                               @Param("fecha") LocalDateTime fecha,
+                                               @Param("idNota") Integer idNota,
+                                               Limit limit);
+    
+    @Query(SELECT_NOTA_DTO + "WHERE n.periodo.idPeriodo = :idPeriodo AND n.tipoEvaluacion = :tipoEvaluacion " +
+           "AND (n.fechaRegistro > :fecha OR (n.fechaRegistro = :fecha AND n.idNota > :idNota)) " +
+           "ORDER BY n.fechaRegistro, n.idNota")
+    List<NotaResponseDTO> findPageByTipoEvaluacionAfter(@Param("idPeriodo") Integer idPeriodo,
+                                                        @Param("tipoEvaluacion") Nota.TipoEvaluacion tipoEvaluacion,
+                                                        @Param("fecha") LocalDateTime fecha,
+                                                        @Param("idNota") Integer idNota,
+                                                        Limit limit);
     
-    // Contar notas por tipo de evaluación
-    @Query("SELECT n.tipoEvaluacion, COUNT(n) FROM Nota n GROUP BY n.tipoEvaluacion")
-    List<Object[]> countNotasByTipoEvaluacion();
+    @Query(SELECT_NOTA_DTO + "WHERE n.periodo.idPeriodo = :idPeriodo AND n.nota >= :minNota " +
+           "AND (n.fechaRegistro > :fecha OR (n.fechaRegistro = :fecha AND n.idNota > :idNota)) " +
+           "ORDER BY n.fechaRegistro, n.idNota")
+    List<NotaResponseDTO> findPageWithMinGradeAfter(@Param("idPeriodo") Integer idPeriodo,
+                                                    @Param("minNota") BigDecimal minNota,
+                                                    @Param("fecha") LocalDateTime fecha,
+                                                    @Param("idNota") Integer idNota,
+                                                    Limit limit);
 }
\ No newline at end of file
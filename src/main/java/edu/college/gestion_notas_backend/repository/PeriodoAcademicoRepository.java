@@ -0,0 +1,29 @@
+package edu.college.gestion_notas_backend.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import edu.college.gestion_notas_backend.model.PeriodoAcademico;
+
+@Repository
+public interface PeriodoAcademicoRepository extends JpaRepository<PeriodoAcademico, Integer> {
+    
+    // Periodo actual
+    Optional<PeriodoAcademico> findFirstByActualTrue();
+    
+    // Buscar por código
+    Optional<PeriodoAcademico> findByCodigo(String codigo);
+    
+    // Periodos del más reciente al más antiguo
+    List<PeriodoAcademico> findAllByOrderByFechaInicioDesc();
+    
+    // Quitar la marca de periodo actual antes de asignarla a otro (limpia el contexto para no guardar el valor anterior)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE PeriodoAcademico p SET p.actual = false WHERE p.actual = true")
+    int clearActual();
+}
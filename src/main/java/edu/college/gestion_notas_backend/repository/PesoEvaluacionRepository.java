@@ -0,0 +1,19 @@
+package edu.college.gestion_notas_backend.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import edu.college.gestion_notas_backend.model.PesoEvaluacion;
+
+@Repository
+public interface PesoEvaluacionRepository extends JpaRepository<PesoEvaluacion, Integer> {
+    
+    // Pesos de un curso
+    List<PesoEvaluacion> findByIdCurso(Integer idCurso);
+    
+    // Pesos de varios cursos
+    List<PesoEvaluacion> findByIdCursoIn(Collection<Integer> idsCursos);
+}
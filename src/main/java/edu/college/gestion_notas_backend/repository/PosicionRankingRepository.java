@@ -0,0 +1,23 @@
+package edu.college.gestion_notas_backend.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import edu.college.gestion_notas_backend.model.PosicionRanking;
+
+@Repository
+public interface PosicionRankingRepository extends JpaRepository<PosicionRanking, Integer> {
+    
+    // Página de una versión por rango de posiciones (usa el índice único id_ranking, posicion)
+    List<PosicionRanking> findByIdRankingAndPosicionBetweenOrderByPosicion(Integer idRanking, Integer desde, Integer hasta);
+    
+    // Eliminar las filas de una versión
+    @Modifying
+    @Query("DELETE FROM PosicionRanking p WHERE p.idRanking = :idRanking")
+    int deleteByIdRanking(@Param("idRanking") Integer idRanking);
+}
@@ -0,0 +1,19 @@
+package edu.college.gestion_notas_backend.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import edu.college.gestion_notas_backend.model.RankingMerito;
+
+@Repository
+public interface RankingMeritoRepository extends JpaRepository<RankingMerito, Integer> {
+    
+    // Última versión generada
+    Optional<RankingMerito> findTopByOrderByIdRankingDesc();
+    
+    // Versiones de la más reciente a la más antigua
+    List<RankingMerito> findAllByOrderByIdRankingDesc();
+}
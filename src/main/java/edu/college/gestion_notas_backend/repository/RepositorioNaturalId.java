@@ -0,0 +1,15 @@
+package edu.college.gestion_notas_backend.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.NoRepositoryBean;
+
+// Repositorio de entidades con @NaturalId: la búsqueda por código/email se resuelve
+// desde la caché de segundo nivel de Hibernate (NaturalIdCache) antes de ir a la base de datos
+@NoRepositoryBean
+public interface RepositorioNaturalId<T, ID> extends JpaRepository<T, ID> {
+    
+    // Buscar por el identificador natural de la entidad
+    Optional<T> findBySimpleNaturalId(Object naturalId);
+}
@@ -0,0 +1,31 @@
+package edu.college.gestion_notas_backend.repository;
+
+import java.util.Optional;
+
+import org.hibernate.Session;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+
+import jakarta.persistence.EntityManager;
+
+// Clase base de todos los repositorios (ver @EnableJpaRepositories); solo los que extienden
+// RepositorioNaturalId exponen la búsqueda por identificador natural
+public class RepositorioNaturalIdImpl<T, ID> extends SimpleJpaRepository<T, ID> implements RepositorioNaturalId<T, ID> {
+    
+    private final EntityManager entityManager;
+    
+    public RepositorioNaturalIdImpl(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
+        super(entityInformation, entityManager);
+        this.entityManager = entityManager;
+    }
+    
+    @Override
+    public Optional<T> findBySimpleNaturalId(Object naturalId) {
+        if (naturalId == null) {
+            return Optional.empty();
+        }
+        return entityManager.unwrap(Session.class)
+            .bySimpleNaturalId(getDomainClass())
+            .loadOptional(naturalId);
+    }
+}
@@ -0,0 +1,100 @@
+package edu.college.gestion_notas_backend.repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.QueryHint;
+
+import edu.college.gestion_notas_backend.model.ResumenNota;
+
+@Repository
+public interface ResumenNotaRepository extends JpaRepository<ResumenNota, Integer> {
+    
+    // Buscar resumen por estudiante y curso
+    Optional<ResumenNota> findByIdEstudianteAndIdCurso(Integer idEstudiante, Integer idCurso);
+    
+    // Buscar resúmenes de varios estudiantes y cursos
+    List<ResumenNota> findByIdEstudianteInAndIdCursoIn(Collection<Integer> idsEstudiantes, Collection<Integer> idsCursos);
+    
+    // Suma, cantidad y créditos del curso de cada par, ordenados por estudiante (orden de mérito)
+    @Query("SELECT r.idEstudiante, r.suma, r.cantidad, c.creditos FROM ResumenNota r, Curso c " +
+           "WHERE c.idCurso = r.idCurso AND r.cantidad > 0 AND c.creditos > 0 ORDER BY r.idEstudiante")
+    List<Object[]> findCreditWeightedRows();
+    
+    // Suma y cantidad de notas por estudiante en los cursos de un periodo
+    @Query("SELECT SUM(r.suma), SUM(r.cantidad) FROM ResumenNota r, Curso c " +
+           "WHERE c.idCurso = r.idCurso AND r.idEstudiante = :idEstudiante AND c.periodo.idPeriodo = :idPeriodo")
+    List<Object[]> sumByEstudiante(@Param("idEstudiante") Integer idEstudiante, @Param("idPeriodo") Integer idPeriodo);
+    
+    // Suma y cantidad de notas por curso (ninguna si el curso no es del periodo)
+    @Query("SELECT SUM(r.suma), SUM(r.cantidad) FROM ResumenNota r, Curso c " +
+           "WHERE c.idCurso = r.idCurso AND r.idCurso = :idCurso AND c.periodo.idPeriodo = :idPeriodo")
+    List<Object[]> sumByCurso(@Param("idCurso") Integer idCurso, @Param("idPeriodo") Integer idPeriodo);
+    
+    // Suma y cantidad de notas de un estudiante en un curso (ninguna si el curso no es del periodo)
+    @Query("SELECT SUM(r.suma), SUM(r.cantidad) FROM ResumenNota r, Curso c " +
+           "WHERE c.idCurso = r.idCurso AND r.idEstudiante = :idEstudiante AND r.idCurso = :idCurso " +
+           "AND c.periodo.idPeriodo = :idPeriodo")
+    List<Object[]> sumByEstudianteAndCurso(@Param("idEstudiante") Integer idEstudiante, @Param("idCurso") Integer idCurso,
+                                           @Param("idPeriodo") Integer idPeriodo);
+    
+    // Acumular notas en el resumen del par, creándolo si no existe.
+    // Un solo INSERT ... ON CONFLICT (SQLite y PostgreSQL): dos primeras notas concurrentes del mismo par
+    // no chocan con UNIQUE (id_estudiante, id_curso). Declara resumen_nota como única tabla afectada.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "resumen_nota"))
+    @Query(value = "INSERT INTO resumen_nota (id_estudiante, id_curso, suma, cantidad, nota_minima, nota_maxima) " +
+                   "VALUES (:idEstudiante, :idCurso, :suma, :cantidad, :minima, :maxima) " +
+                   "ON CONFLICT (id_estudiante, id_curso) DO UPDATE SET " +
+                   "suma = resumen_nota.suma + excluded.suma, " +
+                   "cantidad = resumen_nota.cantidad + excluded.cantidad, " +
+                   "nota_minima = CASE WHEN excluded.nota_minima < resumen_nota.nota_minima " +
+                   "THEN excluded.nota_minima ELSE resumen_nota.nota_minima END, " +
+                   "nota_maxima = CASE WHEN excluded.nota_maxima > resumen_nota.nota_maxima " +
+                   "THEN excluded.nota_maxima ELSE resumen_nota.nota_maxima END", nativeQuery = true)
+    int acumular(@Param("idEstudiante") Integer idEstudiante,
+                 @Param("idCurso") Integer idCurso,
+                 @Param("suma") BigDecimal suma,
+                 @Param("cantidad") Integer cantidad,
+                 @Param("minima") BigDecimal minima,
+                 @Param("maxima") BigDecimal maxima);
+    
+    // Ajustar suma y cantidad de un resumen (para actualizaciones y eliminaciones)
+    @Modifying
+    @Query("UPDATE ResumenNota r SET r.suma = r.suma + :deltaSuma, r.cantidad = r.cantidad + :deltaCantidad " +
+           "WHERE r.idEstudiante = :idEstudiante AND r.idCurso = :idCurso")
+    int ajustar(@Param("idEstudiante") Integer idEstudiante,
+                @Param("idCurso") Integer idCurso,
+                @Param("deltaSuma") BigDecimal deltaSuma,
+                @Param("deltaCantidad") Integer deltaCantidad);
+    
+    // Recalcular mínimo y máximo de un par a partir de sus notas
+    @Modifying
+    @Query("UPDATE ResumenNota r SET " +
+           "r.notaMinima = (SELECT MIN(n.nota) FROM Nota n WHERE n.estudiante.idEstudiante = r.idEstudiante AND n.curso.idCurso = r.idCurso), " +
+           "r.notaMaxima = (SELECT MAX(n.nota) FROM Nota n WHERE n.estudiante.idEstudiante = r.idEstudiante AND n.curso.idCurso = r.idCurso) " +
+           "WHERE r.idEstudiante = :idEstudiante AND r.idCurso = :idCurso")
+    int recalcularExtremos(@Param("idEstudiante") Integer idEstudiante, @Param("idCurso") Integer idCurso);
+    
+    // Eliminar el resumen de un par que se quedó sin notas
+    @Modifying
+    @Query("DELETE FROM ResumenNota r WHERE r.idEstudiante = :idEstudiante AND r.idCurso = :idCurso AND r.cantidad <= 0")
+    int eliminarSiVacio(@Param("idEstudiante") Integer idEstudiante, @Param("idCurso") Integer idCurso);
+    
+    // Reconstruir todos los resúmenes desde la tabla nota
+    @Modifying
+    @Query(value = "INSERT INTO resumen_nota (id_estudiante, id_curso, suma, cantidad, nota_minima, nota_maxima) " +
+                   "SELECT id_estudiante, id_curso, SUM(nota), COUNT(*), MIN(nota), MAX(nota) " +
+                   "FROM nota GROUP BY id_estudiante, id_curso", nativeQuery = true)
+    int reconstruirDesdeNotas();
+}
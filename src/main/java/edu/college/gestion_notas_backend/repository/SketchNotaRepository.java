@@ -0,0 +1,16 @@
+package edu.college.gestion_notas_backend.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import edu.college.gestion_notas_backend.model.Nota;
+import edu.college.gestion_notas_backend.model.SketchNota;
+
+@Repository
+public interface SketchNotaRepository extends JpaRepository<SketchNota, Integer> {
+    
+    // Buscar el sketch de un curso y tipo de evaluación
+    Optional<SketchNota> findByIdCursoAndTipoEvaluacion(Integer idCurso, Nota.TipoEvaluacion tipoEvaluacion);
+}
@@ -3,7 +3,6 @@ package edu.college.gestion_notas_backend.repository;
 import java.util.List;
 import java.util.Optional;
 
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -11,7 +10,7 @@ import org.springframework.stereotype.Repository;
 import edu.college.gestion_notas_backend.model.Usuario;
 
 @Repository
-public interface UsuarioRepository extends JpaRepository<Usuario, Integer> {
+public interface UsuarioRepository extends RepositorioNaturalId<Usuario, Integer> {
     
     // Buscar por email
     Optional<Usuario> findByEmail(String email);
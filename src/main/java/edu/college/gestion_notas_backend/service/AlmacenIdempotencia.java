@@ -0,0 +1,121 @@
+package edu.college.gestion_notas_backend.service;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Respuestas de los POST que crean recursos, guardadas por cabecera Idempotency-Key.
+// Un reintento con la misma clave devuelve la respuesta guardada sin volver a ejecutar la operación
+// (inserts, BCrypt, escritura de la foto). Solo se guardan respuestas 2xx; si la operación falla la clave
+// se libera para que el cliente pueda reintentar. Las claves caducan tras el TTL configurado.
+@Slf4j
+@Component
+public class AlmacenIdempotencia {
+
+    public static final String CABECERA_IDEMPOTENCIA = "Idempotency-Key";
+    public static final String CABECERA_REPETIDA = "Idempotent-Replayed";
+    private static final int LONGITUD_MAXIMA_CLAVE = 255;
+
+    private final long ttlMs;
+    private final int maximoClaves;
+
+    private final Map<String, Entrada> entradas = new ConcurrentHashMap<>();
+
+    public AlmacenIdempotencia(@Value("${notas.idempotencia.ttl-ms:86400000}") long ttlMs,
+                               @Value("${notas.idempotencia.maximo-claves:100000}") int maximoClaves) {
+        this.ttlMs = ttlMs;
+        this.maximoClaves = maximoClaves;
+    }
+
+    // Ejecutar la operación una sola vez por clave. La huella identifica el contenido de la petición:
+    // la misma clave con otro contenido responde 422 y una clave cuya operación sigue en curso responde 409.
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> ejecutar(String operacion, String clave, Object huella,
+                                          Supplier<ResponseEntity<T>> accion) {
+        if (clave == null || clave.isBlank()) {
+            return accion.get();
+        }
+        if (clave.length() > LONGITUD_MAXIMA_CLAVE) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        // La clave se aplica por operación y por usuario autenticado (nunca por una cabecera del cliente)
+        // para que dos clientes no choquen
+        String id = operacion + '\u0000' + UsuarioActual.obtener() + '\u0000' + clave.trim();
+        long ahora = System.currentTimeMillis();
+        Entrada nueva = new Entrada(huella, ahora + ttlMs);
+        Entrada existente = entradas.compute(id, (k, actual) ->
+            actual == null || actual.haCaducado(ahora) ? nueva : actual);
+
+        if (existente != nueva) {
+            if (!Objects.equals(existente.huella, huella)) {
+                return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).build();
+            }
+            ResponseEntity<?> guardada = existente.respuesta;
+            if (guardada == null) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            }
+            HttpHeaders cabeceras = new HttpHeaders();
+            cabeceras.putAll(guardada.getHeaders());
+            cabeceras.set(CABECERA_REPETIDA, "true");
+            return new ResponseEntity<>((T) guardada.getBody(), cabeceras, guardada.getStatusCode());
+        }
+
+        if (entradas.size() > maximoClaves) {
+            limpiar();
+            if (entradas.size() > maximoClaves) {
+                // Sin espacio: se atiende la petición sin protección antes que rechazarla
+                log.warn("Almacén de idempotencia lleno ({} claves), la petición se procesa sin guardar", entradas.size());
+                entradas.remove(id, nueva);
+                return accion.get();
+            }
+        }
+
+        ResponseEntity<T> respuesta;
+        try {
+            respuesta = accion.get();
+        } catch (RuntimeException e) {
+            entradas.remove(id, nueva);
+            throw e;
+        }
+        if (respuesta.getStatusCode().is2xxSuccessful()) {
+            nueva.respuesta = respuesta;
+        } else {
+            entradas.remove(id, nueva);
+        }
+        return respuesta;
+    }
+
+    // Eliminar las claves caducadas
+    @Scheduled(fixedDelayString = "${notas.idempotencia.intervalo-limpieza-ms:60000}")
+    public void limpiar() {
+        long ahora = System.currentTimeMillis();
+        entradas.values().removeIf(entrada -> entrada.haCaducado(ahora));
+    }
+
+    private static final class Entrada {
+        private final Object huella;
+        private final long expiraEn;
+        // null mientras la operación está en curso
+        private volatile ResponseEntity<?> respuesta;
+
+        private Entrada(Object huella, long expiraEn) {
+            this.huella = huella;
+            this.expiraEn = expiraEn;
+        }
+
+        private boolean haCaducado(long ahora) {
+            return ahora >= expiraEn;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package edu.college.gestion_notas_backend.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import edu.college.gestion_notas_backend.dto.response.AnaliticaCursoDTO;
+import edu.college.gestion_notas_backend.event.ConsumidorEventosNota;
+import edu.college.gestion_notas_backend.event.NotaCambiadaEvent;
+import edu.college.gestion_notas_backend.model.Nota;
+import edu.college.gestion_notas_backend.repository.CursoRepository;
+import edu.college.gestion_notas_backend.repository.NotaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// Analítica de notas por curso en memoria.
+// Cada curso guarda un histograma de centésimas de punto (0-2000) en un int[] y sumas en long,
+// por lo que media, desviación, percentiles y tasa de aprobación no dependen del número de notas.
+// Un curso pertenece a un solo periodo (y sus notas al mismo), por eso no se separa por periodo.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AnaliticaNotaService implements ConsumidorEventosNota {
+    
+    // Valores posibles de una nota en centésimas (0.00 a 20.00)
+    private static final int VALORES = 2001;
+    private static final int APROBATORIA = 1100;
+    private static final Nota.TipoEvaluacion[] TIPOS = Nota.TipoEvaluacion.values();
+    
+    private final NotaRepository notaRepository;
+    private final CursoRepository cursoRepository;
+    private final PeriodoAcademicoService periodoAcademicoService;
+    
+    private volatile Map<Integer, EstadisticaCurso> cursos = new ConcurrentHashMap<>();
+    
+    // Cambios recibidos hasta terminar la carga desde la base de datos (null después).
+    // Se guardan desde la creación del servicio para no perder los que lleguen antes de ApplicationReadyEvent.
+    private List<NotaCambiadaEvent> pendientes = new ArrayList<>();
+    
+    // Analítica de un curso; vacía si no tiene notas o no es del periodo (el actual si es null)
+    public Optional<AnaliticaCursoDTO> obtenerAnaliticaCurso(Integer idCurso, Integer idPeriodo) {
+        if (!cursoRepository.existsByIdCursoAndPeriodo_IdPeriodo(idCurso, periodoAcademicoService.resolverIdPeriodo(idPeriodo))) {
+            return Optional.empty();
+        }
+        EstadisticaCurso estadistica = cursos.get(idCurso);
+        return estadistica == null ? Optional.empty() : Optional.of(estadistica.resumir(idCurso));
+    }
+    
+    // Cargar todas las notas al arrancar
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void cargar() {
+        long inicio = System.nanoTime();
+        Map<Integer, EstadisticaCurso> nuevos = new ConcurrentHashMap<>();
+        EstadoCarga leidas = new EstadoCarga();
+        long filas = 0;
+        try (Stream<Object[]> notas = notaRepository.streamGradesByCourse()) {
+            for (Object[] fila : (Iterable<Object[]>) notas::iterator) {
+                int valor = centesimas((BigDecimal) fila[2]);
+                int tipo = indiceTipo((Nota.TipoEvaluacion) fila[3]);
+                nuevos.computeIfAbsent((Integer) fila[1], id -> new EstadisticaCurso()).agregar(valor, tipo);
+                leidas.guardar((Integer) fila[0], EstadoCarga.codificar(valor, tipo), (Long) fila[4]);
+                filas++;
+            }
+        }
+        
+        // Los cambios pendientes pueden estar ya incluidos en la lectura: se descartan los de una versión
+        // no posterior a la leída, y el resto lleva su nota del valor leído (o guardado por un cambio
+        // anterior) al valor nuevo, sin contarla dos veces
+        synchronized (this) {
+            for (NotaCambiadaEvent evento : pendientes) {
+                if (evento.getIdNota() == null) {
+                    aplicar(nuevos, evento);
+                } else {
+                    reaplicar(nuevos, leidas, evento);
+                }
+            }
+            pendientes = null;
+            cursos = nuevos;
+        }
+        log.info("Analítica de notas cargada: {} notas de {} cursos en {} ms",
+            filas, nuevos.size(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+    
+    // Aplicar un cambio de nota confirmado
+    @Override
+    public void alCambiarNota(NotaCambiadaEvent evento) {
+        synchronized (this) {
+            if (pendientes != null) {
+                pendientes.add(evento);
+                return;
+            }
+        }
+        aplicar(cursos, evento);
+    }
+    
+    private void aplicar(Map<Integer, EstadisticaCurso> destino, NotaCambiadaEvent evento) {
+        EstadisticaCurso estadistica = destino.computeIfAbsent(evento.getIdCurso(), id -> new EstadisticaCurso());
+        if (evento.getNotaAnterior() != null) {
+            estadistica.quitar(centesimas(evento.getNotaAnterior()), indiceTipo(evento.getTipoEvaluacionAnterior()));
+        }
+        if (evento.getNotaNueva() != null) {
+            estadistica.agregar(centesimas(evento.getNotaNueva()), indiceTipo(evento.getTipoEvaluacionNueva()));
+        }
+    }
+    
+    private void reaplicar(Map<Integer, EstadisticaCurso> destino, EstadoCarga leidas, NotaCambiadaEvent evento) {
+        int anterior = leidas.obtener(evento.getIdNota());
+        if (anterior != EstadoCarga.SIN_NOTA && evento.getVersion() != null
+                && evento.getVersion() <= leidas.obtenerVersion(evento.getIdNota())) {
+            return;
+        }
+        int nuevo = evento.getNotaNueva() == null ? EstadoCarga.SIN_NOTA
+            : EstadoCarga.codificar(centesimas(evento.getNotaNueva()), indiceTipo(evento.getTipoEvaluacionNueva()));
+        if (anterior == nuevo) {
+            return;
+        }
+        EstadisticaCurso estadistica = destino.computeIfAbsent(evento.getIdCurso(), id -> new EstadisticaCurso());
+        if (anterior != EstadoCarga.SIN_NOTA) {
+            estadistica.quitar(EstadoCarga.valor(anterior), EstadoCarga.tipo(anterior));
+        }
+        if (nuevo != EstadoCarga.SIN_NOTA) {
+            estadistica.agregar(EstadoCarga.valor(nuevo), EstadoCarga.tipo(nuevo));
+        }
+        leidas.guardar(evento.getIdNota(), nuevo, evento.getVersion());
+    }
+    
+    private static int centesimas(BigDecimal nota) {
+        int valor = nota.movePointRight(2).setScale(0, RoundingMode.HALF_UP).intValue();
+        return Math.max(0, Math.min(VALORES - 1, valor));
+    }
+    
+    private static int indiceTipo(Nota.TipoEvaluacion tipo) {
+        return (tipo != null ? tipo : Nota.TipoEvaluacion.PARCIAL).ordinal();
+    }
+    
+    // Valor, tipo y versión de cada nota leída durante la carga, indexados por ID (solo vive mientras dura la carga)
+    private static class EstadoCarga {
+        static final int SIN_NOTA = 0;
+        
+        private int[] notas = new int[1024];
+        private long[] versiones = new long[1024];
+        
+        static int codificar(int valor, int tipo) {
+            return (valor + 1) * TIPOS.length + tipo;
+        }
+        
+        static int valor(int codigo) {
+            return codigo / TIPOS.length - 1;
+        }
+        
+        static int tipo(int codigo) {
+            return codigo % TIPOS.length;
+        }
+        
+        int obtener(int idNota) {
+            return idNota < notas.length ? notas[idNota] : SIN_NOTA;
+        }
+        
+        long obtenerVersion(int idNota) {
+            return idNota < versiones.length ? versiones[idNota] : 0;
+        }
+        
+        void guardar(int idNota, int codigo, Long version) {
+            if (idNota >= notas.length) {
+                int capacidad = Math.max(idNota + 1, notas.length * 2);
+                notas = Arrays.copyOf(notas, capacidad);
+                versiones = Arrays.copyOf(versiones, capacidad);
+            }
+            notas[idNota] = codigo;
+            versiones[idNota] = version != null ? version : 0;
+        }
+    }
+    
+    // Estadística de un curso; todos los accesos se sincronizan sobre la instancia
+    private static class EstadisticaCurso {
+        private final int[] histograma = new int[VALORES];
+        private long total;
+        private long suma;
+        private long sumaCuadrados;
+        private long aprobadas;
+        
+        private final long[] totalPorTipo = new long[TIPOS.length];
+        private final long[] sumaPorTipo = new long[TIPOS.length];
+        private final long[] aprobadasPorTipo = new long[TIPOS.length];
+        
+        synchronized void agregar(int valor, int tipo) {
+            actualizar(valor, tipo, 1);
+        }
+        
+        synchronized void quitar(int valor, int tipo) {
+            if (histograma[valor] > 0 && totalPorTipo[tipo] > 0) {
+                actualizar(valor, tipo, -1);
+            }
+        }
+        
+        private void actualizar(int valor, int tipo, int signo) {
+            int aprobada = valor >= APROBATORIA ? 1 : 0;
+            histograma[valor] += signo;
+            total += signo;
+            suma += signo * (long) valor;
+            sumaCuadrados += signo * (long) valor * valor;
+            aprobadas += signo * aprobada;
+            totalPorTipo[tipo] += signo;
+            sumaPorTipo[tipo] += signo * (long) valor;
+            aprobadasPorTipo[tipo] += signo * aprobada;
+        }
+        
+        synchronized AnaliticaCursoDTO resumir(Integer idCurso) {
+            int[] distribucion = new int[21];
+            int minima = -1;
+            int maxima = -1;
+            for (int valor = 0; valor < VALORES; valor++) {
+                if (histograma[valor] > 0) {
+                    if (minima < 0) minima = valor;
+                    maxima = valor;
+                    distribucion[valor / 100] += histograma[valor];
+                }
+            }
+            
+            List<AnaliticaCursoDTO.PorTipo> porTipo = new ArrayList<>();
+            for (int t = 0; t < TIPOS.length; t++) {
+                if (totalPorTipo[t] > 0) {
+                    porTipo.add(new AnaliticaCursoDTO.PorTipo(
+                        TIPOS[t].name(),
+                        totalPorTipo[t],
+                        sumaPorTipo[t] / 100.0 / totalPorTipo[t],
+                        100.0 * aprobadasPorTipo[t] / totalPorTipo[t]));
+                }
+            }
+            
+            double media = total > 0 ? (double) suma / total : 0.0;
+            double varianza = total > 0 ? Math.max(0.0, (double) sumaCuadrados / total - media * media) : 0.0;
+            
+            return AnaliticaCursoDTO.builder()
+                .idCurso(idCurso)
+                .totalNotas(total)
+                .promedio(media / 100.0)
+                .desviacionEstandar(Math.sqrt(varianza) / 100.0)
+                .notaMinima(minima >= 0 ? minima / 100.0 : null)
+                .notaMaxima(maxima >= 0 ? maxima / 100.0 : null)
+                .percentil25(percentil(0.25))
+                .mediana(percentil(0.50))
+                .percentil75(percentil(0.75))
+                .percentil90(percentil(0.90))
+                .tasaAprobacion(total > 0 ? 100.0 * aprobadas / total : 0.0)
+                .distribucion(distribucion)
+                .porTipoEvaluacion(porTipo)
+                .build();
+        }
+        
+        // Percentil por rango más cercano sobre el histograma acumulado
+        private Double percentil(double p) {
+            if (total == 0) {
+                return null;
+            }
+            long rango = Math.max(1, (long) Math.ceil(p * total));
+            long acumulado = 0;
+            for (int valor = 0; valor < VALORES; valor++) {
+                acumulado += histograma[valor];
+                if (acumulado >= rango) {
+                    return valor / 100.0;
+                }
+            }
+            return (VALORES - 1) / 100.0;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package edu.college.gestion_notas_backend.service;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import edu.college.gestion_notas_backend.event.BusEventosNota;
+import edu.college.gestion_notas_backend.event.ConsumidorEventosNota;
+import edu.college.gestion_notas_backend.event.NotaCambiadaEvent;
+import edu.college.gestion_notas_backend.model.AuditoriaNota;
+import edu.college.gestion_notas_backend.repository.AuditoriaNotaRepository;
+import lombok.extern.slf4j.Slf4j;
+
+// Historial de cambios de notas (quién, valor anterior, valor nuevo y fecha).
+// Los registros llegan por el bus de eventos, se encolan y se insertan por lotes fuera de la transacción
+// de la nota, así auditar no duplica el costo de cada escritura. A cambio, si el proceso muere sin apagarse
+// se pierden como máximo los cambios aún en el buffer del bus y en esta cola (capacidad de cada uno,
+// en la práctica lo registrado durante el último intervalo de escritura). Un apagado normal escribe todo.
+@Service
+@Slf4j
+public class AuditoriaNotaService implements ConsumidorEventosNota, SmartLifecycle {
+    
+    private static final int FILAS_POR_BATCH = 500;
+    
+    private static final String INSERTAR_AUDITORIA =
+        "INSERT INTO auditoria_nota (id_nota, id_estudiante, id_curso, accion, nota_anterior, nota_nueva, " +
+        "tipo_evaluacion_anterior, tipo_evaluacion_nueva, observaciones_anterior, observaciones_nueva, usuario, fecha_cambio) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private final AuditoriaNotaRepository auditoriaNotaRepository;
+    private final JdbcTemplate jdbcTemplate;
+    
+    // Acotada: si la base de datos no da abasto, el consumidor se bloquea y la presión llega al bus
+    private final BlockingQueue<NotaCambiadaEvent> cola;
+    
+    // Lote que falló al insertarse; se reintenta antes de tomar registros nuevos
+    private List<NotaCambiadaEvent> lotePendiente = List.of();
+    
+    private volatile boolean activo;
+    
+    public AuditoriaNotaService(AuditoriaNotaRepository auditoriaNotaRepository,
+                                JdbcTemplate jdbcTemplate,
+                                @Value("${notas.auditoria.capacidad:10000}") int capacidad) {
+        this.auditoriaNotaRepository = auditoriaNotaRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.cola = new ArrayBlockingQueue<>(capacidad);
+    }
+    
+    @Override
+    public void alCambiarNota(NotaCambiadaEvent evento) {
+        try {
+            cola.put(evento);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Registro de auditoría descartado al interrumpirse el consumidor: {}", evento);
+            return;
+        }
+        // Con un lote completo no se espera al siguiente intervalo
+        if (cola.size() >= FILAS_POR_BATCH) {
+            escribir();
+        }
+    }
+    
+    // Insertar por lotes los registros encolados
+    @Scheduled(fixedDelayString = "${notas.auditoria.intervalo-escritura-ms:1000}")
+    public synchronized void escribir() {
+        try {
+            if (!lotePendiente.isEmpty()) {
+                insertar(lotePendiente);
+                lotePendiente = List.of();
+            }
+            List<NotaCambiadaEvent> lote = new ArrayList<>(FILAS_POR_BATCH);
+            while (cola.drainTo(lote, FILAS_POR_BATCH) > 0) {
+                lotePendiente = lote;
+                insertar(lote);
+                lotePendiente = List.of();
+                lote = new ArrayList<>(FILAS_POR_BATCH);
+            }
+        } catch (RuntimeException e) {
+            log.error("No se pudo escribir la auditoría de notas ({} registros pendientes), se reintentará",
+                lotePendiente.size() + cola.size(), e);
+        }
+    }
+    
+    @Override
+    public void start() {
+        activo = true;
+    }
+    
+    // Escribir lo encolado al cerrar la aplicación: el bus de eventos ya entregó lo publicado
+    // y el datasource sigue abierto (se cierra al destruir los beans, después de todas las fases)
+    @Override
+    public void stop() {
+        activo = false;
+        escribir();
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return activo;
+    }
+    
+    // Se detiene después del bus de eventos
+    @Override
+    public int getPhase() {
+        return BusEventosNota.FASE - 1024;
+    }
+    
+    // Historial de una nota, del cambio más reciente al más antiguo
+    @Transactional(readOnly = true)
+    public PaginaCursor<AuditoriaNota> obtenerPorNota(Integer idNota, String cursor, Integer tamanio) {
+        int limite = NotaService.normalizarTamanioPagina(tamanio);
+        return pagina(auditoriaNotaRepository.findByIdNotaAndIdAuditoriaLessThanOrderByIdAuditoriaDesc(
+            idNota, decodificar(cursor), Limit.of(limite + 1)), limite);
+    }
+    
+    // Historial de un estudiante, opcionalmente limitado a un curso
+    @Transactional(readOnly = true)
+    public PaginaCursor<AuditoriaNota> obtenerPorEstudiante(Integer idEstudiante, Integer idCurso, String cursor, Integer tamanio) {
+        int limite = NotaService.normalizarTamanioPagina(tamanio);
+        List<AuditoriaNota> filas = idCurso != null
+            ? auditoriaNotaRepository.findByIdEstudianteAndIdCursoAndIdAuditoriaLessThanOrderByIdAuditoriaDesc(
+                idEstudiante, idCurso, decodificar(cursor), Limit.of(limite + 1))
+            : auditoriaNotaRepository.findByIdEstudianteAndIdAuditoriaLessThanOrderByIdAuditoriaDesc(
+                idEstudiante, decodificar(cursor), Limit.of(limite + 1));
+        return pagina(filas, limite);
+    }
+    
+    // Historial de un curso
+    @Transactional(readOnly = true)
+    public PaginaCursor<AuditoriaNota> obtenerPorCurso(Integer idCurso, String cursor, Integer tamanio) {
+        int limite = NotaService.normalizarTamanioPagina(tamanio);
+        return pagina(auditoriaNotaRepository.findByIdCursoAndIdAuditoriaLessThanOrderByIdAuditoriaDesc(
+            idCurso, decodificar(cursor), Limit.of(limite + 1)), limite);
+    }
+    
+    private void insertar(List<NotaCambiadaEvent> lote) {
+        jdbcTemplate.batchUpdate(INSERTAR_AUDITORIA, lote, FILAS_POR_BATCH, (ps, evento) -> {
+            ps.setObject(1, evento.getIdNota(), Types.INTEGER);
+            ps.setInt(2, evento.getIdEstudiante());
+            ps.setInt(3, evento.getIdCurso());
+            ps.setString(4, evento.getTipo().name());
+            ps.setBigDecimal(5, evento.getNotaAnterior());
+            ps.setBigDecimal(6, evento.getNotaNueva());
+            ps.setString(7, evento.getTipoEvaluacionAnterior() != null ? evento.getTipoEvaluacionAnterior().name() : null);
+            ps.setString(8, evento.getTipoEvaluacionNueva() != null ? evento.getTipoEvaluacionNueva().name() : null);
+            ps.setString(9, evento.getObservacionesAnterior());
+            ps.setString(10, evento.getObservacionesNueva());
+            ps.setString(11, evento.getUsuario());
+            ps.setTimestamp(12, Timestamp.valueOf(evento.getFecha()));
+        });
+    }
+    
+    // El cursor es el ID del último registro de la página anterior
+    private static Long decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return Long.MAX_VALUE;
+        }
+        try {
+            return Long.valueOf(cursor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+    
+    private static PaginaCursor<AuditoriaNota> pagina(List<AuditoriaNota> filas, int limite) {
+        if (filas.size() <= limite) {
+            return new PaginaCursor<>(filas, null);
+        }
+        List<AuditoriaNota> contenido = filas.subList(0, limite);
+        return new PaginaCursor<>(contenido, String.valueOf(contenido.get(limite - 1).getIdAuditoria()));
+    }
+}
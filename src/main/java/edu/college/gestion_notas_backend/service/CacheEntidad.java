@@ -0,0 +1,122 @@
+package edu.college.gestion_notas_backend.service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+// Caché local de una entidad por ID y, opcionalmente, por código.
+// Las entidades se guardan con sus relaciones ya cargadas y solo se leen; las escrituras pasan por el
+// repositorio e invalidan la entrada al momento y de nuevo al terminar la transacción.
+final class CacheEntidad<E> {
+
+    private final Cache<Integer, E> porId;
+    // Código -> ID; se comprueba contra la entidad guardada, así un código cambiado no devuelve otra entidad
+    private final Cache<String, Integer> idPorCodigo;
+    private final Function<E, Integer> id;
+    private final Function<E, String> codigo;
+
+    // Contador de invalidaciones: evita guardar una carga por código que se cruzó con un cambio
+    private final AtomicLong invalidaciones = new AtomicLong();
+
+    CacheEntidad(String nombre, long maximo, Duration ttl, Function<E, Integer> id, Function<E, String> codigo,
+                 MeterRegistry meterRegistry) {
+        this.id = id;
+        this.codigo = codigo;
+        this.porId = Caffeine.newBuilder()
+            .maximumSize(maximo)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        this.idPorCodigo = codigo == null ? null : Caffeine.newBuilder()
+            .maximumSize(maximo)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+
+        registrarMetricas(nombre, porId, meterRegistry);
+        if (idPorCodigo != null) {
+            registrarMetricas(nombre + ".codigo", idPorCodigo, meterRegistry);
+        }
+    }
+
+    // Buscar por ID; las ausencias no se guardan
+    Optional<E> obtenerPorId(Integer clave, Function<Integer, Optional<E>> cargar) {
+        if (clave == null) {
+            return cargar.apply(null);
+        }
+        return Optional.ofNullable(porId.get(clave, k -> cargar.apply(k).orElse(null)));
+    }
+
+    // Buscar por código
+    Optional<E> obtenerPorCodigo(String clave, Function<String, Optional<E>> cargar) {
+        if (clave == null) {
+            return cargar.apply(null);
+        }
+        Integer idGuardado = idPorCodigo.getIfPresent(clave);
+        if (idGuardado != null) {
+            E entidad = porId.getIfPresent(idGuardado);
+            if (entidad != null && clave.equals(codigo.apply(entidad))) {
+                return Optional.of(entidad);
+            }
+        }
+
+        long inicio = invalidaciones.get();
+        Optional<E> cargada = cargar.apply(clave);
+        if (cargada.isPresent() && invalidaciones.get() == inicio) {
+            E entidad = cargada.get();
+            porId.put(id.apply(entidad), entidad);
+            idPorCodigo.put(clave, id.apply(entidad));
+        }
+        return cargada;
+    }
+
+    // Descartar una entidad modificada
+    void invalidar(Integer clave) {
+        if (clave == null) {
+            return;
+        }
+        alTerminarTransaccion(() -> porId.invalidate(clave));
+    }
+
+    // Descartar las entidades afectadas por un cambio en otra (p. ej. el docente de un curso)
+    void invalidarSi(Predicate<E> condicion) {
+        alTerminarTransaccion(() -> porId.asMap().values().removeIf(condicion));
+    }
+
+    // Se aplica ahora y al terminar la transacción, confirmada o no: una lectura hecha entre medias
+    // pudo guardar los datos aún sin confirmar
+    private void alTerminarTransaccion(Runnable descarte) {
+        invalidaciones.incrementAndGet();
+        descarte.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int estado) {
+                    invalidaciones.incrementAndGet();
+                    descarte.run();
+                }
+            });
+        }
+    }
+
+    private static void registrarMetricas(String nombre, Cache<?, ?> cache, MeterRegistry meterRegistry) {
+        // cache.gets{result=hit|miss}, cache.evictions, cache.size...
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, nombre);
+        Gauge.builder("cache.ratio.aciertos", cache, c -> c.stats().hitRate())
+            .description("Proporción de búsquedas resueltas desde la caché")
+            .tag("cache", nombre)
+            .register(meterRegistry);
+    }
+}
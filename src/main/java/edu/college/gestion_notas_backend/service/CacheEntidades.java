@@ -0,0 +1,45 @@
+package edu.college.gestion_notas_backend.service;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import edu.college.gestion_notas_backend.model.Curso;
+import edu.college.gestion_notas_backend.model.Docente;
+import edu.college.gestion_notas_backend.model.Estudiante;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Cachés de búsquedas por ID y código de cursos, docentes y estudiantes.
+// Es un componente aparte para que UsuarioService pueda invalidar docentes y estudiantes sin depender de sus servicios.
+@Component
+class CacheEntidades {
+
+    private final CacheEntidad<Curso> cursos;
+    private final CacheEntidad<Docente> docentes;
+    private final CacheEntidad<Estudiante> estudiantes;
+
+    CacheEntidades(MeterRegistry meterRegistry,
+                   @Value("${notas.cache.entidades.maximo:10000}") long maximo,
+                   @Value("${notas.cache.entidades.ttl-ms:600000}") long ttlMs) {
+        Duration ttl = Duration.ofMillis(ttlMs);
+        this.cursos = new CacheEntidad<>("entidades.curso", maximo, ttl,
+            Curso::getIdCurso, Curso::getCodigoCurso, meterRegistry);
+        this.docentes = new CacheEntidad<>("entidades.docente", maximo, ttl,
+            Docente::getIdDocente, null, meterRegistry);
+        this.estudiantes = new CacheEntidad<>("entidades.estudiante", maximo, ttl,
+            Estudiante::getIdEstudiante, Estudiante::getCodigoEstudiante, meterRegistry);
+    }
+
+    CacheEntidad<Curso> cursos() {
+        return cursos;
+    }
+
+    CacheEntidad<Docente> docentes() {
+        return docentes;
+    }
+
+    CacheEntidad<Estudiante> estudiantes() {
+        return estudiantes;
+    }
+}
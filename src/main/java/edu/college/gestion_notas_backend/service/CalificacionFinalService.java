@@ -0,0 +1,247 @@
+package edu.college.gestion_notas_backend.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import edu.college.gestion_notas_backend.dto.response.ActaCursoDTO;
+import edu.college.gestion_notas_backend.dto.response.CalificacionFinalDTO;
+import edu.college.gestion_notas_backend.dto.response.ResultadoActasDTO;
+import edu.college.gestion_notas_backend.model.Curso;
+import edu.college.gestion_notas_backend.model.Nota;
+import edu.college.gestion_notas_backend.model.PesoEvaluacion;
+import edu.college.gestion_notas_backend.repository.CursoRepository;
+import edu.college.gestion_notas_backend.repository.NotaRepository;
+import edu.college.gestion_notas_backend.repository.PesoEvaluacionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// Nota final ponderada por tipo de evaluación.
+// Cada acta se calcula con una sola consulta y un solo recorrido de las notas del curso;
+// la generación de todas las actas reparte los cursos entre los hilos de un ForkJoinPool.
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class CalificacionFinalService {
+    
+    private static final Nota.TipoEvaluacion[] TIPOS = Nota.TipoEvaluacion.values();
+    private static final BigDecimal CIEN = new BigDecimal("100");
+    
+    // Cursos que una tarea procesa sin volver a dividirse
+    private static final int CURSOS_POR_TAREA = 2;
+    
+    private final PesoEvaluacionRepository pesoEvaluacionRepository;
+    private final NotaRepository notaRepository;
+    private final CursoRepository cursoRepository;
+    
+    // Hilos para generar actas; cada hilo usa una conexión del pool mientras consulta su curso
+    @Value("${notas.actas.paralelismo:4}")
+    private int paralelismo;
+    
+    // Pesos configurados de un curso
+    @Transactional(readOnly = true)
+    public Map<Nota.TipoEvaluacion, BigDecimal> obtenerPesos(Integer idCurso) {
+        Map<Nota.TipoEvaluacion, BigDecimal> pesos = new EnumMap<>(Nota.TipoEvaluacion.class);
+        for (PesoEvaluacion peso : pesoEvaluacionRepository.findByIdCurso(idCurso)) {
+            pesos.put(peso.getTipoEvaluacion(), peso.getPeso());
+        }
+        return pesos;
+    }
+    
+    // Reemplazar los pesos de un curso; deben sumar 100
+    public Map<Nota.TipoEvaluacion, BigDecimal> configurarPesos(Integer idCurso, Map<Nota.TipoEvaluacion, BigDecimal> pesos) {
+        if (!cursoRepository.existsById(idCurso)) {
+            throw new RuntimeException("Curso no encontrado con ID: " + idCurso);
+        }
+        BigDecimal suma = BigDecimal.ZERO;
+        for (BigDecimal peso : pesos.values()) {
+            if (peso == null || peso.signum() <= 0) {
+                throw new RuntimeException("Los pesos deben ser mayores a 0");
+            }
+            suma = suma.add(peso);
+        }
+        if (suma.compareTo(CIEN) != 0) {
+            throw new RuntimeException("Los pesos deben sumar 100 (suman " + suma.stripTrailingZeros().toPlainString() + ")");
+        }
+        
+        // Se actualizan las filas existentes en lugar de borrar e insertar (restricción única por tipo)
+        Map<Nota.TipoEvaluacion, PesoEvaluacion> existentes = new EnumMap<>(Nota.TipoEvaluacion.class);
+        for (PesoEvaluacion peso : pesoEvaluacionRepository.findByIdCurso(idCurso)) {
+            existentes.put(peso.getTipoEvaluacion(), peso);
+        }
+        for (Map.Entry<Nota.TipoEvaluacion, PesoEvaluacion> existente : existentes.entrySet()) {
+            if (!pesos.containsKey(existente.getKey())) {
+                pesoEvaluacionRepository.delete(existente.getValue());
+            }
+        }
+        for (Map.Entry<Nota.TipoEvaluacion, BigDecimal> peso : pesos.entrySet()) {
+            PesoEvaluacion fila = existentes.get(peso.getKey());
+            if (fila == null) {
+                fila = PesoEvaluacion.builder().idCurso(idCurso).tipoEvaluacion(peso.getKey()).build();
+            }
+            fila.setPeso(peso.getValue().setScale(2, RoundingMode.HALF_UP));
+            pesoEvaluacionRepository.save(fila);
+        }
+        return new EnumMap<>(pesos);
+    }
+    
+    // Acta (nota final de cada estudiante) de un curso
+    @Transactional(readOnly = true)
+    public ActaCursoDTO calcularActaCurso(Integer idCurso) {
+        return calcularActa(idCurso, obtenerPesos(idCurso), notaRepository.findGradeComponentsByCourse(idCurso));
+    }
+    
+    // Actas de todos los cursos activos, en paralelo
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResultadoActasDTO generarActas() {
+        long inicio = System.nanoTime();
+        
+        List<Integer> idsCursos = cursoRepository.findByActivoTrue().stream().map(Curso::getIdCurso).toList();
+        Map<Integer, Map<Nota.TipoEvaluacion, BigDecimal>> pesos = new HashMap<>();
+        for (PesoEvaluacion peso : pesoEvaluacionRepository.findByIdCursoIn(idsCursos)) {
+            pesos.computeIfAbsent(peso.getIdCurso(), id -> new EnumMap<>(Nota.TipoEvaluacion.class))
+                .put(peso.getTipoEvaluacion(), peso.getPeso());
+        }
+        
+        List<ActaCursoDTO> actas;
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, paralelismo));
+        try {
+            actas = pool.invoke(new TareaActas(idsCursos, 0, idsCursos.size(), pesos));
+        } finally {
+            pool.shutdown();
+        }
+        
+        long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+        double cursosPorSegundo = idsCursos.isEmpty() ? 0.0 : idsCursos.size() * 1000.0 / Math.max(1, duracionMs);
+        int estudiantes = actas.stream().mapToInt(acta -> acta.getCalificaciones().size()).sum();
+        log.info("Actas generadas: {} cursos, {} calificaciones en {} ms ({} cursos/s, paralelismo {})",
+            idsCursos.size(), estudiantes, duracionMs, String.format("%.1f", cursosPorSegundo), paralelismo);
+        
+        return ResultadoActasDTO.builder()
+            .cursosProcesados(idsCursos.size())
+            .estudiantesProcesados(estudiantes)
+            .paralelismo(Math.max(1, paralelismo))
+            .duracionMs(duracionMs)
+            .cursosPorSegundo(cursosPorSegundo)
+            .actas(actas)
+            .build();
+    }
+    
+    // Divide el rango de cursos hasta CURSOS_POR_TAREA; cada hoja consulta y calcula sus cursos
+    private class TareaActas extends RecursiveTask<List<ActaCursoDTO>> {
+        private final List<Integer> idsCursos;
+        private final int desde;
+        private final int hasta;
+        private final Map<Integer, Map<Nota.TipoEvaluacion, BigDecimal>> pesos;
+        
+        TareaActas(List<Integer> idsCursos, int desde, int hasta, Map<Integer, Map<Nota.TipoEvaluacion, BigDecimal>> pesos) {
+            this.idsCursos = idsCursos;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.pesos = pesos;
+        }
+        
+        @Override
+        protected List<ActaCursoDTO> compute() {
+            if (hasta - desde <= CURSOS_POR_TAREA) {
+                List<ActaCursoDTO> actas = new ArrayList<>(hasta - desde);
+                for (int i = desde; i < hasta; i++) {
+                    Integer idCurso = idsCursos.get(i);
+                    actas.add(calcularActa(idCurso, pesos.getOrDefault(idCurso, Map.of()),
+                        notaRepository.findGradeComponentsByCourse(idCurso)));
+                }
+                return actas;
+            }
+            int medio = (desde + hasta) >>> 1;
+            TareaActas izquierda = new TareaActas(idsCursos, desde, medio, pesos);
+            izquierda.fork();
+            List<ActaCursoDTO> actas = new ArrayList<>(new TareaActas(idsCursos, medio, hasta, pesos).compute());
+            actas.addAll(0, izquierda.join());
+            return actas;
+        }
+    }
+    
+    // Un recorrido de las filas (idEstudiante, tipo, nota): suma y cantidad por estudiante y tipo en centésimas.
+    // Sin pesos configurados la nota final es el promedio simple de todas las notas.
+    static ActaCursoDTO calcularActa(Integer idCurso, Map<Nota.TipoEvaluacion, BigDecimal> pesos, List<Object[]> filas) {
+        int tipos = TIPOS.length;
+        double[] peso = new double[tipos];
+        pesos.forEach((tipo, valor) -> peso[tipo.ordinal()] = valor.doubleValue());
+        boolean ponderada = !pesos.isEmpty();
+        
+        // Por estudiante: [suma por tipo..., cantidad por tipo...]
+        Map<Integer, long[]> acumulados = new HashMap<>();
+        for (Object[] fila : filas) {
+            Nota.TipoEvaluacion tipo = fila[1] != null ? (Nota.TipoEvaluacion) fila[1] : Nota.TipoEvaluacion.PARCIAL;
+            long[] acumulado = acumulados.computeIfAbsent((Integer) fila[0], id -> new long[2 * tipos]);
+            acumulado[tipo.ordinal()] += ((BigDecimal) fila[2]).movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+            acumulado[tipos + tipo.ordinal()]++;
+        }
+        
+        List<CalificacionFinalDTO> calificaciones = new ArrayList<>(acumulados.size());
+        for (Map.Entry<Integer, long[]> entrada : acumulados.entrySet()) {
+            long[] acumulado = entrada.getValue();
+            Map<String, Double> promedios = new LinkedHashMap<>();
+            double sumaPonderada = 0.0;
+            double pesoPresente = 0.0;
+            long sumaTotal = 0;
+            long cantidadTotal = 0;
+            boolean completas = true;
+            
+            for (int t = 0; t < tipos; t++) {
+                long cantidad = acumulado[tipos + t];
+                if (cantidad > 0) {
+                    double promedio = acumulado[t] / 100.0 / cantidad;
+                    promedios.put(TIPOS[t].name(), redondear(promedio));
+                    sumaTotal += acumulado[t];
+                    cantidadTotal += cantidad;
+                    if (peso[t] > 0) {
+                        sumaPonderada += promedio * peso[t];
+                        pesoPresente += peso[t];
+                    }
+                } else if (peso[t] > 0) {
+                    completas = false;
+                }
+            }
+            
+            Double notaFinal;
+            if (!ponderada) {
+                notaFinal = redondear(sumaTotal / 100.0 / cantidadTotal);
+            } else {
+                notaFinal = pesoPresente > 0 ? redondear(sumaPonderada / pesoPresente) : null;
+            }
+            calificaciones.add(CalificacionFinalDTO.builder()
+                .idEstudiante(entrada.getKey())
+                .notaFinal(notaFinal)
+                .estado(NotaService.clasificarEstadoAcademico(notaFinal))
+                .evaluacionesCompletas(completas)
+                .promediosPorTipo(promedios)
+                .build());
+        }
+        calificaciones.sort(Comparator.comparing(CalificacionFinalDTO::getIdEstudiante));
+        
+        return ActaCursoDTO.builder()
+            .idCurso(idCurso)
+            .ponderada(ponderada)
+            .calificaciones(calificaciones)
+            .build();
+    }
+    
+    private static double redondear(double valor) {
+        return Math.round(valor * 100) / 100.0;
+    }
+}
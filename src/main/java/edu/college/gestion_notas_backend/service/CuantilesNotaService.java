@@ -0,0 +1,299 @@
+package edu.college.gestion_notas_backend.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import edu.college.gestion_notas_backend.dto.response.CuantilesNotasDTO;
+import edu.college.gestion_notas_backend.event.BusEventosNota;
+import edu.college.gestion_notas_backend.event.ConsumidorEventosNota;
+import edu.college.gestion_notas_backend.event.NotaCambiadaEvent;
+import edu.college.gestion_notas_backend.model.Nota;
+import edu.college.gestion_notas_backend.model.SketchNota;
+import edu.college.gestion_notas_backend.repository.CursoRepository;
+import edu.college.gestion_notas_backend.repository.NotaRepository;
+import edu.college.gestion_notas_backend.repository.SketchNotaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// Cuantiles de notas por (curso, tipo de evaluación) a partir de sketches en memoria.
+// Los sketches se actualizan con cada cambio de nota, se guardan periódicamente en sketch_nota
+// y se fusionan para obtener cuantiles por docente o de todo el colegio sin recorrer la tabla nota.
+// Un curso pertenece a un solo periodo y sus notas al mismo, así que filtrar por periodo es elegir cursos.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CuantilesNotaService implements ConsumidorEventosNota, SmartLifecycle {
+    
+    private static final Nota.TipoEvaluacion[] TIPOS = Nota.TipoEvaluacion.values();
+    
+    private final SketchNotaRepository sketchNotaRepository;
+    private final NotaRepository notaRepository;
+    private final CursoRepository cursoRepository;
+    private final PeriodoAcademicoService periodoAcademicoService;
+    
+    private volatile Map<Clave, SketchCuantiles> sketches = new ConcurrentHashMap<>();
+    
+    // Sketches cambiados desde la última persistencia
+    private final Set<Clave> modificados = ConcurrentHashMap.newKeySet();
+    
+    // Cambios recibidos durante la carga inicial (null fuera de la carga)
+    private List<NotaCambiadaEvent> pendientes;
+    
+    private volatile boolean activo;
+    
+    // Cuantiles de un curso en un periodo (el actual si es null); sin tipo se fusionan todos los tipos de evaluación
+    @Transactional(readOnly = true)
+    public CuantilesNotasDTO obtenerCuantilesCurso(Integer idCurso, Integer idPeriodo, Nota.TipoEvaluacion tipo) {
+        SketchCuantiles fusion = new SketchCuantiles();
+        if (cursoRepository.existsByIdCursoAndPeriodo_IdPeriodo(idCurso, periodoAcademicoService.resolverIdPeriodo(idPeriodo))) {
+            fusionarCurso(fusion, idCurso, tipo);
+        }
+        return construir("CURSO", idCurso, tipo, fusion);
+    }
+    
+    // Cuantiles de los cursos de un docente en un periodo
+    @Transactional(readOnly = true)
+    public CuantilesNotasDTO obtenerCuantilesDocente(Integer idDocente, Integer idPeriodo, Nota.TipoEvaluacion tipo) {
+        SketchCuantiles fusion = new SketchCuantiles();
+        for (Integer idCurso : cursoRepository.findIdsByDocenteAndPeriodo(idDocente, periodoAcademicoService.resolverIdPeriodo(idPeriodo))) {
+            fusionarCurso(fusion, idCurso, tipo);
+        }
+        return construir("DOCENTE", idDocente, tipo, fusion);
+    }
+    
+    // Cuantiles de todo el colegio en un periodo
+    @Transactional(readOnly = true)
+    public CuantilesNotasDTO obtenerCuantilesGenerales(Integer idPeriodo, Nota.TipoEvaluacion tipo) {
+        Set<Integer> cursos = new HashSet<>(cursoRepository.findIdsByPeriodo(periodoAcademicoService.resolverIdPeriodo(idPeriodo)));
+        SketchCuantiles fusion = new SketchCuantiles();
+        sketches.forEach((clave, sketch) -> {
+            if (cursos.contains(clave.idCurso()) && (tipo == null || clave.tipo() == tipo)) {
+                fusion.fusionar(sketch);
+            }
+        });
+        return construir("GENERAL", null, tipo, fusion);
+    }
+    
+    // Cargar los sketches guardados y reconstruir los que no coinciden con la tabla nota
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void cargar() {
+        long inicio = System.nanoTime();
+        synchronized (this) {
+            pendientes = new ArrayList<>();
+        }
+        
+        Map<Clave, SketchCuantiles> nuevos = new ConcurrentHashMap<>();
+        for (SketchNota guardado : sketchNotaRepository.findAll()) {
+            nuevos.put(new Clave(guardado.getIdCurso(), guardado.getTipoEvaluacion()),
+                SketchCuantiles.deserializar(guardado.getDatos()));
+        }
+        
+        Map<Clave, Huella> huellas = new HashMap<>();
+        for (Object[] fila : notaRepository.summarizeByCourseAndType()) {
+            huellas.put(new Clave((Integer) fila[0], (Nota.TipoEvaluacion) fila[1]), new Huella(
+                ((Number) fila[2]).longValue(), escalar((BigDecimal) fila[3], 2), escalar((BigDecimal) fila[4], 4)));
+        }
+        
+        int reconstruidos;
+        if (nuevos.isEmpty()) {
+            // Primera ejecución: un solo recorrido agrupado para todos los sketches
+            for (Object[] fila : notaRepository.countByCourseTypeAndGrade()) {
+                nuevos.computeIfAbsent(new Clave((Integer) fila[0], (Nota.TipoEvaluacion) fila[1]), c -> new SketchCuantiles())
+                    .agregar(centesimas((BigDecimal) fila[2]), ((Number) fila[3]).longValue());
+            }
+            modificados.addAll(nuevos.keySet());
+            reconstruidos = nuevos.size();
+        } else {
+            // Solo se reconstruyen los pares cuya cantidad, suma o suma de cuadrados no coincide
+            // (cambios sin persistir antes de un reinicio; una nota editada no cambia la cantidad)
+            Set<Clave> claves = new HashSet<>(nuevos.keySet());
+            claves.addAll(huellas.keySet());
+            reconstruidos = 0;
+            for (Clave clave : claves) {
+                SketchCuantiles sketch = nuevos.get(clave);
+                Huella esperada = huellas.getOrDefault(clave, Huella.VACIA);
+                if (sketch != null && esperada.coincide(sketch)) {
+                    continue;
+                }
+                SketchCuantiles reconstruido = new SketchCuantiles();
+                if (esperada.cantidad() > 0) {
+                    for (Object[] fila : notaRepository.countByGradeForCourseAndType(clave.idCurso(), clave.tipo())) {
+                        reconstruido.agregar(centesimas((BigDecimal) fila[0]), ((Number) fila[1]).longValue());
+                    }
+                }
+                nuevos.put(clave, reconstruido);
+                modificados.add(clave);
+                reconstruidos++;
+            }
+        }
+        
+        synchronized (this) {
+            for (NotaCambiadaEvent evento : pendientes) {
+                aplicar(nuevos, evento);
+            }
+            pendientes = null;
+            sketches = nuevos;
+        }
+        log.info("Sketches de cuantiles cargados: {} sketches ({} reconstruidos) en {} ms",
+            nuevos.size(), reconstruidos, (System.nanoTime() - inicio) / 1_000_000);
+    }
+    
+    // Aplicar un cambio de nota confirmado
+    @Override
+    public void alCambiarNota(NotaCambiadaEvent evento) {
+        synchronized (this) {
+            if (pendientes != null) {
+                pendientes.add(evento);
+                return;
+            }
+        }
+        aplicar(sketches, evento);
+    }
+    
+    // Guardar los sketches modificados
+    @Scheduled(fixedDelayString = "${notas.cuantiles.intervalo-persistencia-ms:60000}")
+    public void persistir() {
+        int guardados = 0;
+        for (Clave clave : List.copyOf(modificados)) {
+            modificados.remove(clave);
+            try {
+                guardar(clave, sketches.get(clave));
+                guardados++;
+            } catch (RuntimeException e) {
+                modificados.add(clave);
+                log.warn("No se pudo guardar el sketch de cuantiles {}: {}", clave, e.getMessage());
+            }
+        }
+        if (guardados > 0) {
+            log.debug("Sketches de cuantiles guardados: {}", guardados);
+        }
+    }
+    
+    @Override
+    public void start() {
+        activo = true;
+    }
+    
+    // Guardar lo pendiente al cerrar la aplicación: el bus de eventos ya entregó lo publicado
+    // y el datasource sigue abierto (se cierra al destruir los beans, después de todas las fases)
+    @Override
+    public void stop() {
+        activo = false;
+        persistir();
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return activo;
+    }
+    
+    // Se detiene después del bus de eventos
+    @Override
+    public int getPhase() {
+        return BusEventosNota.FASE - 1024;
+    }
+    
+    private void guardar(Clave clave, SketchCuantiles sketch) {
+        SketchNota fila = sketchNotaRepository.findByIdCursoAndTipoEvaluacion(clave.idCurso(), clave.tipo()).orElse(null);
+        if (sketch == null || sketch.total() == 0) {
+            if (fila != null) {
+                sketchNotaRepository.delete(fila);
+            }
+            return;
+        }
+        if (fila == null) {
+            fila = SketchNota.builder()
+                .idCurso(clave.idCurso())
+                .tipoEvaluacion(clave.tipo())
+                .build();
+        }
+        SketchCuantiles copia = sketch.copiar();
+        fila.setDatos(copia.serializar());
+        fila.setCantidad(copia.total());
+        fila.setFechaActualizacion(LocalDateTime.now());
+        sketchNotaRepository.save(fila);
+    }
+    
+    private void aplicar(Map<Clave, SketchCuantiles> destino, NotaCambiadaEvent evento) {
+        if (evento.getNotaAnterior() != null && evento.getTipoEvaluacionAnterior() != null) {
+            Clave clave = new Clave(evento.getIdCurso(), evento.getTipoEvaluacionAnterior());
+            destino.computeIfAbsent(clave, c -> new SketchCuantiles()).agregar(centesimas(evento.getNotaAnterior()), -1);
+            modificados.add(clave);
+        }
+        if (evento.getNotaNueva() != null && evento.getTipoEvaluacionNueva() != null) {
+            Clave clave = new Clave(evento.getIdCurso(), evento.getTipoEvaluacionNueva());
+            destino.computeIfAbsent(clave, c -> new SketchCuantiles()).agregar(centesimas(evento.getNotaNueva()), 1);
+            modificados.add(clave);
+        }
+    }
+    
+    private void fusionarCurso(SketchCuantiles fusion, Integer idCurso, Nota.TipoEvaluacion tipo) {
+        for (Nota.TipoEvaluacion t : TIPOS) {
+            if (tipo == null || t == tipo) {
+                SketchCuantiles sketch = sketches.get(new Clave(idCurso, t));
+                if (sketch != null) {
+                    fusion.fusionar(sketch);
+                }
+            }
+        }
+    }
+    
+    private static CuantilesNotasDTO construir(String ambito, Integer idAmbito, Nota.TipoEvaluacion tipo,
+                                               SketchCuantiles sketch) {
+        return CuantilesNotasDTO.builder()
+            .ambito(ambito)
+            .idAmbito(idAmbito)
+            .tipoEvaluacion(tipo != null ? tipo.name() : null)
+            .totalNotas(sketch.total())
+            .percentil10(enPuntos(sketch.cuantil(0.10)))
+            .percentil25(enPuntos(sketch.cuantil(0.25)))
+            .mediana(enPuntos(sketch.cuantil(0.50)))
+            .percentil75(enPuntos(sketch.cuantil(0.75)))
+            .percentil90(enPuntos(sketch.cuantil(0.90)))
+            .build();
+    }
+    
+    private static Double enPuntos(int centesimas) {
+        return centesimas < 0 ? null : centesimas / 100.0;
+    }
+    
+    private static int centesimas(BigDecimal nota) {
+        int valor = nota.movePointRight(2).setScale(0, RoundingMode.HALF_UP).intValue();
+        return Math.max(0, Math.min(2000, valor));
+    }
+    
+    // Suma de la base de datos llevada a centésimas (escala 2) o centésimas al cuadrado (escala 4);
+    // SQLite suma en coma flotante, de ahí el redondeo
+    private static long escalar(BigDecimal suma, int escala) {
+        return suma == null ? 0 : suma.movePointRight(escala).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+    
+    private record Clave(Integer idCurso, Nota.TipoEvaluacion tipo) {
+    }
+    
+    // Cantidad, suma y suma de cuadrados de las notas de un (curso, tipo) según la tabla nota
+    private record Huella(long cantidad, long suma, long sumaCuadrados) {
+        
+        static final Huella VACIA = new Huella(0, 0, 0);
+        
+        boolean coincide(SketchCuantiles sketch) {
+            return sketch.total() == cantidad && sketch.suma() == suma && sketch.sumaCuadrados() == sumaCuadrados;
+        }
+    }
+}
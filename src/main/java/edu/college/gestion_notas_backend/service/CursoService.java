@@ -9,6 +9,7 @@ import org.springframework.transaction.annotation.Transactional;
 import edu.college.gestion_notas_backend.model.Curso;
 import edu.college.gestion_notas_backend.model.Docente;
 import edu.college.gestion_notas_backend.repository.CursoRepository;
+import edu.college.gestion_notas_backend.service.VersionesColecciones.Coleccion;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -17,6 +18,9 @@ import lombok.RequiredArgsConstructor;
 public class CursoService {
     
     private final CursoRepository cursoRepository;
+    private final PeriodoAcademicoService periodoAcademicoService;
+    private final CacheEntidades cacheEntidades;
+    private final VersionesColecciones versionesColecciones;
     
     // Crear curso
     public Curso crearCurso(Curso curso) {
@@ -37,6 +41,10 @@ public class CursoService {
         if (curso.getActivo() == null) {
             curso.setActivo(true);
         }
+        if (curso.getPeriodo() == null) {
+            curso.setPeriodo(periodoAcademicoService.obtenerPeriodoParaAsignar(null));
+        }
+        versionesColecciones.modificar(Coleccion.CURSOS);
         return cursoRepository.save(curso);
     }
     
@@ -46,16 +54,28 @@ public class CursoService {
         return cursoRepository.findAll();
     }
     
-    // Obtener curso por ID
+    // Obtener cursos de un periodo (el actual si es null)
+    @Transactional(readOnly = true)
+    public List<Curso> obtenerCursosPorPeriodo(Integer idPeriodo) {
+        return cursoRepository.findByPeriodo_IdPeriodo(periodoAcademicoService.resolverIdPeriodo(idPeriodo));
+    }
+    
+    // Obtener cursos activos de un periodo (el actual si es null)
+    @Transactional(readOnly = true)
+    public List<Curso> obtenerCursosActivosPorPeriodo(Integer idPeriodo) {
+        return cursoRepository.findByPeriodo_IdPeriodoAndActivoTrue(periodoAcademicoService.resolverIdPeriodo(idPeriodo));
+    }
+    
+    // Obtener curso por ID (caché local; el curso devuelto es de solo lectura)
     @Transactional(readOnly = true)
     public Optional<Curso> obtenerCursoPorId(Integer id) {
-        return cursoRepository.findById(id);
+        return cacheEntidades.cursos().obtenerPorId(id, cursoRepository::findConDocenteById);
     }
     
-    // Obtener curso por código
+    // Obtener curso por código (caché local; el curso devuelto es de solo lectura)
     @Transactional(readOnly = true)
     public Optional<Curso> obtenerCursoPorCodigo(String codigo) {
-        return cursoRepository.findByCodigoCurso(codigo);
+        return cacheEntidades.cursos().obtenerPorCodigo(codigo, cursoRepository::findConDocenteByCodigo);
     }
     
     // Obtener cursos activos
@@ -102,6 +122,8 @@ public class CursoService {
     
     // Actualizar curso
     public Curso actualizarCurso(Integer id, Curso cursoActualizado) {
+        cacheEntidades.cursos().invalidar(id);
+        versionesColecciones.modificar(Coleccion.CURSOS);
         Curso curso = cursoRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Curso no encontrado con ID: " + id));
         
@@ -126,6 +148,8 @@ public class CursoService {
     
     // Asignar docente a curso
     public Curso asignarDocente(Integer idCurso, Docente docente) {
+        cacheEntidades.cursos().invalidar(idCurso);
+        versionesColecciones.modificar(Coleccion.CURSOS);
         Curso curso = cursoRepository.findById(idCurso)
                 .orElseThrow(() -> new RuntimeException("Curso no encontrado con ID: " + idCurso));
         
@@ -135,6 +159,8 @@ public class CursoService {
     
     // Desactivar curso (soft delete)
     public Curso desactivarCurso(Integer id) {
+        cacheEntidades.cursos().invalidar(id);
+        versionesColecciones.modificar(Coleccion.CURSOS);
         Curso curso = cursoRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Curso no encontrado con ID: " + id));
         
@@ -144,6 +170,8 @@ public class CursoService {
     
     // Activar curso
     public Curso activarCurso(Integer id) {
+        cacheEntidades.cursos().invalidar(id);
+        versionesColecciones.modificar(Coleccion.CURSOS);
         Curso curso = cursoRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Curso no encontrado con ID: " + id));
         
@@ -153,6 +181,8 @@ public class CursoService {
     
     // Eliminar curso (hard delete)
     public void eliminarCurso(Integer id) {
+        cacheEntidades.cursos().invalidar(id);
+        versionesColecciones.modificar(Coleccion.CURSOS);
         if (!cursoRepository.existsById(id)) {
             throw new RuntimeException("Curso no encontrado con ID: " + id);
         }
@@ -0,0 +1,52 @@
+package edu.college.gestion_notas_backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import edu.college.gestion_notas_backend.dto.response.NotaResponseDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Cursor opaco para paginar notas por (fechaRegistro, idNota).
+// El cliente solo lo reenvía; el servidor lo decodifica para continuar después de la última fila entregada.
+@Getter
+@AllArgsConstructor
+public class CursorNota {
+    
+    // Posición anterior a cualquier nota (primera página)
+    public static final CursorNota INICIO = new CursorNota(LocalDateTime.of(1900, 1, 1, 0, 0), 0);
+    
+    private static final String SEPARADOR = "|";
+    
+    private final LocalDateTime fechaRegistro;
+    private final Integer idNota;
+    
+    // Cursor que apunta justo después de la nota indicada
+    public static CursorNota despuesDe(NotaResponseDTO nota) {
+        return new CursorNota(nota.getFechaRegistro(), nota.getIdNota());
+    }
+    
+    // Decodificar un cursor recibido del cliente (vacío = primera página)
+    public static CursorNota decodificar(String token) {
+        if (token == null || token.isBlank()) {
+            return INICIO;
+        }
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separador = valor.lastIndexOf(SEPARADOR);
+            return new CursorNota(
+                LocalDateTime.parse(valor.substring(0, separador)),
+                Integer.valueOf(valor.substring(separador + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Cursor de paginación inválido: " + token);
+        }
+    }
+    
+    // Codificar el cursor para enviarlo al cliente
+    public String codificar() {
+        String valor = fechaRegistro + SEPARADOR + idNota;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.transaction.annotation.Transactional;
 import edu.college.gestion_notas_backend.model.Docente;
 import edu.college.gestion_notas_backend.model.Usuario;
 import edu.college.gestion_notas_backend.repository.DocenteRepository;
+import edu.college.gestion_notas_backend.service.VersionesColecciones.Coleccion;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -19,6 +20,8 @@ public class DocenteService {
     
     private final DocenteRepository docenteRepository;
     private final UsuarioService usuarioService;
+    private final CacheEntidades cacheEntidades;
+    private final VersionesColecciones versionesColecciones;
     
     // Crear docente
     public Docente crearDocente(Docente docente) {
@@ -39,6 +42,7 @@ public class DocenteService {
             docente.setUsuario(usuario);
         }
         
+        versionesColecciones.modificar(Coleccion.DOCENTES);
         return docenteRepository.save(docente);
     }
     
@@ -51,7 +55,7 @@ public class DocenteService {
     // Obtener docente por ID
     @Transactional(readOnly = true)
     public Optional<Docente> obtenerDocentePorId(Integer id) {
-        return docenteRepository.findById(id);
+        return cacheEntidades.docentes().obtenerPorId(id, docenteRepository::findConUsuarioById);
     }
     
     // Obtener docente por usuario
@@ -92,6 +96,7 @@ public class DocenteService {
     
     // Actualizar docente
     public Docente actualizarDocente(Integer id, Docente docenteActualizado) {
+        invalidarCache(id);
         Docente docente = docenteRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Docente no encontrado con ID: " + id));
         
@@ -110,6 +115,7 @@ public class DocenteService {
     
     // Actualizar perfil del docente (datos básicos)
     public Docente actualizarPerfilDocente(Integer id, String nombres, String apellidos, String telefono, String direccion, String distrito, String foto, String especialidad, LocalDate fechaContratacion, String email) {
+        invalidarCache(id);
         Docente docente = docenteRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Docente no encontrado con ID: " + id));
         
@@ -132,6 +138,7 @@ public class DocenteService {
     
     // Eliminar docente
     public void eliminarDocente(Integer id) {
+        invalidarCache(id);
         if (!docenteRepository.existsById(id)) {
             throw new RuntimeException("Docente no encontrado con ID: " + id);
         }
@@ -152,6 +159,15 @@ public class DocenteService {
         return docenteRepository.existsById(id);
     }
     
+    // Los cursos en caché y el listado de cursos muestran los datos de su docente
+    private void invalidarCache(Integer id) {
+        cacheEntidades.docentes().invalidar(id);
+        cacheEntidades.cursos().invalidarSi(curso ->
+            curso.getDocente() != null && id.equals(curso.getDocente().getIdDocente()));
+        versionesColecciones.modificar(Coleccion.DOCENTES);
+        versionesColecciones.modificar(Coleccion.CURSOS);
+    }
+    
     // Generar código de docente automático
     public String generarCodigoDocente() {
         long count = docenteRepository.count();
@@ -10,6 +10,7 @@ import org.springframework.transaction.annotation.Transactional;
 import edu.college.gestion_notas_backend.model.Estudiante;
 import edu.college.gestion_notas_backend.model.Usuario;
 import edu.college.gestion_notas_backend.repository.EstudianteRepository;
+import edu.college.gestion_notas_backend.service.VersionesColecciones.Coleccion;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -19,6 +20,8 @@ public class EstudianteService {
     
     private final EstudianteRepository estudianteRepository;
     private final UsuarioService usuarioService;
+    private final CacheEntidades cacheEntidades;
+    private final VersionesColecciones versionesColecciones;
     
     // Crear estudiante
     public Estudiante crearEstudiante(Estudiante estudiante) {
@@ -39,6 +42,7 @@ public class EstudianteService {
             estudiante.setUsuario(usuario);
         }
         
+        versionesColecciones.modificar(Coleccion.ESTUDIANTES);
         return estudianteRepository.save(estudiante);
     }
     
@@ -51,13 +55,13 @@ public class EstudianteService {
     // Obtener estudiante por ID
     @Transactional(readOnly = true)
     public Optional<Estudiante> obtenerEstudiantePorId(Integer id) {
-        return estudianteRepository.findById(id);
+        return cacheEntidades.estudiantes().obtenerPorId(id, estudianteRepository::findConUsuarioById);
     }
     
     // Obtener estudiante por código
     @Transactional(readOnly = true)
     public Optional<Estudiante> obtenerEstudiantePorCodigo(String codigo) {
-        return estudianteRepository.findByCodigoEstudiante(codigo);
+        return cacheEntidades.estudiantes().obtenerPorCodigo(codigo, estudianteRepository::findConUsuarioByCodigo);
     }
     
     // Obtener estudiante por usuario
@@ -86,6 +90,8 @@ public class EstudianteService {
     
     // Actualizar estudiante
     public Estudiante actualizarEstudiante(Integer id, Estudiante estudianteActualizado) {
+        cacheEntidades.estudiantes().invalidar(id);
+        versionesColecciones.modificar(Coleccion.ESTUDIANTES);
         Estudiante estudiante = estudianteRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Estudiante no encontrado con ID: " + id));
         
@@ -109,6 +115,8 @@ public class EstudianteService {
     
     // Actualizar perfil del estudiante (datos básicos)
     public Estudiante actualizarPerfilEstudiante(Integer id, String nombres, String apellidos, String telefono, String direccion, String distrito, String foto, LocalDate fechaNacimiento, String email) {
+        cacheEntidades.estudiantes().invalidar(id);
+        versionesColecciones.modificar(Coleccion.ESTUDIANTES);
         Estudiante estudiante = estudianteRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Estudiante no encontrado con ID: " + id));
 
@@ -130,6 +138,8 @@ public class EstudianteService {
     
     // Eliminar estudiante
     public void eliminarEstudiante(Integer id) {
+        cacheEntidades.estudiantes().invalidar(id);
+        versionesColecciones.modificar(Coleccion.ESTUDIANTES);
         if (!estudianteRepository.existsById(id)) {
             throw new RuntimeException("Estudiante no encontrado con ID: " + id);
         }
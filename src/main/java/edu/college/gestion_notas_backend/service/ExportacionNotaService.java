@@ -0,0 +1,59 @@
+package edu.college.gestion_notas_backend.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import edu.college.gestion_notas_backend.dto.response.NotaExportDTO;
+import edu.college.gestion_notas_backend.repository.NotaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// Exportación del registro completo de notas en NDJSON.
+// Las filas se leen por streaming y se escriben una a una, así la memoria no depende del número de notas.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportacionNotaService {
+    
+    // Cada cuántas filas se vacía el buffer hacia el cliente
+    private static final int FILAS_POR_FLUSH = 1000;
+    
+    private final NotaRepository notaRepository;
+    private final ObjectMapper objectMapper;
+    
+    // Escribir todas las notas en la salida, una fila JSON por línea. Devuelve el número de filas.
+    @Transactional(readOnly = true)
+    public long exportarNotasNdjson(OutputStream salida) throws IOException {
+        long inicio = System.nanoTime();
+        long filas = 0;
+        
+        try (Stream<NotaExportDTO> notas = notaRepository.streamAllForExport();
+             JsonGenerator generador = objectMapper.getFactory().createGenerator(salida)) {
+            // El contenedor cierra la respuesta; sin separador entre valores raíz, el salto de línea lo ponemos nosotros
+            generador.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            generador.setRootValueSeparator(null);
+            
+            Iterator<NotaExportDTO> iterador = notas.iterator();
+            while (iterador.hasNext()) {
+                generador.writeObject(iterador.next());
+                generador.writeRaw('\n');
+                if (++filas % FILAS_POR_FLUSH == 0) {
+                    generador.flush();
+                }
+            }
+        }
+        
+        double segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+        log.info("Exportación NDJSON completada: {} notas en {} s ({} notas/s)",
+            filas, String.format("%.2f", segundos), segundos > 0 ? Math.round(filas / segundos) : filas);
+        return filas;
+    }
+}
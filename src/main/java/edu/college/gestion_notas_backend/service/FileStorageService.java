@@ -5,6 +5,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -79,6 +80,21 @@ public class FileStorageService {
         }
     }
 
+    /**
+     * Resuelve un archivo almacenado para servirlo
+     * @param subDirectory Subdirectorio donde se encuentra (ej: "estudiantes", "docentes") o null
+     * @param fileName Nombre del archivo
+     * @return Ruta del archivo, vacío si no existe o queda fuera del directorio de almacenamiento
+     */
+    public Optional<Path> resolveFile(String subDirectory, String fileName) {
+        Path directory = subDirectory != null ? this.fileStorageLocation.resolve(subDirectory) : this.fileStorageLocation;
+        Path targetLocation = directory.resolve(fileName).normalize();
+        if (!targetLocation.startsWith(this.fileStorageLocation) || !Files.isRegularFile(targetLocation)) {
+            return Optional.empty();
+        }
+        return Optional.of(targetLocation);
+    }
+
     /**
      * Elimina un archivo del sistema
      * @param fileName Nombre del archivo
@@ -0,0 +1,170 @@
+package edu.college.gestion_notas_backend.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import edu.college.gestion_notas_backend.dto.response.HistogramaNotasDTO;
+import edu.college.gestion_notas_backend.event.ConsumidorEventosNota;
+import edu.college.gestion_notas_backend.event.NotaCambiadaEvent;
+import edu.college.gestion_notas_backend.model.Nota;
+import edu.college.gestion_notas_backend.repository.CursoRepository;
+import edu.college.gestion_notas_backend.repository.NotaRepository;
+import lombok.RequiredArgsConstructor;
+
+// Histogramas de notas agregados en la base de datos.
+// La consulta agrupa por valor exacto de la nota (como máximo 2001 filas por ámbito) y el resultado
+// se guarda por ámbito en centésimas, así una sola entrada sirve para cualquier ancho de intervalo.
+// Los histogramas de docente se arman sumando los de sus cursos, que son los que se invalidan.
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class HistogramaNotaService implements ConsumidorEventosNota {
+    
+    public static final double ANCHO_POR_DEFECTO = 1.0;
+    
+    private static final int VALORES = 2001;
+    private static final int ESCALA_MAXIMA = 2000;
+    
+    private final NotaRepository notaRepository;
+    private final CursoRepository cursoRepository;
+    private final PeriodoAcademicoService periodoAcademicoService;
+    
+    private final Map<Clave, Conteos> cache = new ConcurrentHashMap<>();
+    
+    // Se incrementa con cada cambio: una consulta que se cruzó con un cambio no se guarda
+    private final AtomicLong generacion = new AtomicLong();
+    
+    // Histograma de un curso en un periodo (el actual si es null), opcionalmente de un solo tipo de evaluación
+    public HistogramaNotasDTO obtenerHistogramaCurso(Integer idCurso, Integer idPeriodo, Nota.TipoEvaluacion tipo, Double ancho) {
+        long[] conteos = new long[VALORES];
+        conteosCurso(periodoAcademicoService.resolverIdPeriodo(idPeriodo), idCurso, tipo).acumularEn(conteos);
+        return construir("CURSO", idCurso, tipo, ancho, conteos);
+    }
+    
+    // Histograma de los cursos de un docente en un periodo (suma de los histogramas de sus cursos)
+    public HistogramaNotasDTO obtenerHistogramaDocente(Integer idDocente, Integer idPeriodo, Nota.TipoEvaluacion tipo, Double ancho) {
+        long[] conteos = new long[VALORES];
+        Integer periodo = periodoAcademicoService.resolverIdPeriodo(idPeriodo);
+        for (Integer idCurso : cursoRepository.findIdsByDocenteAndPeriodo(idDocente, periodo)) {
+            conteosCurso(periodo, idCurso, tipo).acumularEn(conteos);
+        }
+        return construir("DOCENTE", idDocente, tipo, ancho, conteos);
+    }
+    
+    // Histograma de un tipo de evaluación en todos los cursos de un periodo
+    public HistogramaNotasDTO obtenerHistogramaTipoEvaluacion(Nota.TipoEvaluacion tipo, Integer idPeriodo, Double ancho) {
+        long[] conteos = new long[VALORES];
+        Integer periodo = periodoAcademicoService.resolverIdPeriodo(idPeriodo);
+        obtener(new Clave(periodo, null, tipo), () -> notaRepository.countByGradeForType(periodo, tipo)).acumularEn(conteos);
+        return construir("TIPO_EVALUACION", null, tipo, ancho, conteos);
+    }
+    
+    // Invalidar los ámbitos afectados por un cambio confirmado
+    @Override
+    public void alCambiarNota(NotaCambiadaEvent evento) {
+        generacion.incrementAndGet();
+        Integer idPeriodo = evento.getIdPeriodo();
+        Integer idCurso = evento.getIdCurso();
+        cache.remove(new Clave(idPeriodo, idCurso, null));
+        for (Nota.TipoEvaluacion tipo : new Nota.TipoEvaluacion[] {
+                evento.getTipoEvaluacionAnterior(), evento.getTipoEvaluacionNueva() }) {
+            if (tipo != null) {
+                cache.remove(new Clave(idPeriodo, idCurso, tipo));
+                cache.remove(new Clave(idPeriodo, null, tipo));
+            }
+        }
+    }
+    
+    private Conteos conteosCurso(Integer idPeriodo, Integer idCurso, Nota.TipoEvaluacion tipo) {
+        return obtener(new Clave(idPeriodo, idCurso, tipo), () -> tipo == null
+            ? notaRepository.countByGradeForCourse(idCurso, idPeriodo)
+            : notaRepository.countByGradeForCourseTypeAndPeriod(idCurso, idPeriodo, tipo));
+    }
+    
+    private Conteos obtener(Clave clave, Supplier<List<Object[]>> consulta) {
+        Conteos conteos = cache.get(clave);
+        if (conteos != null) {
+            return conteos;
+        }
+        
+        long generacionInicial = generacion.get();
+        List<Object[]> filas = consulta.get();
+        conteos = new Conteos(new int[filas.size()], new long[filas.size()]);
+        for (int i = 0; i < filas.size(); i++) {
+            conteos.valores()[i] = centesimas((BigDecimal) filas.get(i)[0]);
+            conteos.cantidades()[i] = ((Number) filas.get(i)[1]).longValue();
+        }
+        if (generacion.get() == generacionInicial) {
+            cache.put(clave, conteos);
+        }
+        return conteos;
+    }
+    
+    private HistogramaNotasDTO construir(String ambito, Integer idAmbito, Nota.TipoEvaluacion tipo,
+                                         Double ancho, long[] conteos) {
+        int anchoCentesimas = validarAncho(ancho);
+        int cantidadIntervalos = (ESCALA_MAXIMA + anchoCentesimas - 1) / anchoCentesimas;
+        long[] porIntervalo = new long[cantidadIntervalos];
+        long total = 0;
+        for (int valor = 0; valor < VALORES; valor++) {
+            if (conteos[valor] > 0) {
+                porIntervalo[Math.min(valor / anchoCentesimas, cantidadIntervalos - 1)] += conteos[valor];
+                total += conteos[valor];
+            }
+        }
+        
+        List<HistogramaNotasDTO.Intervalo> intervalos = new ArrayList<>(cantidadIntervalos);
+        for (int i = 0; i < cantidadIntervalos; i++) {
+            intervalos.add(new HistogramaNotasDTO.Intervalo(
+                i * anchoCentesimas / 100.0,
+                Math.min((i + 1) * anchoCentesimas, ESCALA_MAXIMA) / 100.0,
+                porIntervalo[i]));
+        }
+        
+        return HistogramaNotasDTO.builder()
+            .ambito(ambito)
+            .idAmbito(idAmbito)
+            .tipoEvaluacion(tipo != null ? tipo.name() : null)
+            .anchoIntervalo(anchoCentesimas / 100.0)
+            .totalNotas(total)
+            .intervalos(intervalos)
+            .build();
+    }
+    
+    // Ancho en puntos, entre 0.01 y 20, redondeado a centésimas
+    private static int validarAncho(Double ancho) {
+        double valor = ancho != null ? ancho : ANCHO_POR_DEFECTO;
+        int centesimas = (int) Math.round(valor * 100);
+        if (centesimas < 1 || centesimas > ESCALA_MAXIMA) {
+            throw new IllegalArgumentException("El ancho del intervalo debe estar entre 0.01 y 20");
+        }
+        return centesimas;
+    }
+    
+    private static int centesimas(BigDecimal nota) {
+        int valor = nota.movePointRight(2).setScale(0, RoundingMode.HALF_UP).intValue();
+        return Math.max(0, Math.min(ESCALA_MAXIMA, valor));
+    }
+    
+    // Solo los valores con notas: un curso suele tener pocas decenas de valores distintos
+    private record Conteos(int[] valores, long[] cantidades) {
+        void acumularEn(long[] destino) {
+            for (int i = 0; i < valores.length; i++) {
+                destino[valores[i]] += cantidades[i];
+            }
+        }
+    }
+    
+    // Ámbito cacheado dentro de un periodo: curso (con o sin tipo) o tipo de evaluación global (idCurso null)
+    private record Clave(Integer idPeriodo, Integer idCurso, Nota.TipoEvaluacion tipo) {
+    }
+}
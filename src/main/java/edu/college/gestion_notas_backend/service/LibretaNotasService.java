@@ -0,0 +1,415 @@
+package edu.college.gestion_notas_backend.service;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import edu.college.gestion_notas_backend.dto.response.NotaResponseDTO;
+import edu.college.gestion_notas_backend.dto.response.TrabajoLibretasDTO;
+import edu.college.gestion_notas_backend.model.Estudiante;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+// Generación masiva de libretas de notas (una por estudiante) al cierre del periodo.
+// Las libretas se generan en paralelo y un único hilo las escribe en un ZIP en disco a medida que terminan;
+// como máximo hay unas pocas libretas en memoria a la vez. El ZIP se descarga por streaming al completarse.
+@Service
+@Slf4j
+public class LibretaNotasService {
+    
+    public enum Formato {
+        HTML, CSV
+    }
+    
+    // Trabajos terminados que se conservan (con su ZIP); los anteriores se eliminan
+    private static final int MAXIMO_TRABAJOS = 5;
+    
+    private static final DateTimeFormatter FORMATO_FECHA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    
+    private final NotaService notaService;
+    private final EstudianteService estudianteService;
+    private final int paralelismo;
+    
+    private final Map<String, Trabajo> trabajos = new LinkedHashMap<>();
+    private final AtomicBoolean enEjecucion = new AtomicBoolean();
+    private final ExecutorService coordinador = Executors.newSingleThreadExecutor(r -> new Thread(r, "libretas-notas"));
+    
+    public LibretaNotasService(NotaService notaService,
+                               EstudianteService estudianteService,
+                               @Value("${notas.libretas.paralelismo:4}") int paralelismo) {
+        this.notaService = notaService;
+        this.estudianteService = estudianteService;
+        this.paralelismo = Math.max(1, paralelismo);
+    }
+    
+    // Iniciar la generación de las libretas de todos los estudiantes; devuelve el trabajo en proceso
+    public TrabajoLibretasDTO iniciarGeneracion(Formato formato) {
+        if (!enEjecucion.compareAndSet(false, true)) {
+            throw new RuntimeException("Ya se están generando libretas de notas");
+        }
+        Trabajo trabajo = new Trabajo(UUID.randomUUID().toString(), formato);
+        synchronized (trabajos) {
+            trabajos.put(trabajo.id, trabajo);
+            eliminarTrabajosAntiguos();
+        }
+        try {
+            coordinador.execute(() -> ejecutar(trabajo));
+        } catch (RuntimeException e) {
+            enEjecucion.set(false);
+            throw e;
+        }
+        return trabajo.aDTO();
+    }
+    
+    // Estado de un trabajo
+    public Optional<TrabajoLibretasDTO> obtenerTrabajo(String idTrabajo) {
+        synchronized (trabajos) {
+            return Optional.ofNullable(trabajos.get(idTrabajo)).map(Trabajo::aDTO);
+        }
+    }
+    
+    // ZIP de un trabajo completado, abierto para descargarlo. Mientras la descarga no se cierre, el archivo
+    // no se elimina (trabajos antiguos, cierre de la aplicación): se elimina al cerrarse la última descarga
+    public Optional<DescargaZip> abrirZip(String idTrabajo) throws IOException {
+        synchronized (trabajos) {
+            Trabajo trabajo = trabajos.get(idTrabajo);
+            if (trabajo == null) {
+                return Optional.empty();
+            }
+            if (!"COMPLETADO".equals(trabajo.estado)) {
+                throw new IllegalStateException("El trabajo aún no está completado: " + trabajo.estado);
+            }
+            DescargaZip descarga = new DescargaZip(trabajo, Files.newInputStream(trabajo.zip), Files.size(trabajo.zip));
+            trabajo.descargas++;
+            return Optional.of(descarga);
+        }
+    }
+    
+    @PreDestroy
+    public void alCerrar() {
+        coordinador.shutdownNow();
+        synchronized (trabajos) {
+            trabajos.values().forEach(Trabajo::eliminarZip);
+            trabajos.clear();
+        }
+    }
+    
+    private void ejecutar(Trabajo trabajo) {
+        long inicio = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(paralelismo);
+        try {
+            List<Estudiante> estudiantes = estudianteService.obtenerTodosLosEstudiantes();
+            trabajo.total = estudiantes.size();
+            trabajo.zip = Files.createTempFile("libretas-", ".zip");
+            
+            try (ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(trabajo.zip)))) {
+                // Como máximo 2 libretas por hilo pendientes de escribir: la memoria no depende del número de estudiantes
+                CompletionService<Libreta> completadas = new ExecutorCompletionService<>(pool);
+                int ventana = paralelismo * 2;
+                int enviadas = 0;
+                int pendientes = 0;
+                while (enviadas < estudiantes.size() || pendientes > 0) {
+                    while (enviadas < estudiantes.size() && pendientes < ventana) {
+                        Estudiante estudiante = estudiantes.get(enviadas++);
+                        completadas.submit(() -> generarLibreta(estudiante, trabajo.formato));
+                        pendientes++;
+                    }
+                    Libreta libreta = esperar(completadas, trabajo);
+                    pendientes--;
+                    if (libreta != null) {
+                        zip.putNextEntry(new ZipEntry(libreta.nombreArchivo()));
+                        zip.write(libreta.contenido());
+                        zip.closeEntry();
+                        trabajo.generadas.incrementAndGet();
+                    }
+                }
+            }
+            
+            trabajo.finalizar("COMPLETADO", null);
+            long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+            log.info("Libretas generadas: {} de {} estudiantes ({} con error) en {} ms, paralelismo {}",
+                trabajo.generadas.get(), trabajo.total, trabajo.errores.get(), duracionMs, paralelismo);
+        } catch (IOException | RuntimeException e) {
+            log.error("Error al generar las libretas de notas del trabajo {}", trabajo.id, e);
+            trabajo.eliminarZip();
+            trabajo.finalizar("FALLIDO", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            trabajo.eliminarZip();
+            trabajo.finalizar("FALLIDO", "Generación interrumpida");
+        } finally {
+            pool.shutdownNow();
+            enEjecucion.set(false);
+        }
+    }
+    
+    // Siguiente libreta terminada; null si falló (el error se cuenta y el trabajo continúa)
+    private Libreta esperar(CompletionService<Libreta> completadas, Trabajo trabajo) throws InterruptedException {
+        try {
+            return completadas.take().get();
+        } catch (ExecutionException e) {
+            trabajo.errores.incrementAndGet();
+            log.warn("No se pudo generar una libreta del trabajo {}: {}", trabajo.id, e.getCause().getMessage());
+            return null;
+        }
+    }
+    
+    private Libreta generarLibreta(Estudiante estudiante, Formato formato) {
+        // Notas del estudiante en el periodo actual con su estado académico por curso
+        List<NotaResponseDTO> notas = new ArrayList<>();
+        String cursor = null;
+        do {
+            PaginaCursor<NotaResponseDTO> pagina = notaService.obtenerPaginaNotasPorIdEstudiante(
+                estudiante.getIdEstudiante(), null, cursor, NotaService.TAMANIO_PAGINA_MAXIMO);
+            notas.addAll(pagina.getContenido());
+            cursor = pagina.getSiguienteCursor();
+        } while (cursor != null);
+        notaService.completarEstadosAcademicos(notas);
+        
+        Map<Integer, List<NotaResponseDTO>> porCurso = new LinkedHashMap<>();
+        for (NotaResponseDTO nota : notas) {
+            porCurso.computeIfAbsent(nota.getIdCurso(), id -> new ArrayList<>()).add(nota);
+        }
+        Map<Integer, Double> promedios = new LinkedHashMap<>();
+        for (Integer idCurso : porCurso.keySet()) {
+            promedios.put(idCurso, notaService.calcularPromedioPorEstudianteYCurso(estudiante.getIdEstudiante(), idCurso));
+        }
+        Double promedioGeneral = notaService.calcularPromedioPorEstudiante(estudiante.getIdEstudiante(), null);
+        
+        String contenido = formato == Formato.HTML
+            ? generarHtml(estudiante, porCurso, promedios, promedioGeneral)
+            : generarCsv(estudiante, porCurso, promedios, promedioGeneral);
+        // El código se sanea para usarlo como nombre de archivo; el ID evita entradas repetidas en el ZIP
+        // cuando dos códigos quedan iguales tras sanearlos
+        String codigo = estudiante.getCodigoEstudiante() != null
+            ? estudiante.getCodigoEstudiante().replaceAll("[^A-Za-z0-9_-]", "_") + "_"
+            : "";
+        return new Libreta("libreta_" + codigo + estudiante.getIdEstudiante() + "." + formato.name().toLowerCase(Locale.ROOT),
+            contenido.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static String generarHtml(Estudiante estudiante, Map<Integer, List<NotaResponseDTO>> porCurso,
+                                      Map<Integer, Double> promedios, Double promedioGeneral) {
+        StringBuilder html = new StringBuilder(4096);
+        html.append("<!DOCTYPE html>\n<html lang=\"es\">\n<head>\n<meta charset=\"UTF-8\">\n<title>Libreta de notas - ")
+            .append(html(estudiante.getApellidos())).append(", ").append(html(estudiante.getNombres()))
+            .append("</title>\n</head>\n<body>\n<h1>Libreta de notas</h1>\n<p><strong>Estudiante:</strong> ")
+            .append(html(estudiante.getApellidos())).append(", ").append(html(estudiante.getNombres()))
+            .append("<br><strong>Código:</strong> ").append(html(estudiante.getCodigoEstudiante())).append("</p>\n");
+        
+        if (porCurso.isEmpty()) {
+            html.append("<p>Sin notas registradas.</p>\n");
+        }
+        porCurso.forEach((idCurso, notas) -> {
+            NotaResponseDTO primera = notas.get(0);
+            html.append("<h2>").append(html(primera.getNombreCurso())).append(" (").append(html(primera.getCodigoCurso()))
+                .append(")</h2>\n<table border=\"1\" cellpadding=\"4\">\n")
+                .append("<tr><th>Tipo de evaluación</th><th>Nota</th><th>Fecha</th><th>Observaciones</th></tr>\n");
+            for (NotaResponseDTO nota : notas) {
+                html.append("<tr><td>").append(html(nota.getTipoEvaluacion()))
+                    .append("</td><td>").append(nota.getNota())
+                    .append("</td><td>").append(nota.getFechaRegistro() != null ? nota.getFechaRegistro().format(FORMATO_FECHA) : "")
+                    .append("</td><td>").append(html(nota.getObservaciones())).append("</td></tr>\n");
+            }
+            html.append("</table>\n<p><strong>Promedio:</strong> ").append(formatearPromedio(promedios.get(idCurso)))
+                .append(" &mdash; ").append(html(primera.getEstadoAcademico())).append("</p>\n");
+        });
+        
+        html.append("<h2>Promedio general: ").append(formatearPromedio(promedioGeneral)).append(" &mdash; ")
+            .append(NotaService.clasificarEstadoAcademico(promedioGeneral)).append("</h2>\n</body>\n</html>\n");
+        return html.toString();
+    }
+    
+    private static String generarCsv(Estudiante estudiante, Map<Integer, List<NotaResponseDTO>> porCurso,
+                                     Map<Integer, Double> promedios, Double promedioGeneral) {
+        StringBuilder csv = new StringBuilder(2048);
+        csv.append("codigo_estudiante,estudiante,codigo_curso,curso,tipo_evaluacion,nota,fecha_registro,observaciones,promedio_curso,estado_academico\n");
+        String codigo = csv(estudiante.getCodigoEstudiante());
+        String nombre = csv(estudiante.getApellidos() + ", " + estudiante.getNombres());
+        porCurso.forEach((idCurso, notas) -> {
+            String promedio = formatearPromedio(promedios.get(idCurso));
+            for (NotaResponseDTO nota : notas) {
+                csv.append(codigo).append(',').append(nombre)
+                    .append(',').append(csv(nota.getCodigoCurso()))
+                    .append(',').append(csv(nota.getNombreCurso()))
+                    .append(',').append(csv(nota.getTipoEvaluacion()))
+                    .append(',').append(nota.getNota())
+                    .append(',').append(nota.getFechaRegistro() != null ? nota.getFechaRegistro().toLocalDate() : "")
+                    .append(',').append(csv(nota.getObservaciones()))
+                    .append(',').append(promedio)
+                    .append(',').append(csv(nota.getEstadoAcademico())).append('\n');
+            }
+        });
+        csv.append(codigo).append(',').append(nombre).append(",,PROMEDIO GENERAL,,,,,")
+            .append(formatearPromedio(promedioGeneral)).append(',')
+            .append(NotaService.clasificarEstadoAcademico(promedioGeneral)).append('\n');
+        return csv.toString();
+    }
+    
+    private static String formatearPromedio(Double promedio) {
+        return String.format(Locale.ROOT, "%.2f", promedio != null ? promedio : 0.0);
+    }
+    
+    private static String html(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        return texto.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+    
+    private static String csv(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        if (texto.indexOf(',') < 0 && texto.indexOf('"') < 0 && texto.indexOf('\n') < 0 && texto.indexOf('\r') < 0) {
+            return texto;
+        }
+        return '"' + texto.replace("\"", "\"\"") + '"';
+    }
+    
+    private void eliminarTrabajosAntiguos() {
+        int sobrantes = trabajos.size() - MAXIMO_TRABAJOS;
+        Iterator<Trabajo> iterador = trabajos.values().iterator();
+        while (sobrantes > 0 && iterador.hasNext()) {
+            Trabajo antiguo = iterador.next();
+            if (!"EN_PROCESO".equals(antiguo.estado)) {
+                antiguo.eliminarZip();
+                iterador.remove();
+                sobrantes--;
+            }
+        }
+    }
+    
+    private record Libreta(String nombreArchivo, byte[] contenido) {
+    }
+    
+    // Descarga en curso del ZIP de un trabajo
+    @Getter
+    public final class DescargaZip implements Closeable {
+        
+        private final Trabajo trabajo;
+        private final InputStream entrada;
+        private final long tamanio;
+        private boolean cerrada;
+        
+        private DescargaZip(Trabajo trabajo, InputStream entrada, long tamanio) {
+            this.trabajo = trabajo;
+            this.entrada = entrada;
+            this.tamanio = tamanio;
+        }
+        
+        @Override
+        public void close() throws IOException {
+            try {
+                entrada.close();
+            } finally {
+                synchronized (trabajos) {
+                    if (!cerrada) {
+                        cerrada = true;
+                        trabajo.descargas--;
+                        if (trabajo.descargas == 0 && trabajo.eliminarAlTerminarDescargas) {
+                            trabajo.eliminarZip();
+                        }
+                    }
+                }
+            }
+        }
+    }
+    
+    private static final class Trabajo {
+        
+        private final String id;
+        private final Formato formato;
+        private final LocalDateTime fechaInicio = LocalDateTime.now();
+        private final AtomicInteger generadas = new AtomicInteger();
+        private final AtomicInteger errores = new AtomicInteger();
+        private volatile int total;
+        private volatile String estado = "EN_PROCESO";
+        private volatile LocalDateTime fechaFin;
+        private volatile String mensaje;
+        private volatile Path zip;
+        // Descargas abiertas del ZIP y eliminación aplazada hasta que terminen (protegidos por trabajos)
+        private int descargas;
+        private boolean eliminarAlTerminarDescargas;
+        
+        private Trabajo(String id, Formato formato) {
+            this.id = id;
+            this.formato = formato;
+        }
+        
+        private void finalizar(String estadoFinal, String causa) {
+            mensaje = causa;
+            fechaFin = LocalDateTime.now();
+            estado = estadoFinal;
+        }
+        
+        // Eliminar el ZIP; con descargas en curso se elimina cuando termina la última
+        private void eliminarZip() {
+            Path archivo = zip;
+            if (archivo == null) {
+                return;
+            }
+            if (descargas > 0) {
+                eliminarAlTerminarDescargas = true;
+                return;
+            }
+            try {
+                Files.deleteIfExists(archivo);
+            } catch (IOException e) {
+                log.warn("No se pudo eliminar el ZIP de libretas {}: {}", archivo, e.getMessage());
+            }
+        }
+        
+        private TrabajoLibretasDTO aDTO() {
+            int procesadas = generadas.get() + errores.get();
+            Long tamanio = null;
+            if ("COMPLETADO".equals(estado)) {
+                try {
+                    tamanio = Files.size(zip);
+                } catch (IOException e) {
+                    tamanio = null;
+                }
+            }
+            return TrabajoLibretasDTO.builder()
+                .idTrabajo(id)
+                .estado(estado)
+                .formato(formato.name())
+                .totalEstudiantes(total)
+                .libretasGeneradas(generadas.get())
+                .libretasConError(errores.get())
+                .porcentaje(total > 0 ? Math.round(procesadas * 1000.0 / total) / 10.0 : 0.0)
+                .fechaInicio(fechaInicio)
+                .fechaFin(fechaFin)
+                .tamanioBytes(tamanio)
+                .mensaje(mensaje)
+                .build();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package edu.college.gestion_notas_backend.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import edu.college.gestion_notas_backend.event.ConsumidorEventosNota;
+import edu.college.gestion_notas_backend.event.NotaCambiadaEvent;
+import edu.college.gestion_notas_backend.repository.NotaRepository;
+import lombok.RequiredArgsConstructor;
+
+// Ranking acotado de las mejores notas por curso y periodo.
+// Se carga con una consulta LIMIT y luego se mantiene incrementalmente con cada cambio de nota;
+// si un cambio saca a una nota del ranking de un curso con más notas que la capacidad, el curso se invalida.
+@Component
+@RequiredArgsConstructor
+public class MejoresNotasCache implements ConsumidorEventosNota {
+    
+    // Notas guardadas por curso y máximo de cursos en memoria
+    public static final int CAPACIDAD_POR_CURSO = 50;
+    private static final int MAXIMO_CURSOS = 1000;
+    
+    // Mejor nota primero; a igual nota, la registrada antes
+    private static final Comparator<Entrada> ORDEN = Comparator
+        .comparing(Entrada::nota, Comparator.reverseOrder())
+        .thenComparing(Entrada::idNota);
+    
+    private final NotaRepository notaRepository;
+    
+    private final Map<Clave, Ranking> rankings = new ConcurrentHashMap<>();
+    
+    // Contador de cambios por curso y periodo: evita guardar una carga que se cruzó con un cambio
+    private final Map<Clave, Long> versiones = new ConcurrentHashMap<>();
+    
+    // IDs de las mejores notas de un curso en un periodo (limite <= CAPACIDAD_POR_CURSO)
+    public List<Integer> obtenerIdsMejores(Integer idCurso, Integer idPeriodo, int limite) {
+        Clave clave = new Clave(idCurso, idPeriodo);
+        Ranking ranking = rankings.get(clave);
+        if (ranking == null) {
+            ranking = cargar(clave);
+        }
+        synchronized (ranking) {
+            List<Integer> ids = new ArrayList<>(Math.min(limite, ranking.entradas.size()));
+            Iterator<Entrada> iterador = ranking.entradas.iterator();
+            while (iterador.hasNext() && ids.size() < limite) {
+                ids.add(iterador.next().idNota());
+            }
+            return ids;
+        }
+    }
+    
+    // Aplicar un cambio de nota confirmado
+    @Override
+    public void alCambiarNota(NotaCambiadaEvent evento) {
+        Clave clave = new Clave(evento.getIdCurso(), evento.getIdPeriodo());
+        versiones.merge(clave, 1L, Long::sum);
+        
+        Ranking ranking = rankings.get(clave);
+        if (ranking == null) {
+            return;
+        }
+        if (evento.getIdNota() == null) {
+            // Sin ID no se puede ubicar la nota en el ranking: se vuelve a cargar el curso cuando se consulte
+            rankings.remove(clave);
+            return;
+        }
+        
+        synchronized (ranking) {
+            boolean valido = switch (evento.getTipo()) {
+                case CREADA -> ranking.insertar(new Entrada(evento.getIdNota(), evento.getNotaNueva()));
+                case ACTUALIZADA -> ranking.reemplazar(evento.getIdNota(), evento.getNotaAnterior(), evento.getNotaNueva());
+                case ELIMINADA -> ranking.retirar(new Entrada(evento.getIdNota(), evento.getNotaAnterior()));
+            };
+            if (!valido) {
+                rankings.remove(clave, ranking);
+            }
+        }
+    }
+    
+    private Ranking cargar(Clave clave) {
+        Long version = versiones.get(clave);
+        List<Object[]> filas = notaRepository.findTopGradeIdsByCourse(clave.idCurso(), clave.idPeriodo(),
+            Limit.of(CAPACIDAD_POR_CURSO));
+        
+        Ranking ranking = new Ranking(filas.size() < CAPACIDAD_POR_CURSO);
+        for (Object[] fila : filas) {
+            ranking.entradas.add(new Entrada((Integer) fila[0], (BigDecimal) fila[1]));
+        }
+        
+        // Solo se guarda si no hubo cambios en el curso durante la carga
+        if (Objects.equals(version, versiones.get(clave))) {
+            if (rankings.size() >= MAXIMO_CURSOS) {
+                rankings.keySet().stream().findAny().ifPresent(rankings::remove);
+            }
+            rankings.put(clave, ranking);
+        }
+        return ranking;
+    }
+    
+    private record Clave(Integer idCurso, Integer idPeriodo) {
+    }
+    
+    private record Entrada(Integer idNota, BigDecimal nota) {
+    }
+    
+    // Mejores notas de un curso. "completo" indica que el curso no tiene más notas que las guardadas.
+    private static class Ranking {
+        private final TreeSet<Entrada> entradas = new TreeSet<>(ORDEN);
+        private boolean completo;
+        
+        Ranking(boolean completo) {
+            this.completo = completo;
+        }
+        
+        // Insertar y descartar la peor si se supera la capacidad
+        boolean insertar(Entrada entrada) {
+            if (!completo && entradas.size() >= CAPACIDAD_POR_CURSO
+                    && ORDEN.compare(entrada, entradas.last()) > 0) {
+                return true;
+            }
+            entradas.add(entrada);
+            if (entradas.size() > CAPACIDAD_POR_CURSO) {
+                entradas.pollLast();
+                completo = false;
+            }
+            return true;
+        }
+        
+        boolean reemplazar(Integer idNota, BigDecimal anterior, BigDecimal nueva) {
+            boolean estaba = entradas.remove(new Entrada(idNota, anterior));
+            if (estaba && !completo && (entradas.isEmpty()
+                    || ORDEN.compare(new Entrada(idNota, nueva), entradas.last()) > 0)) {
+                // Bajó por debajo del ranking y no sabemos qué nota ocupa su lugar
+                return false;
+            }
+            return insertar(new Entrada(idNota, nueva));
+        }
+        
+        boolean retirar(Entrada entrada) {
+            return !entradas.remove(entrada) || completo;
+        }
+    }
+}
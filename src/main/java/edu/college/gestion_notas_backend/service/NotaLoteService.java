@@ -0,0 +1,249 @@
+package edu.college.gestion_notas_backend.service;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import edu.college.gestion_notas_backend.dto.request.CrearNotaDTO;
+import edu.college.gestion_notas_backend.dto.response.ResultadoLoteNotasDTO;
+import edu.college.gestion_notas_backend.event.NotaCambiadaEvent;
+import edu.college.gestion_notas_backend.model.Nota;
+import edu.college.gestion_notas_backend.repository.CursoRepository;
+import edu.college.gestion_notas_backend.repository.EstudianteRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// Registro masivo de notas (cierre de bimestre).
+// Valida todas las filas, resuelve estudiantes y cursos con una consulta IN cada uno
+// e inserta las filas válidas con INSERT multi-fila dentro de una sola transacción.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotaLoteService {
+    
+    public static final int MAXIMO_NOTAS_POR_LOTE = 20000;
+    
+    // Filas por INSERT multi-fila (6 parámetros por fila) y máximo de IDs por consulta IN
+    private static final int FILAS_POR_SENTENCIA = 500;
+    private static final int IDS_POR_CONSULTA = 1000;
+    
+    private static final BigDecimal NOTA_MINIMA = BigDecimal.ZERO;
+    private static final BigDecimal NOTA_MAXIMA = new BigDecimal("20.00");
+    
+    private static final String INSERTAR_NOTA =
+        "INSERT INTO nota (id_estudiante, id_curso, nota, tipo_evaluacion, fecha_registro, observaciones, id_periodo) VALUES ";
+    private static final String VALORES_NOTA = "(?, ?, ?, ?, ?, ?, ?)";
+    
+    private final EstudianteRepository estudianteRepository;
+    private final CursoRepository cursoRepository;
+    private final ResumenNotaService resumenNotaService;
+    private final JdbcTemplate jdbcTemplate;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PeriodoAcademicoService periodoAcademicoService;
+    
+    // Crear notas en lote; las filas inválidas se informan y no impiden registrar las demás
+    @Transactional
+    public ResultadoLoteNotasDTO crearNotasEnLote(List<CrearNotaDTO> notas) {
+        long inicio = System.nanoTime();
+        if (notas.size() > MAXIMO_NOTAS_POR_LOTE) {
+            throw new IllegalArgumentException("El lote no puede superar " + MAXIMO_NOTAS_POR_LOTE + " notas");
+        }
+        
+        List<ResultadoLoteNotasDTO.ErrorFila> errores = new ArrayList<>();
+        Set<Integer> idsEstudiantes = new HashSet<>();
+        Set<Integer> idsCursos = new HashSet<>();
+        Map<Integer, Nota.TipoEvaluacion> tipos = new HashMap<>();
+        
+        // 1. Validación de cada fila (anotaciones del DTO, rango 0-20 y tipo de evaluación)
+        for (int i = 0; i < notas.size(); i++) {
+            CrearNotaDTO dto = notas.get(i);
+            String error = validarFila(dto);
+            if (error == null) {
+                try {
+                    tipos.put(i, Nota.TipoEvaluacion.valueOf(dto.getTipoEvaluacion().toUpperCase()));
+                    idsEstudiantes.add(dto.getIdEstudiante());
+                    idsCursos.add(dto.getIdCurso());
+                } catch (IllegalArgumentException e) {
+                    error = "Tipo de evaluación inválido: " + dto.getTipoEvaluacion();
+                }
+            }
+            if (error != null) {
+                errores.add(new ResultadoLoteNotasDTO.ErrorFila(i, error));
+            }
+        }
+        
+        // 2. Resolución de estudiantes y cursos referenciados
+        Set<Integer> estudiantesExistentes = idsExistentes(idsEstudiantes, estudianteRepository::findExistingIds);
+        Map<Integer, Integer> periodosPorCurso = periodosPorCurso(idsCursos);
+        
+        List<Integer> filasValidas = new ArrayList<>();
+        for (Integer i : tipos.keySet().stream().sorted().collect(Collectors.toList())) {
+            CrearNotaDTO dto = notas.get(i);
+            if (!estudiantesExistentes.contains(dto.getIdEstudiante())) {
+                errores.add(new ResultadoLoteNotasDTO.ErrorFila(i, "Estudiante no encontrado con ID: " + dto.getIdEstudiante()));
+            } else if (!periodosPorCurso.containsKey(dto.getIdCurso())) {
+                errores.add(new ResultadoLoteNotasDTO.ErrorFila(i, "Curso no encontrado con ID: " + dto.getIdCurso()));
+            } else {
+                filasValidas.add(i);
+            }
+        }
+        
+        // 3. Inserción con los IDs generados de cada fila
+        Timestamp fechaRegistro = Timestamp.valueOf(LocalDateTime.now());
+        Map<Integer, Integer> idsNotas = insertarNotas(notas, filasValidas, tipos, periodosPorCurso, fechaRegistro);
+        
+        // 4. Resúmenes por (estudiante, curso), un ajuste por par
+        actualizarResumenes(notas, filasValidas);
+        
+        // 5. Eventos de cambio (se entregan después del commit)
+        String usuario = UsuarioActual.obtener();
+        LocalDateTime fecha = fechaRegistro.toLocalDateTime();
+        for (Integer i : filasValidas) {
+            CrearNotaDTO dto = notas.get(i);
+            eventPublisher.publishEvent(NotaCambiadaEvent.builder()
+                .tipo(NotaCambiadaEvent.Tipo.CREADA)
+                .idNota(idsNotas.get(i))
+                .idEstudiante(dto.getIdEstudiante())
+                .idCurso(dto.getIdCurso())
+                .idPeriodo(periodosPorCurso.get(dto.getIdCurso()))
+                .version(0L)
+                .notaNueva(dto.getNota())
+                .tipoEvaluacionNueva(tipos.get(i))
+                .observacionesNueva(dto.getObservaciones())
+                .usuario(usuario)
+                .fecha(fecha)
+                .build());
+        }
+        
+        errores.sort((a, b) -> Integer.compare(a.getIndice(), b.getIndice()));
+        long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+        log.info("Lote de notas procesado: {} recibidas, {} creadas, {} con error en {} ms",
+            notas.size(), filasValidas.size(), errores.size(), duracionMs);
+        
+        return ResultadoLoteNotasDTO.builder()
+            .recibidas(notas.size())
+            .creadas(filasValidas.size())
+            .duracionMs(duracionMs)
+            .errores(errores)
+            .build();
+    }
+    
+    // INSERT ... VALUES (...), (...) RETURNING id_nota por bloques (SQLite y PostgreSQL).
+    // Los IDs de una sentencia se asignan en el orden de VALUES; el orden de RETURNING no está garantizado,
+    // así que se ordenan antes de emparejarlos con las filas. Devuelve índice de fila -> ID de la nota.
+    private Map<Integer, Integer> insertarNotas(List<CrearNotaDTO> notas, List<Integer> filasValidas,
+                                                Map<Integer, Nota.TipoEvaluacion> tipos, Map<Integer, Integer> periodosPorCurso,
+                                                Timestamp fechaRegistro) {
+        Map<Integer, Integer> ids = new HashMap<>();
+        for (int desde = 0; desde < filasValidas.size(); desde += FILAS_POR_SENTENCIA) {
+            List<Integer> bloque = filasValidas.subList(desde, Math.min(desde + FILAS_POR_SENTENCIA, filasValidas.size()));
+            String sql = INSERTAR_NOTA + String.join(", ", Collections.nCopies(bloque.size(), VALORES_NOTA))
+                + " RETURNING id_nota";
+            List<Integer> generados = jdbcTemplate.query(sql, ps -> {
+                int parametro = 1;
+                for (Integer i : bloque) {
+                    CrearNotaDTO dto = notas.get(i);
+                    ps.setInt(parametro++, dto.getIdEstudiante());
+                    ps.setInt(parametro++, dto.getIdCurso());
+                    ps.setBigDecimal(parametro++, dto.getNota());
+                    ps.setString(parametro++, tipos.get(i).name());
+                    ps.setTimestamp(parametro++, fechaRegistro);
+                    ps.setString(parametro++, dto.getObservaciones());
+                    ps.setInt(parametro++, periodosPorCurso.get(dto.getIdCurso()));
+                }
+            }, (rs, fila) -> rs.getInt(1));
+            if (generados.size() != bloque.size()) {
+                throw new IllegalStateException("Se esperaban " + bloque.size() + " IDs generados y se obtuvieron " + generados.size());
+            }
+            Collections.sort(generados);
+            for (int k = 0; k < bloque.size(); k++) {
+                ids.put(bloque.get(k), generados.get(k));
+            }
+        }
+        return ids;
+    }
+    
+    private String validarFila(CrearNotaDTO dto) {
+        if (dto == null) {
+            return "Fila vacía";
+        }
+        Set<ConstraintViolation<CrearNotaDTO>> violaciones = validator.validate(dto);
+        if (!violaciones.isEmpty()) {
+            return violaciones.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+        }
+        if (dto.getNota().compareTo(NOTA_MINIMA) < 0 || dto.getNota().compareTo(NOTA_MAXIMA) > 0) {
+            return "La nota debe estar entre 0.00 y 20.00";
+        }
+        return null;
+    }
+    
+    private Set<Integer> idsExistentes(Set<Integer> ids, Function<Collection<Integer>, List<Integer>> consulta) {
+        Set<Integer> existentes = new HashSet<>();
+        List<Integer> lista = new ArrayList<>(ids);
+        for (int i = 0; i < lista.size(); i += IDS_POR_CONSULTA) {
+            existentes.addAll(consulta.apply(lista.subList(i, Math.min(i + IDS_POR_CONSULTA, lista.size()))));
+        }
+        return existentes;
+    }
+    
+    // Periodo de cada curso existente; la nota se registra en el periodo de su curso (o en el actual)
+    private Map<Integer, Integer> periodosPorCurso(Set<Integer> idsCursos) {
+        Integer periodoActual = null;
+        Map<Integer, Integer> periodos = new HashMap<>();
+        List<Integer> lista = new ArrayList<>(idsCursos);
+        for (int i = 0; i < lista.size(); i += IDS_POR_CONSULTA) {
+            for (Object[] fila : cursoRepository.findPeriodosByIds(lista.subList(i, Math.min(i + IDS_POR_CONSULTA, lista.size())))) {
+                Integer idPeriodo = (Integer) fila[1];
+                if (idPeriodo == null) {
+                    if (periodoActual == null) {
+                        periodoActual = periodoAcademicoService.obtenerIdPeriodoActual();
+                    }
+                    idPeriodo = periodoActual;
+                }
+                periodos.put((Integer) fila[0], idPeriodo);
+            }
+        }
+        return periodos;
+    }
+    
+    private void actualizarResumenes(List<CrearNotaDTO> notas, List<Integer> filasValidas) {
+        Map<String, List<CrearNotaDTO>> porPar = filasValidas.stream()
+            .map(notas::get)
+            .collect(Collectors.groupingBy(dto -> NotaService.claveEstudianteCurso(dto.getIdEstudiante(), dto.getIdCurso())));
+        
+        for (List<CrearNotaDTO> grupo : porPar.values()) {
+            BigDecimal suma = BigDecimal.ZERO;
+            BigDecimal minima = null;
+            BigDecimal maxima = null;
+            for (CrearNotaDTO dto : grupo) {
+                suma = suma.add(dto.getNota());
+                minima = minima == null || dto.getNota().compareTo(minima) < 0 ? dto.getNota() : minima;
+                maxima = maxima == null || dto.getNota().compareTo(maxima) > 0 ? dto.getNota() : maxima;
+            }
+            CrearNotaDTO primera = grupo.get(0);
+            resumenNotaService.registrarNotas(primera.getIdEstudiante(), primera.getIdCurso(),
+                suma, grupo.size(), minima, maxima);
+        }
+    }
+}
@@ -2,15 +2,27 @@ package edu.college.gestion_notas_backend.service;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import edu.college.gestion_notas_backend.dto.response.NotaResponseDTO;
+import edu.college.gestion_notas_backend.event.NotaCambiadaEvent;
+import edu.college.gestion_notas_backend.exception.VersionNotaConflictoException;
 import edu.college.gestion_notas_backend.model.Curso;
 import edu.college.gestion_notas_backend.model.Estudiante;
 import edu.college.gestion_notas_backend.model.Nota;
+import edu.college.gestion_notas_backend.model.ResumenNota;
 import edu.college.gestion_notas_backend.repository.NotaRepository;
 import lombok.RequiredArgsConstructor;
 
@@ -19,7 +31,18 @@ import lombok.RequiredArgsConstructor;
 @Transactional
 public class NotaService {
     
+    // Máximo de estudiantes por consulta IN al calcular estados en bloque
+    private static final int TAMANIO_LOTE_ESTADOS = 1000;
+    
+    // Tamaños de página para los listados paginados por cursor
+    public static final int TAMANIO_PAGINA_POR_DEFECTO = 100;
+    public static final int TAMANIO_PAGINA_MAXIMO = 500;
+    
     private final NotaRepository notaRepository;
+    private final ResumenNotaService resumenNotaService;
+    private final MejoresNotasCache mejoresNotasCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PeriodoAcademicoService periodoAcademicoService;
     
     // Crear nota
     public Nota crearNota(Nota nota) {
@@ -34,8 +57,32 @@ public class NotaService {
             nota.setTipoEvaluacion(Nota.TipoEvaluacion.PARCIAL);
         }
         nota.setFechaRegistro(LocalDateTime.now());
+        // La nota pertenece al periodo de su curso
+        if (nota.getPeriodo() == null) {
+            nota.setPeriodo(nota.getCurso().getPeriodo() != null
+                ? nota.getCurso().getPeriodo()
+                : periodoAcademicoService.obtenerPeriodoParaAsignar(null));
+        }
         
-        return notaRepository.save(nota);
+        Nota notaGuardada = notaRepository.save(nota);
+        resumenNotaService.registrarNota(
+            notaGuardada.getEstudiante().getIdEstudiante(),
+            notaGuardada.getCurso().getIdCurso(),
+            notaGuardada.getNota());
+        eventPublisher.publishEvent(NotaCambiadaEvent.builder()
+            .tipo(NotaCambiadaEvent.Tipo.CREADA)
+            .idNota(notaGuardada.getIdNota())
+            .idEstudiante(notaGuardada.getEstudiante().getIdEstudiante())
+            .idCurso(notaGuardada.getCurso().getIdCurso())
+            .idPeriodo(idPeriodo(notaGuardada))
+            .version(notaGuardada.getVersion())
+            .notaNueva(notaGuardada.getNota())
+            .tipoEvaluacionNueva(notaGuardada.getTipoEvaluacion())
+            .observacionesNueva(notaGuardada.getObservaciones())
+            .usuario(UsuarioActual.obtener())
+            .fecha(LocalDateTime.now())
+            .build());
+        return notaGuardada;
     }
     
     // Obtener todas las notas
@@ -50,6 +97,12 @@ public class NotaService {
         return notaRepository.findById(id);
     }
     
+    // Obtener nota por ID como DTO (una sola consulta con estudiante y curso)
+    @Transactional(readOnly = true)
+    public Optional<NotaResponseDTO> obtenerNotaDTOPorId(Integer id) {
+        return notaRepository.findDtoById(id);
+    }
+    
     // Obtener notas por estudiante
     @Transactional(readOnly = true)
     public List<Nota> obtenerNotasPorEstudiante(Estudiante estudiante) {
@@ -92,25 +145,29 @@ public class NotaService {
         return notaRepository.findByEstudianteAndTipoEvaluacion(estudiante, tipoEvaluacion);
     }
     
-    // Calcular promedio por estudiante
+    // Calcular promedio por estudiante en un periodo (el actual si es null)
     @Transactional(readOnly = true)
-    public Double calcularPromedioPorEstudiante(Integer idEstudiante) {
-        Double promedio = notaRepository.findAverageGradeByStudent(idEstudiante);
-        return promedio != null ? promedio : 0.0;
+    public Double calcularPromedioPorEstudiante(Integer idEstudiante, Integer idPeriodo) {
+        return resumenNotaService.calcularPromedioPorEstudiante(idEstudiante, periodoAcademicoService.resolverIdPeriodo(idPeriodo));
     }
     
-    // Calcular promedio por curso
+    // Calcular promedio por curso en un periodo (el actual si es null)
     @Transactional(readOnly = true)
-    public Double calcularPromedioPorCurso(Integer idCurso) {
-        Double promedio = notaRepository.findAverageGradeByCourse(idCurso);
-        return promedio != null ? promedio : 0.0;
+    public Double calcularPromedioPorCurso(Integer idCurso, Integer idPeriodo) {
+        return resumenNotaService.calcularPromedioPorCurso(idCurso, periodoAcademicoService.resolverIdPeriodo(idPeriodo));
     }
     
     // Calcular promedio por estudiante y curso
     @Transactional(readOnly = true)
     public Double calcularPromedioPorEstudianteYCurso(Integer idEstudiante, Integer idCurso) {
-        Double promedio = notaRepository.findAverageGradeByStudentAndCourse(idEstudiante, idCurso);
-        return promedio != null ? promedio : 0.0;
+        return resumenNotaService.calcularPromedioPorEstudianteYCurso(idEstudiante, idCurso);
+    }
+    
+    // Calcular promedio por estudiante y curso en un periodo (el actual si es null)
+    @Transactional(readOnly = true)
+    public Double calcularPromedioPorEstudianteYCurso(Integer idEstudiante, Integer idCurso, Integer idPeriodo) {
+        return resumenNotaService.calcularPromedioPorEstudianteYCurso(idEstudiante, idCurso,
+            periodoAcademicoService.resolverIdPeriodo(idPeriodo));
     }
     
     // Obtener notas aprobatorias (>= 11)
@@ -125,44 +182,196 @@ public class NotaService {
         return notaRepository.findNotasWithMinGrade(notaMinima);
     }
     
-    // Obtener mejores notas por curso
+    // Obtener página de todas las notas
     @Transactional(readOnly = true)
-    public List<Nota> obtenerMejoresNotasPorCurso(Integer idCurso, int limite) {
-        List<Nota> notas = notaRepository.findTopGradesByCourse(idCurso);
-        return notas.size() > limite ? notas.subList(0, limite) : notas;
+    public PaginaCursor<NotaResponseDTO> obtenerPaginaNotas(Integer idPeriodo, String cursor, Integer tamanio) {
+        CursorNota desde = CursorNota.decodificar(cursor);
+        int limite = normalizarTamanioPagina(tamanio);
+        Integer periodo = periodoAcademicoService.resolverIdPeriodo(idPeriodo);
+        return PaginaCursor.desde(
+            notaRepository.findPageAfter(periodo, desde.getFechaRegistro(), desde.getIdNota(), Limit.of(limite + 1)),
+            limite, CursorNota::despuesDe);
     }
     
-    // Actualizar nota
-    public Nota actualizarNota(Integer id, Nota notaActualizada) {
-        Nota nota = notaRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Nota no encontrada con ID: " + id));
+    // Obtener página de notas por ID de estudiante
+    @Transactional(readOnly = true)
+    public PaginaCursor<NotaResponseDTO> obtenerPaginaNotasPorIdEstudiante(Integer idEstudiante, Integer idPeriodo, String cursor, Integer tamanio) {
+        CursorNota desde = CursorNota.decodificar(cursor);
+        int limite = normalizarTamanioPagina(tamanio);
+        Integer periodo = periodoAcademicoService.resolverIdPeriodo(idPeriodo);
+        return PaginaCursor.desde(
+            notaRepository.findPageByEstudianteAfter(periodo, idEstudiante, desde.getFechaRegistro(), desde.getIdNota(), Limit.of(limite + 1)),
+            limite, CursorNota::despuesDe);
+    }
+    
+    // Obtener página de notas por ID de curso
+    @Transactional(readOnly = true)
+    public PaginaCursor<NotaResponseDTO> obtenerPaginaNotasPorIdCurso(Integer idCurso, Integer idPeriodo, String cursor, Integer tamanio) {
+        CursorNota desde = CursorNota.decodificar(cursor);
+        int limite = normalizarTamanioPagina(tamanio);
+        Integer periodo = periodoAcademicoService.resolverIdPeriodo(idPeriodo);
+        return PaginaCursor.desde(
+            notaRepository.findPageByCursoAfter(periodo, idCurso, desde.getFechaRegistro(), desde.getIdNota(), Limit.of(limite + 1)),
+            limite, CursorNota::despuesDe);
+    }
+    
+    // Obtener página de notas por tipo de evaluación
+    @Transactional(readOnly = true)
+    public PaginaCursor<NotaResponseDTO> obtenerPaginaNotasPorTipoEvaluacion(Nota.TipoEvaluacion tipoEvaluacion, Integer idPeriodo, String cursor, Integer tamanio) {
+        CursorNota desde = CursorNota.decodificar(cursor);
+        int limite = normalizarTamanioPagina(tamanio);
+        Integer periodo = periodoAcademicoService.resolverIdPeriodo(idPeriodo);
+        return PaginaCursor.desde(
+            notaRepository.findPageByTipoEvaluacionAfter(periodo, tipoEvaluacion, desde.getFechaRegistro(), desde.getIdNota(), Limit.of(limite + 1)),
+            limite, CursorNota::despuesDe);
+    }
+    
+    // Obtener página de notas aprobatorias (>= 11)
+    @Transactional(readOnly = true)
+    public PaginaCursor<NotaResponseDTO> obtenerPaginaNotasAprobatorias(Integer idPeriodo, String cursor, Integer tamanio) {
+        CursorNota desde = CursorNota.decodificar(cursor);
+        int limite = normalizarTamanioPagina(tamanio);
+        Integer periodo = periodoAcademicoService.resolverIdPeriodo(idPeriodo);
+        return PaginaCursor.desde(
+            notaRepository.findPageWithMinGradeAfter(periodo, new BigDecimal("11.00"), desde.getFechaRegistro(), desde.getIdNota(), Limit.of(limite + 1)),
+            limite, CursorNota::despuesDe);
+    }
+    
+    // Obtener mejores notas por curso en un periodo (el actual si es null)
+    @Transactional(readOnly = true)
+    public List<NotaResponseDTO> obtenerMejoresNotasPorCurso(Integer idCurso, Integer idPeriodo, int limite) {
+        int tamanio = normalizarTamanioPagina(limite);
+        Integer periodo = periodoAcademicoService.resolverIdPeriodo(idPeriodo);
+        if (tamanio > MejoresNotasCache.CAPACIDAD_POR_CURSO) {
+            return notaRepository.findTopGradesByCourse(idCurso, periodo, Limit.of(tamanio));
+        }
         
+        // Se respeta el orden del ranking al recuperar las notas por ID
+        List<Integer> ids = mejoresNotasCache.obtenerIdsMejores(idCurso, periodo, tamanio);
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Integer, NotaResponseDTO> porId = new HashMap<>();
+        for (NotaResponseDTO nota : notaRepository.findDtosByIds(ids)) {
+            porId.put(nota.getIdNota(), nota);
+        }
+        List<NotaResponseDTO> notas = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            NotaResponseDTO nota = porId.get(id);
+            if (nota != null) {
+                notas.add(nota);
+            }
+        }
+        return notas;
+    }
+    
+    // Actualizar nota con una sola sentencia condicional a la versión: con If-Match decide la versión
+    // esperada por el cliente; sin él, la versión leída, con un reintento si otra escritura se cruza.
+    // Solo cuando no cambia ninguna fila se consulta si la nota existe (404) o cambió de versión (412/409)
+    public NotaResponseDTO actualizarNota(Integer id, Nota notaActualizada, Long versionEsperada) {
         // Validar que la nota esté en rango válido
         if (notaActualizada.getNota().compareTo(BigDecimal.ZERO) < 0 || 
             notaActualizada.getNota().compareTo(new BigDecimal("20.00")) > 0) {
             throw new RuntimeException("La nota debe estar entre 0.00 y 20.00");
         }
         
+        // Valores anteriores para el resumen y la auditoría (la proyección también sirve de respuesta);
+        // no se comparan con If-Match: eso lo resuelve la sentencia UPDATE
+        NotaResponseDTO nota = notaRepository.findDtoById(id).orElse(null);
+        Long version = versionEsperada;
+        int filas = 0;
+        if (nota != null) {
+            if (version == null) {
+                version = nota.getVersion();
+            }
+            // No actualizamos fechaRegistro para mantener el historial
+            filas = actualizarSiVersion(id, version, notaActualizada);
+            if (filas == 0 && versionEsperada == null) {
+                // Otra escritura se cruzó entre la lectura y la actualización; el cliente no fijó versión
+                nota = notaRepository.findDtoById(id).orElse(null);
+                if (nota != null) {
+                    version = nota.getVersion();
+                    filas = actualizarSiVersion(id, version, notaActualizada);
+                }
+            }
+        }
+        if (filas == 0) {
+            Long versionActual = notaRepository.findVersionById(id)
+                    .orElseThrow(() -> new RuntimeException("Nota no encontrada con ID: " + id));
+            throw new VersionNotaConflictoException(id, versionActual, versionEsperada != null);
+        }
+        if (!version.equals(nota.getVersion())) {
+            // If-Match coincidió con una versión posterior a la lectura: los valores anteriores leídos
+            // no son los reemplazados, así que se revierte
+            throw new VersionNotaConflictoException(id, version, true);
+        }
+        
+        BigDecimal notaAnterior = nota.getNota();
+        Nota.TipoEvaluacion tipoAnterior = nota.getTipoEvaluacion() != null
+            ? Nota.TipoEvaluacion.valueOf(nota.getTipoEvaluacion())
+            : null;
+        String observacionesAnterior = nota.getObservaciones();
+        resumenNotaService.reemplazarNota(
+            nota.getIdEstudiante(),
+            nota.getIdCurso(),
+            notaAnterior,
+            notaActualizada.getNota());
+        eventPublisher.publishEvent(NotaCambiadaEvent.builder()
+            .tipo(NotaCambiadaEvent.Tipo.ACTUALIZADA)
+            .idNota(id)
+            .idEstudiante(nota.getIdEstudiante())
+            .idCurso(nota.getIdCurso())
+            .idPeriodo(nota.getIdPeriodo())
+            .version(version + 1)
+            .notaAnterior(notaAnterior)
+            .notaNueva(notaActualizada.getNota())
+            .tipoEvaluacionAnterior(tipoAnterior)
+            .tipoEvaluacionNueva(notaActualizada.getTipoEvaluacion())
+            .observacionesAnterior(observacionesAnterior)
+            .observacionesNueva(notaActualizada.getObservaciones())
+            .usuario(UsuarioActual.obtener())
+            .fecha(LocalDateTime.now())
+            .build());
+        
         nota.setNota(notaActualizada.getNota());
-        nota.setTipoEvaluacion(notaActualizada.getTipoEvaluacion());
+        nota.setTipoEvaluacion(notaActualizada.getTipoEvaluacion() != null ? notaActualizada.getTipoEvaluacion().toString() : null);
         nota.setObservaciones(notaActualizada.getObservaciones());
-        // No actualizamos fechaRegistro para mantener el historial
-        
-        return notaRepository.save(nota);
+        nota.setVersion(version + 1);
+        return nota;
+    }
+    
+    private int actualizarSiVersion(Integer id, Long version, Nota notaActualizada) {
+        return notaRepository.updateIfVersionMatches(id, version,
+            notaActualizada.getNota(), notaActualizada.getTipoEvaluacion(), notaActualizada.getObservaciones());
     }
     
     // Eliminar nota
     public void eliminarNota(Integer id) {
-        if (!notaRepository.existsById(id)) {
-            throw new RuntimeException("Nota no encontrada con ID: " + id);
-        }
-        notaRepository.deleteById(id);
+        Nota nota = notaRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Nota no encontrada con ID: " + id));
+        notaRepository.delete(nota);
+        resumenNotaService.retirarNota(
+            nota.getEstudiante().getIdEstudiante(),
+            nota.getCurso().getIdCurso(),
+            nota.getNota());
+        eventPublisher.publishEvent(NotaCambiadaEvent.builder()
+            .tipo(NotaCambiadaEvent.Tipo.ELIMINADA)
+            .idNota(nota.getIdNota())
+            .idEstudiante(nota.getEstudiante().getIdEstudiante())
+            .idCurso(nota.getCurso().getIdCurso())
+            .idPeriodo(idPeriodo(nota))
+            .notaAnterior(nota.getNota())
+            .tipoEvaluacionAnterior(nota.getTipoEvaluacion())
+            .observacionesAnterior(nota.getObservaciones())
+            .usuario(UsuarioActual.obtener())
+            .fecha(LocalDateTime.now())
+            .build());
     }
     
     // Obtener estadísticas por tipo de evaluación
     @Transactional(readOnly = true)
-    public List<Object[]> obtenerEstadisticasPorTipoEvaluacion() {
-        return notaRepository.countNotasByTipoEvaluacion();
+    public List<Object[]> obtenerEstadisticasPorTipoEvaluacion(Integer idPeriodo) {
+        return notaRepository.countNotasByTipoEvaluacion(periodoAcademicoService.resolverIdPeriodo(idPeriodo));
     }
     
     // Verificar si un estudiante aprobó un curso (promedio >= 11)
@@ -176,11 +385,78 @@ public class NotaService {
     @Transactional(readOnly = true)
     public String obtenerEstadoAcademico(Integer idEstudiante, Integer idCurso) {
         Double promedio = calcularPromedioPorEstudianteYCurso(idEstudiante, idCurso);
+        return clasificarEstadoAcademico(promedio);
+    }
+    
+    // Completar el estado académico de cada fila de un listado.
+    // Usa una consulta a resumen_nota por bloque de estudiantes en lugar de un AVG por nota.
+    // Un par sin resumen conserva el estado por defecto (DESAPROBADO).
+    @Transactional(readOnly = true)
+    public List<NotaResponseDTO> completarEstadosAcademicos(List<NotaResponseDTO> notas) {
+        Map<String, String> estados = obtenerEstadosAcademicos(notas);
+        String porDefecto = clasificarEstadoAcademico(null);
+        for (NotaResponseDTO nota : notas) {
+            nota.setEstadoAcademico(estados.getOrDefault(claveEstudianteCurso(nota.getIdEstudiante(), nota.getIdCurso()), porDefecto));
+        }
+        return notas;
+    }
+    
+    private Map<String, String> obtenerEstadosAcademicos(Collection<NotaResponseDTO> notas) {
+        Set<String> pares = new HashSet<>();
+        Set<Integer> idsEstudiantes = new HashSet<>();
+        Set<Integer> idsCursos = new HashSet<>();
+        for (NotaResponseDTO nota : notas) {
+            Integer idEstudiante = nota.getIdEstudiante();
+            Integer idCurso = nota.getIdCurso();
+            pares.add(claveEstudianteCurso(idEstudiante, idCurso));
+            idsEstudiantes.add(idEstudiante);
+            idsCursos.add(idCurso);
+        }
+        
+        Map<String, String> estados = new HashMap<>();
+        if (pares.isEmpty()) {
+            return estados;
+        }
+        
+        List<Integer> estudiantes = new ArrayList<>(idsEstudiantes);
+        for (int i = 0; i < estudiantes.size(); i += TAMANIO_LOTE_ESTADOS) {
+            List<Integer> lote = estudiantes.subList(i, Math.min(i + TAMANIO_LOTE_ESTADOS, estudiantes.size()));
+            for (ResumenNota resumen : resumenNotaService.obtenerResumenes(lote, idsCursos)) {
+                String clave = claveEstudianteCurso(resumen.getIdEstudiante(), resumen.getIdCurso());
+                // La consulta devuelve el producto cruzado de estudiantes y cursos; solo nos interesan los pares pedidos
+                if (pares.contains(clave)) {
+                    estados.put(clave, clasificarEstadoAcademico(resumen.getPromedio()));
+                }
+            }
+        }
+        return estados;
+    }
+    
+    // Aplicar el tamaño de página por defecto y el máximo permitido
+    public static int normalizarTamanioPagina(Integer tamanio) {
+        if (tamanio == null) {
+            return TAMANIO_PAGINA_POR_DEFECTO;
+        }
+        return Math.max(1, Math.min(tamanio, TAMANIO_PAGINA_MAXIMO));
+    }
+    
+    // Clave del mapa de estados académicos
+    public static String claveEstudianteCurso(Integer idEstudiante, Integer idCurso) {
+        return idEstudiante + "-" + idCurso;
+    }
+    
+    private static Integer idPeriodo(Nota nota) {
+        return nota.getPeriodo() != null ? nota.getPeriodo().getIdPeriodo() : null;
+    }
+    
+    // Clasificar un promedio en su estado académico
+    public static String clasificarEstadoAcademico(Double promedio) {
+        double valor = promedio != null ? promedio : 0.0;
         
-        if (promedio >= 18.0) return "EXCELENTE";
-        else if (promedio >= 16.0) return "MUY BUENO";
-        else if (promedio >= 14.0) return "BUENO";
-        else if (promedio >= 11.0) return "REGULAR";
+        if (valor >= 18.0) return "EXCELENTE";
+        else if (valor >= 16.0) return "MUY BUENO";
+        else if (valor >= 14.0) return "BUENO";
+        else if (valor >= 11.0) return "REGULAR";
         else return "DESAPROBADO";
     }
 }
\ No newline at end of file
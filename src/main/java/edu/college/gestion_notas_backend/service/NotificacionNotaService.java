@@ -0,0 +1,181 @@
+package edu.college.gestion_notas_backend.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import edu.college.gestion_notas_backend.dto.response.CambioNotaDTO;
+import edu.college.gestion_notas_backend.event.ConsumidorEventosNota;
+import edu.college.gestion_notas_backend.event.NotaCambiadaEvent;
+import edu.college.gestion_notas_backend.model.Nota;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+// Stream de cambios de notas por estudiante (Server-Sent Events), para no tener que consultar
+// /notas/estudiante/{id} cada pocos segundos. Cada suscriptor tiene su propio hilo virtual que espera en
+// una cola pequeña y escribe en su conexión: un suscriptor inactivo solo ocupa un hilo virtual estacionado,
+// y un cliente lento no retrasa a los demás ni al consumidor del bus.
+@Service
+@Slf4j
+public class NotificacionNotaService implements ConsumidorEventosNota {
+    
+    // Cambios pendientes por suscriptor; si se llena, el cliente es desconectado y debe reconectarse
+    private static final int CAPACIDAD_COLA = 64;
+    
+    private final long tiempoMaximoMs;
+    private final long intervaloLatidoMs;
+    private final int maximoSuscriptores;
+    
+    private final Map<Integer, Set<Suscriptor>> suscriptores = new ConcurrentHashMap<>();
+    private final AtomicInteger activos = new AtomicInteger();
+    
+    public NotificacionNotaService(@Value("${notas.sse.tiempo-maximo-ms:1800000}") long tiempoMaximoMs,
+                                   @Value("${notas.sse.intervalo-latido-ms:25000}") long intervaloLatidoMs,
+                                   @Value("${notas.sse.maximo-suscriptores:50000}") int maximoSuscriptores) {
+        this.tiempoMaximoMs = tiempoMaximoMs;
+        this.intervaloLatidoMs = intervaloLatidoMs;
+        this.maximoSuscriptores = maximoSuscriptores;
+    }
+    
+    // Abrir un stream con los cambios de notas de un estudiante
+    public SseEmitter suscribir(Integer idEstudiante) {
+        if (activos.incrementAndGet() > maximoSuscriptores) {
+            activos.decrementAndGet();
+            throw new IllegalStateException("Se alcanzó el máximo de suscriptores");
+        }
+        SseEmitter emisor = crearEmisor(tiempoMaximoMs);
+        Suscriptor suscriptor = new Suscriptor(idEstudiante, emisor);
+        suscriptores.compute(idEstudiante, (id, conjunto) -> {
+            Set<Suscriptor> nuevo = conjunto != null ? conjunto : ConcurrentHashMap.newKeySet();
+            nuevo.add(suscriptor);
+            return nuevo;
+        });
+        emisor.onCompletion(suscriptor::cerrar);
+        emisor.onTimeout(suscriptor::cerrar);
+        emisor.onError(error -> suscriptor.cerrar());
+        suscriptor.hilo = Thread.ofVirtual().name("sse-estudiante-" + idEstudiante).start(suscriptor);
+        return emisor;
+    }
+    
+    // Suscriptores conectados
+    public int obtenerSuscriptoresActivos() {
+        return activos.get();
+    }
+    
+    @Override
+    public void alCambiarNota(NotaCambiadaEvent evento) {
+        Set<Suscriptor> conjunto = suscriptores.get(evento.getIdEstudiante());
+        if (conjunto == null) {
+            return;
+        }
+        CambioNotaDTO cambio = convertir(evento);
+        for (Suscriptor suscriptor : conjunto) {
+            if (!suscriptor.cola.offer(cambio)) {
+                log.warn("Suscriptor del estudiante {} desconectado por no consumir sus eventos", evento.getIdEstudiante());
+                suscriptor.finalizar();
+            }
+        }
+    }
+    
+    // Cerrar los streams al apagar; se ejecuta después de que el bus entregó los eventos pendientes
+    @PreDestroy
+    public void alCerrar() {
+        List<Suscriptor> todos = new ArrayList<>();
+        suscriptores.values().forEach(todos::addAll);
+        todos.forEach(Suscriptor::finalizar);
+    }
+    
+    // Separado para poder observar los envíos sin un contenedor de servlets
+    SseEmitter crearEmisor(long tiempoMaximoMs) {
+        return new SseEmitter(tiempoMaximoMs);
+    }
+    
+    private static CambioNotaDTO convertir(NotaCambiadaEvent evento) {
+        boolean eliminada = evento.getTipo() == NotaCambiadaEvent.Tipo.ELIMINADA;
+        Nota.TipoEvaluacion tipoEvaluacion = eliminada ? evento.getTipoEvaluacionAnterior() : evento.getTipoEvaluacionNueva();
+        return CambioNotaDTO.builder()
+            .tipo(evento.getTipo().name())
+            .idNota(evento.getIdNota())
+            .idEstudiante(evento.getIdEstudiante())
+            .idCurso(evento.getIdCurso())
+            .notaAnterior(evento.getNotaAnterior())
+            .notaNueva(evento.getNotaNueva())
+            .tipoEvaluacion(tipoEvaluacion != null ? tipoEvaluacion.name() : null)
+            .observaciones(eliminada ? evento.getObservacionesAnterior() : evento.getObservacionesNueva())
+            .fecha(evento.getFecha())
+            .build();
+    }
+    
+    private final class Suscriptor implements Runnable {
+        
+        private final Integer idEstudiante;
+        private final SseEmitter emisor;
+        private final BlockingQueue<CambioNotaDTO> cola = new ArrayBlockingQueue<>(CAPACIDAD_COLA);
+        private final AtomicBoolean cerrado = new AtomicBoolean();
+        private volatile Thread hilo;
+        
+        private Suscriptor(Integer idEstudiante, SseEmitter emisor) {
+            this.idEstudiante = idEstudiante;
+            this.emisor = emisor;
+        }
+        
+        @Override
+        public void run() {
+            try {
+                // Envía las cabeceras de inmediato para que el cliente sepa que está conectado
+                emisor.send(SseEmitter.event().comment("conectado"));
+                while (!cerrado.get()) {
+                    CambioNotaDTO cambio = cola.poll(intervaloLatidoMs, TimeUnit.MILLISECONDS);
+                    if (cambio == null) {
+                        // Mantiene viva la conexión a través de proxies que cortan las inactivas
+                        emisor.send(SseEmitter.event().comment("latido"));
+                    } else {
+                        emisor.send(SseEmitter.event().name(cambio.getTipo()).data(cambio, MediaType.APPLICATION_JSON));
+                    }
+                }
+            } catch (InterruptedException e) {
+                // Cierre solicitado por finalizar()
+            } catch (IOException | IllegalStateException e) {
+                // El cliente se desconectó; el contenedor completa el emisor
+                log.debug("Stream del estudiante {} cerrado: {}", idEstudiante, e.getMessage());
+            } finally {
+                cerrar();
+            }
+        }
+        
+        // Quitar el suscriptor del registro (idempotente)
+        private void cerrar() {
+            if (!cerrado.compareAndSet(false, true)) {
+                return;
+            }
+            suscriptores.computeIfPresent(idEstudiante, (id, conjunto) -> {
+                conjunto.remove(this);
+                return conjunto.isEmpty() ? null : conjunto;
+            });
+            activos.decrementAndGet();
+            Thread actual = hilo;
+            if (actual != null && actual != Thread.currentThread()) {
+                actual.interrupt();
+            }
+        }
+        
+        // Cerrar desde el servidor: el cliente recibe el fin del stream y puede reconectarse
+        private void finalizar() {
+            cerrar();
+            emisor.complete();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package edu.college.gestion_notas_backend.service;
+
+import java.util.List;
+import java.util.function.Function;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Página de resultados con el cursor de la siguiente página (null si es la última)
+@Getter
+@AllArgsConstructor
+public class PaginaCursor<T> {
+    
+    private final List<T> contenido;
+    private final String siguienteCursor;
+    
+    // Construir la página a partir de una consulta que pidió tamanio + 1 filas
+    public static <T> PaginaCursor<T> desde(List<T> filas, int tamanio, Function<T, CursorNota> cursorDe) {
+        if (filas.size() <= tamanio) {
+            return new PaginaCursor<>(filas, null);
+        }
+        List<T> contenido = filas.subList(0, tamanio);
+        return new PaginaCursor<>(contenido, cursorDe.apply(contenido.get(tamanio - 1)).codificar());
+    }
+}
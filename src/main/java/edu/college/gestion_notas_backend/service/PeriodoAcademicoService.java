@@ -0,0 +1,144 @@
+package edu.college.gestion_notas_backend.service;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import edu.college.gestion_notas_backend.model.PeriodoAcademico;
+import edu.college.gestion_notas_backend.repository.CursoRepository;
+import edu.college.gestion_notas_backend.repository.NotaRepository;
+import edu.college.gestion_notas_backend.repository.PeriodoAcademicoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// Periodos académicos. Las consultas de notas y cursos se limitan al periodo actual cuando no se indica otro,
+// así los índices que empiezan por id_periodo solo recorren las filas del periodo en curso.
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class PeriodoAcademicoService {
+    
+    private final PeriodoAcademicoRepository periodoAcademicoRepository;
+    private final CursoRepository cursoRepository;
+    private final NotaRepository notaRepository;
+    private final VersionesColecciones versionesColecciones;
+    
+    // ID del periodo actual, consultado en cada lectura; se descarta al cambiar el periodo actual
+    private volatile Integer idPeriodoActual;
+    
+    // Crear el periodo inicial y asignarle los cursos y notas registrados antes de existir los periodos.
+    // Se ejecuta antes que DataInitializer, que ya crea cursos y notas en el periodo actual.
+    @EventListener(ContextRefreshedEvent.class)
+    public void inicializarPeriodos() {
+        if (periodoAcademicoRepository.count() > 0) {
+            return;
+        }
+        int anio = Year.now().getValue();
+        PeriodoAcademico inicial = periodoAcademicoRepository.save(PeriodoAcademico.builder()
+            .codigo(String.valueOf(anio))
+            .nombre("Periodo " + anio)
+            .fechaInicio(LocalDate.of(anio, 1, 1))
+            .fechaFin(LocalDate.of(anio, 12, 31))
+            .actual(true)
+            .build());
+        int cursos = cursoRepository.assignPeriodoWhereMissing(inicial);
+        int notas = notaRepository.assignPeriodoWhereMissing(inicial);
+        log.info("Periodo académico inicial {} creado; asignados {} cursos y {} notas", inicial.getCodigo(), cursos, notas);
+    }
+    
+    // Obtener todos los periodos, del más reciente al más antiguo
+    @Transactional(readOnly = true)
+    public List<PeriodoAcademico> obtenerTodosLosPeriodos() {
+        return periodoAcademicoRepository.findAllByOrderByFechaInicioDesc();
+    }
+    
+    // Obtener periodo por ID
+    @Transactional(readOnly = true)
+    public Optional<PeriodoAcademico> obtenerPeriodoPorId(Integer idPeriodo) {
+        return periodoAcademicoRepository.findById(idPeriodo);
+    }
+    
+    // Obtener el periodo actual
+    @Transactional(readOnly = true)
+    public Optional<PeriodoAcademico> obtenerPeriodoActual() {
+        return periodoAcademicoRepository.findById(obtenerIdPeriodoActual());
+    }
+    
+    // ID del periodo actual
+    @Transactional(readOnly = true)
+    public Integer obtenerIdPeriodoActual() {
+        Integer id = idPeriodoActual;
+        if (id == null) {
+            id = periodoAcademicoRepository.findFirstByActualTrue()
+                .map(PeriodoAcademico::getIdPeriodo)
+                .orElseThrow(() -> new RuntimeException("No hay un periodo académico actual"));
+            idPeriodoActual = id;
+        }
+        return id;
+    }
+    
+    // El periodo indicado o, si es null, el actual
+    @Transactional(readOnly = true)
+    public Integer resolverIdPeriodo(Integer idPeriodo) {
+        return idPeriodo != null ? idPeriodo : obtenerIdPeriodoActual();
+    }
+    
+    // Periodo al que se asigna un curso nuevo: el indicado (debe existir) o el actual
+    @Transactional(readOnly = true)
+    public PeriodoAcademico obtenerPeriodoParaAsignar(Integer idPeriodo) {
+        if (idPeriodo == null) {
+            return periodoAcademicoRepository.getReferenceById(obtenerIdPeriodoActual());
+        }
+        return periodoAcademicoRepository.findById(idPeriodo)
+            .orElseThrow(() -> new RuntimeException("Periodo académico no encontrado con ID: " + idPeriodo));
+    }
+    
+    // Crear periodo
+    public PeriodoAcademico crearPeriodo(PeriodoAcademico periodo) {
+        if (periodo.getFechaFin().isBefore(periodo.getFechaInicio())) {
+            throw new RuntimeException("La fecha de fin no puede ser anterior a la fecha de inicio");
+        }
+        if (periodoAcademicoRepository.findByCodigo(periodo.getCodigo()).isPresent()) {
+            throw new RuntimeException("Ya existe un periodo con el código: " + periodo.getCodigo());
+        }
+        if (Boolean.TRUE.equals(periodo.getActual())) {
+            periodoAcademicoRepository.clearActual();
+            descartarPeriodoActual();
+        } else {
+            periodo.setActual(false);
+        }
+        return periodoAcademicoRepository.save(periodo);
+    }
+    
+    // Marcar un periodo como el actual
+    public PeriodoAcademico marcarComoActual(Integer idPeriodo) {
+        PeriodoAcademico periodo = periodoAcademicoRepository.findById(idPeriodo)
+            .orElseThrow(() -> new RuntimeException("Periodo académico no encontrado con ID: " + idPeriodo));
+        periodoAcademicoRepository.clearActual();
+        periodo.setActual(true);
+        descartarPeriodoActual();
+        return periodoAcademicoRepository.save(periodo);
+    }
+    
+    // El ID en memoria se descarta al terminar la transacción, confirmada o no.
+    // Los listados sin periodo explícito cambian de contenido, por eso cambian todas las versiones.
+    private void descartarPeriodoActual() {
+        idPeriodoActual = null;
+        versionesColecciones.modificarTodo();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int estado) {
+                idPeriodoActual = null;
+            }
+        });
+    }
+}
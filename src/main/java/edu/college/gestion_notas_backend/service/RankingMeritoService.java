@@ -0,0 +1,239 @@
+package edu.college.gestion_notas_backend.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import edu.college.gestion_notas_backend.dto.response.PaginaRankingDTO;
+import edu.college.gestion_notas_backend.dto.response.RankingMeritoDTO;
+import edu.college.gestion_notas_backend.exception.RankingEnProcesoException;
+import edu.college.gestion_notas_backend.model.Estudiante;
+import edu.college.gestion_notas_backend.model.PosicionRanking;
+import edu.college.gestion_notas_backend.model.RankingMerito;
+import edu.college.gestion_notas_backend.repository.EstudianteRepository;
+import edu.college.gestion_notas_backend.repository.PosicionRankingRepository;
+import edu.college.gestion_notas_backend.repository.RankingMeritoRepository;
+import edu.college.gestion_notas_backend.repository.ResumenNotaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// Orden de mérito: promedio ponderado por créditos de cada estudiante en todos sus cursos.
+// El cálculo reparte los estudiantes entre los núcleos disponibles y el resultado se guarda como
+// una versión inmutable que el endpoint de consulta pagina sin volver a calcular.
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class RankingMeritoService {
+    
+    // Versiones que se conservan; las anteriores se eliminan al generar una nueva
+    private static final int MAXIMO_VERSIONES = 5;
+    private static final int FILAS_POR_BATCH = 500;
+    
+    private static final String INSERTAR_POSICION =
+        "INSERT INTO posicion_ranking (id_ranking, posicion, puesto, id_estudiante, promedio_ponderado, creditos, cursos) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    
+    // Mayor promedio primero; a igual promedio, por ID de estudiante para que el orden sea estable
+    private static final Comparator<Promedio> ORDEN = Comparator
+        .comparing(Promedio::promedio, Comparator.reverseOrder())
+        .thenComparing(Promedio::idEstudiante);
+    
+    private final ResumenNotaRepository resumenNotaRepository;
+    private final RankingMeritoRepository rankingMeritoRepository;
+    private final PosicionRankingRepository posicionRankingRepository;
+    private final EstudianteRepository estudianteRepository;
+    private final JdbcTemplate jdbcTemplate;
+    
+    private final AtomicBoolean enEjecucion = new AtomicBoolean();
+    
+    // Generar una nueva versión del orden de mérito
+    public RankingMeritoDTO generarRanking() {
+        if (!enEjecucion.compareAndSet(false, true)) {
+            throw new RankingEnProcesoException();
+        }
+        try {
+            long inicio = System.nanoTime();
+            
+            // Filas (idEstudiante, suma, cantidad, créditos) ordenadas por estudiante
+            List<Object[]> filas = resumenNotaRepository.findCreditWeightedRows();
+            int particiones = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), filas.size() / 1000 + 1));
+            List<Promedio> promedios = calcularEnParalelo(filas, particiones);
+            promedios.sort(ORDEN);
+            
+            RankingMerito ranking = rankingMeritoRepository.save(RankingMerito.builder()
+                .fechaGeneracion(LocalDateTime.now())
+                .totalEstudiantes(promedios.size())
+                .duracionMs(0L)
+                .build());
+            guardarPosiciones(ranking.getIdRanking(), promedios);
+            
+            ranking.setDuracionMs((System.nanoTime() - inicio) / 1_000_000);
+            rankingMeritoRepository.save(ranking);
+            eliminarVersionesAntiguas();
+            
+            log.info("Orden de mérito v{} generado: {} estudiantes en {} ms ({} particiones)",
+                ranking.getIdRanking(), promedios.size(), ranking.getDuracionMs(), particiones);
+            return RankingMeritoDTO.builder()
+                .version(ranking.getIdRanking())
+                .fechaGeneracion(ranking.getFechaGeneracion())
+                .totalEstudiantes(ranking.getTotalEstudiantes())
+                .duracionMs(ranking.getDuracionMs())
+                .particiones(particiones)
+                .build();
+        } finally {
+            enEjecucion.set(false);
+        }
+    }
+    
+    // Página de una versión (la última si no se indica); pagina empieza en 0
+    @Transactional(readOnly = true)
+    public Optional<PaginaRankingDTO> obtenerPagina(Integer version, int pagina, Integer tamanio) {
+        Optional<RankingMerito> ranking = version != null
+            ? rankingMeritoRepository.findById(version)
+            : rankingMeritoRepository.findTopByOrderByIdRankingDesc();
+        if (ranking.isEmpty()) {
+            return Optional.empty();
+        }
+        
+        int limite = NotaService.normalizarTamanioPagina(tamanio);
+        int desde = Math.max(0, pagina) * limite + 1;
+        List<PosicionRanking> posiciones = posicionRankingRepository.findByIdRankingAndPosicionBetweenOrderByPosicion(
+            ranking.get().getIdRanking(), desde, desde + limite - 1);
+        
+        Map<Integer, Estudiante> estudiantes = estudianteRepository
+            .findAllById(posiciones.stream().map(PosicionRanking::getIdEstudiante).toList())
+            .stream()
+            .collect(Collectors.toMap(Estudiante::getIdEstudiante, Function.identity()));
+        
+        List<PaginaRankingDTO.Posicion> contenido = new ArrayList<>(posiciones.size());
+        for (PosicionRanking posicion : posiciones) {
+            Estudiante estudiante = estudiantes.get(posicion.getIdEstudiante());
+            contenido.add(PaginaRankingDTO.Posicion.builder()
+                .posicion(posicion.getPosicion())
+                .puesto(posicion.getPuesto())
+                .idEstudiante(posicion.getIdEstudiante())
+                .codigoEstudiante(estudiante != null ? estudiante.getCodigoEstudiante() : null)
+                .nombres(estudiante != null ? estudiante.getNombres() : null)
+                .apellidos(estudiante != null ? estudiante.getApellidos() : null)
+                .promedioPonderado(posicion.getPromedioPonderado())
+                .creditos(posicion.getCreditos())
+                .cursos(posicion.getCursos())
+                .build());
+        }
+        
+        return Optional.of(PaginaRankingDTO.builder()
+            .version(ranking.get().getIdRanking())
+            .fechaGeneracion(ranking.get().getFechaGeneracion())
+            .totalEstudiantes(ranking.get().getTotalEstudiantes())
+            .pagina(Math.max(0, pagina))
+            .tamanio(limite)
+            .posiciones(contenido)
+            .build());
+    }
+    
+    // Divide las filas en rangos que no parten a un estudiante y calcula cada rango en un hilo
+    private List<Promedio> calcularEnParalelo(List<Object[]> filas, int particiones) {
+        List<Callable<List<Promedio>>> tareas = new ArrayList<>(particiones);
+        int inicio = 0;
+        for (int p = 1; p <= particiones && inicio < filas.size(); p++) {
+            int fin = p == particiones ? filas.size() : Math.max(inicio, filas.size() * p / particiones);
+            while (fin > inicio && fin < filas.size() && filas.get(fin)[0].equals(filas.get(fin - 1)[0])) {
+                fin++;
+            }
+            if (fin > inicio) {
+                int desde = inicio;
+                int hasta = fin;
+                tareas.add(() -> calcularRango(filas, desde, hasta));
+                inicio = fin;
+            }
+        }
+        
+        ForkJoinPool pool = new ForkJoinPool(particiones);
+        try {
+            List<Promedio> promedios = new ArrayList<>();
+            for (Future<List<Promedio>> resultado : pool.invokeAll(tareas)) {
+                promedios.addAll(resultado.get());
+            }
+            return promedios;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Cálculo del orden de mérito interrumpido", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Error al calcular el orden de mérito: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    // Promedio ponderado = Σ(promedio del curso × créditos) / Σ créditos
+    private static List<Promedio> calcularRango(List<Object[]> filas, int desde, int hasta) {
+        List<Promedio> promedios = new ArrayList<>();
+        int i = desde;
+        while (i < hasta) {
+            Integer idEstudiante = (Integer) filas.get(i)[0];
+            double sumaPonderada = 0.0;
+            int creditos = 0;
+            int cursos = 0;
+            for (; i < hasta && filas.get(i)[0].equals(idEstudiante); i++) {
+                Object[] fila = filas.get(i);
+                double promedioCurso = ((BigDecimal) fila[1]).doubleValue() / ((Number) fila[2]).intValue();
+                int creditosCurso = ((Number) fila[3]).intValue();
+                sumaPonderada += promedioCurso * creditosCurso;
+                creditos += creditosCurso;
+                cursos++;
+            }
+            BigDecimal promedio = BigDecimal.valueOf(sumaPonderada / creditos).setScale(2, RoundingMode.HALF_UP);
+            promedios.add(new Promedio(idEstudiante, promedio, creditos, cursos));
+        }
+        return promedios;
+    }
+    
+    // Inserta las filas asignando posición correlativa y puesto denso
+    private void guardarPosiciones(Integer idRanking, List<Promedio> promedios) {
+        int[] puestos = new int[promedios.size()];
+        for (int i = 0; i < promedios.size(); i++) {
+            boolean empate = i > 0 && promedios.get(i).promedio().compareTo(promedios.get(i - 1).promedio()) == 0;
+            puestos[i] = i == 0 ? 1 : (empate ? puestos[i - 1] : puestos[i - 1] + 1);
+        }
+        List<Integer> indices = IntStream.range(0, promedios.size()).boxed().toList();
+        jdbcTemplate.batchUpdate(INSERTAR_POSICION, indices, FILAS_POR_BATCH, (ps, indice) -> {
+            Promedio promedio = promedios.get(indice);
+            ps.setInt(1, idRanking);
+            ps.setInt(2, indice + 1);
+            ps.setInt(3, puestos[indice]);
+            ps.setInt(4, promedio.idEstudiante());
+            ps.setBigDecimal(5, promedio.promedio());
+            ps.setInt(6, promedio.creditos());
+            ps.setInt(7, promedio.cursos());
+        });
+    }
+    
+    private void eliminarVersionesAntiguas() {
+        List<RankingMerito> versiones = rankingMeritoRepository.findAllByOrderByIdRankingDesc();
+        for (RankingMerito antigua : versiones.subList(Math.min(MAXIMO_VERSIONES, versiones.size()), versiones.size())) {
+            posicionRankingRepository.deleteByIdRanking(antigua.getIdRanking());
+            rankingMeritoRepository.delete(antigua);
+        }
+    }
+    
+    private record Promedio(Integer idEstudiante, BigDecimal promedio, int creditos, int cursos) {
+    }
+}
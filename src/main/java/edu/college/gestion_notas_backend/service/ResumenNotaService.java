@@ -0,0 +1,173 @@
+package edu.college.gestion_notas_backend.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import edu.college.gestion_notas_backend.dto.response.ConsistenciaResumenDTO;
+import edu.college.gestion_notas_backend.model.ResumenNota;
+import edu.college.gestion_notas_backend.repository.NotaRepository;
+import edu.college.gestion_notas_backend.repository.ResumenNotaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// Mantiene la tabla resumen_nota (suma, cantidad, mínimo y máximo por estudiante y curso).
+// Los métodos de escritura se llaman desde NotaService dentro de su misma transacción.
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class ResumenNotaService {
+    
+    private final ResumenNotaRepository resumenNotaRepository;
+    private final NotaRepository notaRepository;
+    
+    // Registrar una nota nueva
+    public void registrarNota(Integer idEstudiante, Integer idCurso, BigDecimal nota) {
+        registrarNotas(idEstudiante, idCurso, nota, 1, nota, nota);
+    }
+    
+    // Registrar varias notas del mismo par ya agregadas
+    public void registrarNotas(Integer idEstudiante, Integer idCurso, BigDecimal suma, int cantidad,
+                               BigDecimal minima, BigDecimal maxima) {
+        resumenNotaRepository.acumular(idEstudiante, idCurso, suma, cantidad, minima, maxima);
+    }
+    
+    // Reemplazar el valor de una nota existente
+    public void reemplazarNota(Integer idEstudiante, Integer idCurso, BigDecimal anterior, BigDecimal nueva) {
+        if (anterior.compareTo(nueva) == 0) {
+            return;
+        }
+        resumenNotaRepository.ajustar(idEstudiante, idCurso, nueva.subtract(anterior), 0);
+        resumenNotaRepository.recalcularExtremos(idEstudiante, idCurso);
+    }
+    
+    // Retirar una nota eliminada
+    public void retirarNota(Integer idEstudiante, Integer idCurso, BigDecimal nota) {
+        resumenNotaRepository.ajustar(idEstudiante, idCurso, nota.negate(), -1);
+        if (resumenNotaRepository.eliminarSiVacio(idEstudiante, idCurso) == 0) {
+            resumenNotaRepository.recalcularExtremos(idEstudiante, idCurso);
+        }
+    }
+    
+    // Obtener resumen por estudiante y curso
+    @Transactional(readOnly = true)
+    public Optional<ResumenNota> obtenerResumen(Integer idEstudiante, Integer idCurso) {
+        return resumenNotaRepository.findByIdEstudianteAndIdCurso(idEstudiante, idCurso);
+    }
+    
+    // Obtener resúmenes de varios estudiantes y cursos
+    @Transactional(readOnly = true)
+    public List<ResumenNota> obtenerResumenes(Collection<Integer> idsEstudiantes, Collection<Integer> idsCursos) {
+        return resumenNotaRepository.findByIdEstudianteInAndIdCursoIn(idsEstudiantes, idsCursos);
+    }
+    
+    // Promedio por estudiante en los cursos de un periodo
+    @Transactional(readOnly = true)
+    public Double calcularPromedioPorEstudiante(Integer idEstudiante, Integer idPeriodo) {
+        return promedio(resumenNotaRepository.sumByEstudiante(idEstudiante, idPeriodo));
+    }
+    
+    // Promedio por curso (0 si el curso no es del periodo)
+    @Transactional(readOnly = true)
+    public Double calcularPromedioPorCurso(Integer idCurso, Integer idPeriodo) {
+        return promedio(resumenNotaRepository.sumByCurso(idCurso, idPeriodo));
+    }
+    
+    // Promedio por estudiante y curso
+    @Transactional(readOnly = true)
+    public Double calcularPromedioPorEstudianteYCurso(Integer idEstudiante, Integer idCurso) {
+        return obtenerResumen(idEstudiante, idCurso)
+            .map(ResumenNota::getPromedio)
+            .orElse(0.0);
+    }
+    
+    // Promedio por estudiante y curso (0 si el curso no es del periodo)
+    @Transactional(readOnly = true)
+    public Double calcularPromedioPorEstudianteYCurso(Integer idEstudiante, Integer idCurso, Integer idPeriodo) {
+        return promedio(resumenNotaRepository.sumByEstudianteAndCurso(idEstudiante, idCurso, idPeriodo));
+    }
+    
+    // Reconstruir todos los resúmenes desde la tabla nota (reparación de desviaciones)
+    public int reconstruirResumenes() {
+        resumenNotaRepository.deleteAllInBatch();
+        int pares = resumenNotaRepository.reconstruirDesdeNotas();
+        log.info("Resúmenes de notas reconstruidos: {} pares (estudiante, curso)", pares);
+        return pares;
+    }
+    
+    // Comparar los resúmenes con los agregados calculados sobre la tabla nota
+    @Transactional(readOnly = true)
+    public ConsistenciaResumenDTO verificarConsistencia() {
+        Map<String, ResumenNota> resumenes = new HashMap<>();
+        for (ResumenNota resumen : resumenNotaRepository.findAll()) {
+            resumenes.put(NotaService.claveEstudianteCurso(resumen.getIdEstudiante(), resumen.getIdCurso()), resumen);
+        }
+        int paresEnResumen = resumenes.size();
+        
+        List<String> discrepancias = new ArrayList<>();
+        List<Object[]> agregados = notaRepository.summarizeGradesByStudentAndCourse();
+        for (Object[] fila : agregados) {
+            String clave = NotaService.claveEstudianteCurso((Integer) fila[0], (Integer) fila[1]);
+            BigDecimal suma = redondear((BigDecimal) fila[2]);
+            int cantidad = ((Number) fila[3]).intValue();
+            BigDecimal minima = redondear((BigDecimal) fila[4]);
+            BigDecimal maxima = redondear((BigDecimal) fila[5]);
+            
+            ResumenNota resumen = resumenes.remove(clave);
+            if (resumen == null) {
+                discrepancias.add(clave + ": sin resumen (" + cantidad + " notas)");
+            } else if (resumen.getCantidad() != cantidad
+                    || redondear(resumen.getSuma()).compareTo(suma) != 0
+                    || redondear(resumen.getNotaMinima()).compareTo(minima) != 0
+                    || redondear(resumen.getNotaMaxima()).compareTo(maxima) != 0) {
+                discrepancias.add(clave + ": resumen [suma=" + resumen.getSuma() + ", cantidad=" + resumen.getCantidad()
+                    + ", min=" + resumen.getNotaMinima() + ", max=" + resumen.getNotaMaxima() + "] vs notas [suma="
+                    + suma + ", cantidad=" + cantidad + ", min=" + minima + ", max=" + maxima + "]");
+            }
+        }
+        // Los resúmenes restantes no tienen notas asociadas
+        for (String clave : resumenes.keySet()) {
+            discrepancias.add(clave + ": resumen sin notas");
+        }
+        
+        return ConsistenciaResumenDTO.builder()
+            .paresEnNotas(agregados.size())
+            .paresEnResumen(paresEnResumen)
+            .consistente(discrepancias.isEmpty())
+            .discrepancias(discrepancias)
+            .build();
+    }
+    
+    // Poblar los resúmenes al arrancar si la tabla está vacía pero ya existen notas
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializarResumenes() {
+        if (resumenNotaRepository.count() == 0 && notaRepository.count() > 0) {
+            reconstruirResumenes();
+        }
+    }
+    
+    // SQLite guarda las notas como REAL; se comparan con la escala de la columna
+    private BigDecimal redondear(BigDecimal valor) {
+        return valor.setScale(2, RoundingMode.HALF_UP);
+    }
+    
+    private Double promedio(List<Object[]> filas) {
+        if (filas.isEmpty() || filas.get(0)[0] == null) {
+            return 0.0;
+        }
+        double suma = ((Number) filas.get(0)[0]).doubleValue();
+        long cantidad = ((Number) filas.get(0)[1]).longValue();
+        return cantidad > 0 ? suma / cantidad : 0.0;
+    }
+}
@@ -0,0 +1,148 @@
+package edu.college.gestion_notas_backend.service;
+
+import java.util.Arrays;
+
+// Sketch de cuantiles para notas: conteo exacto por valor en centésimas, ordenado y sin ceros.
+// Como una nota solo puede tomar 2001 valores, el tamaño está acotado y los cuantiles son exactos;
+// a diferencia de t-digest o KLL admite retirar valores (notas editadas o eliminadas).
+// Dos sketches se fusionan sumando sus conteos en un recorrido de mezcla.
+class SketchCuantiles {
+    
+    private int[] valores;
+    private long[] cantidades;
+    private int tamanio;
+    private long total;
+    
+    SketchCuantiles() {
+        this(new int[8], new long[8], 0);
+    }
+    
+    private SketchCuantiles(int[] valores, long[] cantidades, int tamanio) {
+        this.valores = valores;
+        this.cantidades = cantidades;
+        this.tamanio = tamanio;
+        for (int i = 0; i < tamanio; i++) {
+            total += cantidades[i];
+        }
+    }
+    
+    // Sumar (o restar, con delta negativo) notas de un valor
+    synchronized void agregar(int valor, long delta) {
+        int i = Arrays.binarySearch(valores, 0, tamanio, valor);
+        if (i >= 0) {
+            long nueva = Math.max(0, cantidades[i] + delta);
+            total += nueva - cantidades[i];
+            if (nueva == 0) {
+                System.arraycopy(valores, i + 1, valores, i, tamanio - i - 1);
+                System.arraycopy(cantidades, i + 1, cantidades, i, tamanio - i - 1);
+                tamanio--;
+            } else {
+                cantidades[i] = nueva;
+            }
+        } else if (delta > 0) {
+            int posicion = -(i + 1);
+            if (tamanio == valores.length) {
+                valores = Arrays.copyOf(valores, tamanio * 2);
+                cantidades = Arrays.copyOf(cantidades, tamanio * 2);
+            }
+            System.arraycopy(valores, posicion, valores, posicion + 1, tamanio - posicion);
+            System.arraycopy(cantidades, posicion, cantidades, posicion + 1, tamanio - posicion);
+            valores[posicion] = valor;
+            cantidades[posicion] = delta;
+            tamanio++;
+            total += delta;
+        }
+    }
+    
+    // Fusionar otro sketch en este
+    void fusionar(SketchCuantiles otro) {
+        SketchCuantiles copia = otro.copiar();
+        synchronized (this) {
+            int[] nuevosValores = new int[tamanio + copia.tamanio];
+            long[] nuevasCantidades = new long[nuevosValores.length];
+            int i = 0, j = 0, k = 0;
+            while (i < tamanio || j < copia.tamanio) {
+                if (j == copia.tamanio || (i < tamanio && valores[i] < copia.valores[j])) {
+                    nuevosValores[k] = valores[i];
+                    nuevasCantidades[k++] = cantidades[i++];
+                } else if (i == tamanio || copia.valores[j] < valores[i]) {
+                    nuevosValores[k] = copia.valores[j];
+                    nuevasCantidades[k++] = copia.cantidades[j++];
+                } else {
+                    nuevosValores[k] = valores[i];
+                    nuevasCantidades[k++] = cantidades[i++] + copia.cantidades[j++];
+                }
+            }
+            valores = nuevosValores;
+            cantidades = nuevasCantidades;
+            tamanio = k;
+            total += copia.total;
+        }
+    }
+    
+    // Cuantil q (0-1) por rango más cercano, en centésimas; -1 si está vacío
+    synchronized int cuantil(double q) {
+        if (total == 0) {
+            return -1;
+        }
+        long rango = Math.max(1, (long) Math.ceil(q * total));
+        long acumulado = 0;
+        for (int i = 0; i < tamanio; i++) {
+            acumulado += cantidades[i];
+            if (acumulado >= rango) {
+                return valores[i];
+            }
+        }
+        return valores[tamanio - 1];
+    }
+    
+    synchronized long total() {
+        return total;
+    }
+    
+    // Suma de los valores, en centésimas
+    synchronized long suma() {
+        long suma = 0;
+        for (int i = 0; i < tamanio; i++) {
+            suma += valores[i] * cantidades[i];
+        }
+        return suma;
+    }
+    
+    // Suma de los cuadrados de los valores, en centésimas al cuadrado
+    synchronized long sumaCuadrados() {
+        long suma = 0;
+        for (int i = 0; i < tamanio; i++) {
+            suma += (long) valores[i] * valores[i] * cantidades[i];
+        }
+        return suma;
+    }
+    
+    synchronized SketchCuantiles copiar() {
+        return new SketchCuantiles(Arrays.copyOf(valores, tamanio), Arrays.copyOf(cantidades, tamanio), tamanio);
+    }
+    
+    // Formato "centesimas:cantidad;..."
+    synchronized String serializar() {
+        StringBuilder texto = new StringBuilder(tamanio * 8);
+        for (int i = 0; i < tamanio; i++) {
+            if (i > 0) {
+                texto.append(';');
+            }
+            texto.append(valores[i]).append(':').append(cantidades[i]);
+        }
+        return texto.toString();
+    }
+    
+    static SketchCuantiles deserializar(String texto) {
+        SketchCuantiles sketch = new SketchCuantiles();
+        if (texto == null || texto.isBlank()) {
+            return sketch;
+        }
+        for (String par : texto.split(";")) {
+            int separador = par.indexOf(':');
+            sketch.agregar(Integer.parseInt(par.substring(0, separador)), Long.parseLong(par.substring(separador + 1)));
+        }
+        return sketch;
+    }
+}
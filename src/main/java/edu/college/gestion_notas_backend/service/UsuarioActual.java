@@ -0,0 +1,31 @@
+package edu.college.gestion_notas_backend.service;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+// Identifica al autor de un cambio para la auditoría.
+// Solo se confía en el usuario autenticado: cualquier dato enviado por el cliente (cabeceras, parámetros)
+// podría suplantar a otro usuario.
+final class UsuarioActual {
+    
+    static final String ANONIMO = "anónimo";
+    private static final int LONGITUD_MAXIMA = 100;
+    
+    private UsuarioActual() {
+    }
+    
+    // Usuario autenticado, o "anónimo" mientras la API no exija autenticación
+    static String obtener() {
+        Authentication autenticacion = SecurityContextHolder.getContext().getAuthentication();
+        if (autenticacion != null && autenticacion.isAuthenticated()
+                && !(autenticacion instanceof AnonymousAuthenticationToken)) {
+            return recortar(autenticacion.getName());
+        }
+        return ANONIMO;
+    }
+    
+    private static String recortar(String usuario) {
+        return usuario.length() > LONGITUD_MAXIMA ? usuario.substring(0, LONGITUD_MAXIMA) : usuario;
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.transaction.annotation.Transactional;
 import edu.college.gestion_notas_backend.exception.EmailYaExisteException;
 import edu.college.gestion_notas_backend.model.Usuario;
 import edu.college.gestion_notas_backend.repository.UsuarioRepository;
+import edu.college.gestion_notas_backend.service.VersionesColecciones.Coleccion;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -20,6 +21,8 @@ public class UsuarioService {
 
     private final UsuarioRepository usuarioRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CacheEntidades cacheEntidades;
+    private final VersionesColecciones versionesColecciones;
 
     // Crear usuario
     public Usuario crearUsuario(Usuario usuario) {
@@ -51,7 +54,7 @@ public class UsuarioService {
     // Obtener usuario por email
     @Transactional(readOnly = true)
     public Optional<Usuario> obtenerUsuarioPorEmail(String email) {
-        return usuarioRepository.findByEmail(email);
+        return usuarioRepository.findBySimpleNaturalId(email);
     }
 
     // Obtener usuarios por rol
@@ -74,6 +77,7 @@ public class UsuarioService {
 
     // Actualizar usuario
     public Usuario actualizarUsuario(Integer id, Usuario usuarioActualizado) {
+        invalidarCache(id);
         Usuario usuario = usuarioRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Usuario no encontrado con ID: " + id));
 
@@ -93,6 +97,7 @@ public class UsuarioService {
 
     // Desactivar usuario (soft delete)
     public Usuario desactivarUsuario(Integer id) {
+        invalidarCache(id);
         Usuario usuario = usuarioRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Usuario no encontrado con ID: " + id));
 
@@ -102,6 +107,7 @@ public class UsuarioService {
 
     // Activar usuario
     public Usuario activarUsuario(Integer id) {
+        invalidarCache(id);
         Usuario usuario = usuarioRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Usuario no encontrado con ID: " + id));
 
@@ -111,16 +117,27 @@ public class UsuarioService {
 
     // Eliminar usuario (hard delete)
     public void eliminarUsuario(Integer id) {
+        invalidarCache(id);
         if (!usuarioRepository.existsById(id)) {
             throw new RuntimeException("Usuario no encontrado con ID: " + id);
         }
         usuarioRepository.deleteById(id);
     }
 
+    // Docentes y estudiantes (en caché y en sus listados) muestran los datos de su usuario
+    private void invalidarCache(Integer id) {
+        versionesColecciones.modificar(Coleccion.DOCENTES);
+        versionesColecciones.modificar(Coleccion.ESTUDIANTES);
+        cacheEntidades.docentes().invalidarSi(docente ->
+            docente.getUsuario() != null && id.equals(docente.getUsuario().getIdUsuario()));
+        cacheEntidades.estudiantes().invalidarSi(estudiante ->
+            estudiante.getUsuario() != null && id.equals(estudiante.getUsuario().getIdUsuario()));
+    }
+
     // Verificar credenciales (para login básico)
     @Transactional(readOnly = true)
     public boolean verificarCredenciales(String email, String password) {
-        Optional<Usuario> usuario = usuarioRepository.findByEmail(email);
+        Optional<Usuario> usuario = usuarioRepository.findBySimpleNaturalId(email);
         
         // Usar passwordEncoder.matches() para verificar contraseñas encriptadas
         return usuario.isPresent() 
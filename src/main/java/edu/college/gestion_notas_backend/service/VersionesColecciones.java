@@ -0,0 +1,126 @@
+package edu.college.gestion_notas_backend.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import edu.college.gestion_notas_backend.event.NotaCambiadaEvent;
+
+// Contadores de versión de los listados, usados como ETag fuerte.
+// Cada escritura incrementa el contador de la colección al producirse y otra vez al terminar la transacción:
+// un listado leído mientras tanto queda con una versión que ya no es la vigente.
+// El ETag incluye el instante de arranque para que los contadores reiniciados no repitan versiones anteriores.
+@Component
+public class VersionesColecciones {
+
+    public enum Coleccion {
+        CURSOS, DOCENTES, ESTUDIANTES, NOTAS
+    }
+
+    // Sufijo del ETag de una respuesta comprimida con gzip: cada codificación necesita su propio validador fuerte
+    private static final String SUFIJO_GZIP = "-gz";
+    
+    private final long inicio = System.currentTimeMillis();
+
+    // Cambios que afectan a todos los listados (p. ej. el periodo actual)
+    private final AtomicLong general = new AtomicLong();
+    private final Map<Coleccion, AtomicLong> versiones = new ConcurrentHashMap<>();
+    private final Map<Integer, AtomicLong> notasPorCurso = new ConcurrentHashMap<>();
+
+    public VersionesColecciones() {
+        for (Coleccion coleccion : Coleccion.values()) {
+            versiones.put(coleccion, new AtomicLong());
+        }
+    }
+
+    // ETag del listado de una colección
+    public String etag(Coleccion coleccion) {
+        return "\"" + inicio + "." + general.get() + "." + versiones.get(coleccion).get() + "\"";
+    }
+
+    // ETag de las notas de un curso; incluye cursos y estudiantes porque cada fila muestra sus nombres
+    public String etagNotasCurso(Integer idCurso) {
+        return "\"" + inicio + "." + general.get()
+            + "." + versiones.get(Coleccion.CURSOS).get()
+            + "." + versiones.get(Coleccion.ESTUDIANTES).get()
+            + "." + contadorNotas(idCurso).get() + "\"";
+    }
+
+    // true si alguna de las etiquetas de If-None-Match coincide con el ETag (o es "*")
+    public static boolean noModificado(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String etiqueta : ifNoneMatch.split(",")) {
+            String valor = etiqueta.trim();
+            // If-None-Match usa comparación débil
+            if (valor.startsWith("W/")) {
+                valor = valor.substring(2);
+            }
+            if (valor.equals("*") || valor.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ETag de la variante gzip de una respuesta
+    public static String etagGzip(String etag) {
+        return etag.substring(0, etag.length() - 1) + SUFIJO_GZIP + "\"";
+    }
+    
+    // noModificado para respuestas que pueden enviarse comprimidas. Un cliente que acepta gzip puede revalidar
+    // cualquiera de las dos formas; uno que no, solo la sin comprimir. Devuelve el ETag que coincidió
+    // (el de la respuesta 304) o null
+    public static String etagNoModificado(String ifNoneMatch, String etag, boolean aceptaGzip) {
+        if (aceptaGzip && noModificado(ifNoneMatch, etagGzip(etag))) {
+            return etagGzip(etag);
+        }
+        return noModificado(ifNoneMatch, etag) ? etag : null;
+    }
+    
+    // Registrar una escritura en una colección
+    public void modificar(Coleccion coleccion) {
+        incrementar(versiones.get(coleccion));
+    }
+
+    // Registrar un cambio que afecta a todos los listados
+    public void modificarTodo() {
+        incrementar(general);
+    }
+
+    // Las notas se publican como eventos: el primero llega dentro de la transacción, el segundo tras confirmarla
+    @EventListener
+    public void alPublicarCambio(NotaCambiadaEvent evento) {
+        contadorNotas(evento.getIdCurso()).incrementAndGet();
+        versiones.get(Coleccion.NOTAS).incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alConfirmarCambio(NotaCambiadaEvent evento) {
+        contadorNotas(evento.getIdCurso()).incrementAndGet();
+        versiones.get(Coleccion.NOTAS).incrementAndGet();
+    }
+
+    private AtomicLong contadorNotas(Integer idCurso) {
+        return notasPorCurso.computeIfAbsent(idCurso, id -> new AtomicLong());
+    }
+
+    private void incrementar(AtomicLong contador) {
+        contador.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int estado) {
+                    contador.incrementAndGet();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,115 @@
+-- ========================================
+-- ESQUEMA INICIAL
+-- ========================================
+-- Equivalente al esquema que generaba ddl-auto=update. Se usa IF NOT EXISTS para que
+-- las bases creadas por Hibernate antes de las migraciones se adopten sin cambios.
+
+CREATE TABLE IF NOT EXISTS usuario (
+    id_usuario SERIAL PRIMARY KEY,
+    email VARCHAR(100) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    rol VARCHAR(20) NOT NULL,
+    activo BOOLEAN NOT NULL,
+    fecha_creacion TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS docente (
+    id_docente SERIAL PRIMARY KEY,
+    id_usuario INTEGER NOT NULL UNIQUE REFERENCES usuario (id_usuario),
+    codigo_docente VARCHAR(20) UNIQUE,
+    nombres VARCHAR(100) NOT NULL,
+    apellidos VARCHAR(100) NOT NULL,
+    telefono VARCHAR(20),
+    especialidad VARCHAR(100),
+    direccion VARCHAR(200),
+    distrito VARCHAR(100),
+    foto VARCHAR(255),
+    fecha_contratacion DATE,
+    activo BOOLEAN NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS estudiante (
+    id_estudiante SERIAL PRIMARY KEY,
+    id_usuario INTEGER NOT NULL UNIQUE REFERENCES usuario (id_usuario),
+    codigo_estudiante VARCHAR(20) UNIQUE,
+    nombres VARCHAR(100) NOT NULL,
+    apellidos VARCHAR(100) NOT NULL,
+    telefono VARCHAR(20),
+    direccion VARCHAR(200),
+    distrito VARCHAR(100),
+    foto VARCHAR(255),
+    fecha_nacimiento DATE,
+    activo BOOLEAN NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS curso (
+    id_curso SERIAL PRIMARY KEY,
+    nombre VARCHAR(100) NOT NULL,
+    codigo_curso VARCHAR(20) UNIQUE,
+    descripcion TEXT,
+    creditos INTEGER NOT NULL,
+    activo BOOLEAN NOT NULL,
+    id_docente INTEGER REFERENCES docente (id_docente)
+);
+
+CREATE TABLE IF NOT EXISTS nota (
+    id_nota SERIAL PRIMARY KEY,
+    id_estudiante INTEGER NOT NULL REFERENCES estudiante (id_estudiante),
+    id_curso INTEGER NOT NULL REFERENCES curso (id_curso),
+    nota NUMERIC(4,2) NOT NULL,
+    tipo_evaluacion VARCHAR(20),
+    fecha_registro TIMESTAMP(6) NOT NULL,
+    observaciones TEXT
+);
+
+-- Agregados por (estudiante, curso)
+CREATE TABLE IF NOT EXISTS resumen_nota (
+    id_resumen SERIAL PRIMARY KEY,
+    id_estudiante INTEGER NOT NULL,
+    id_curso INTEGER NOT NULL,
+    suma NUMERIC(10,2) NOT NULL,
+    cantidad INTEGER NOT NULL,
+    nota_minima NUMERIC(4,2) NOT NULL,
+    nota_maxima NUMERIC(4,2) NOT NULL,
+    UNIQUE (id_estudiante, id_curso)
+);
+
+-- Sketches de cuantiles por (curso, tipo de evaluación)
+CREATE TABLE IF NOT EXISTS sketch_nota (
+    id_sketch SERIAL PRIMARY KEY,
+    id_curso INTEGER NOT NULL,
+    tipo_evaluacion VARCHAR(20) NOT NULL,
+    cantidad BIGINT NOT NULL,
+    datos TEXT NOT NULL,
+    fecha_actualizacion TIMESTAMP(6) NOT NULL,
+    UNIQUE (id_curso, tipo_evaluacion)
+);
+
+-- Pesos por tipo de evaluación
+CREATE TABLE IF NOT EXISTS peso_evaluacion (
+    id_peso SERIAL PRIMARY KEY,
+    id_curso INTEGER NOT NULL,
+    tipo_evaluacion VARCHAR(20) NOT NULL,
+    peso NUMERIC(5,2) NOT NULL,
+    UNIQUE (id_curso, tipo_evaluacion)
+);
+
+-- Versiones del orden de mérito
+CREATE TABLE IF NOT EXISTS ranking_merito (
+    id_ranking SERIAL PRIMARY KEY,
+    fecha_generacion TIMESTAMP(6) NOT NULL,
+    total_estudiantes INTEGER NOT NULL,
+    duracion_ms BIGINT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS posicion_ranking (
+    id_posicion SERIAL PRIMARY KEY,
+    id_ranking INTEGER NOT NULL,
+    posicion INTEGER NOT NULL,
+    puesto INTEGER NOT NULL,
+    id_estudiante INTEGER NOT NULL,
+    promedio_ponderado NUMERIC(4,2) NOT NULL,
+    creditos INTEGER NOT NULL,
+    cursos INTEGER NOT NULL,
+    UNIQUE (id_ranking, posicion)
+);
@@ -0,0 +1,27 @@
+-- ========================================
+-- PERIODOS ACADÉMICOS
+-- ========================================
+-- El periodo inicial se crea al arrancar (PeriodoAcademicoService), que también asigna
+-- las notas y cursos existentes; por eso id_periodo admite NULL en las tablas existentes.
+
+CREATE TABLE IF NOT EXISTS periodo_academico (
+    id_periodo SERIAL PRIMARY KEY,
+    codigo VARCHAR(20) NOT NULL UNIQUE,
+    nombre VARCHAR(100) NOT NULL,
+    fecha_inicio DATE NOT NULL,
+    fecha_fin DATE NOT NULL,
+    actual BOOLEAN NOT NULL
+);
+
+ALTER TABLE curso ADD COLUMN IF NOT EXISTS id_periodo INTEGER REFERENCES periodo_academico (id_periodo);
+ALTER TABLE nota ADD COLUMN IF NOT EXISTS id_periodo INTEGER REFERENCES periodo_academico (id_periodo);
+
+-- Índices que empiezan por el periodo: las consultas del periodo actual no recorren los anteriores
+CREATE INDEX IF NOT EXISTS idx_nota_periodo_fecha ON nota (id_periodo, fecha_registro, id_nota);
+CREATE INDEX IF NOT EXISTS idx_nota_periodo_estudiante ON nota (id_periodo, id_estudiante, fecha_registro, id_nota);
+CREATE INDEX IF NOT EXISTS idx_nota_periodo_curso ON nota (id_periodo, id_curso, fecha_registro, id_nota);
+CREATE INDEX IF NOT EXISTS idx_nota_periodo_tipo ON nota (id_periodo, tipo_evaluacion, fecha_registro, id_nota);
+CREATE INDEX IF NOT EXISTS idx_curso_periodo_activo ON curso (id_periodo, activo);
+
+-- Reemplazado por idx_nota_periodo_fecha
+DROP INDEX IF EXISTS idx_nota_fecha_registro;
@@ -0,0 +1,6 @@
+-- ========================================
+-- VERSIÓN DE NOTA (bloqueo optimista)
+-- ========================================
+-- Se devuelve como ETag y se compara con If-Match al actualizar
+
+ALTER TABLE nota ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
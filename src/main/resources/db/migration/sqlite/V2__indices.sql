@@ -0,0 +1,21 @@
+-- ========================================
+-- ÍNDICES
+-- ========================================
+
+-- Promedios y estados por (estudiante, curso); también sirve para filtrar por estudiante
+CREATE INDEX IF NOT EXISTS idx_nota_estudiante_curso ON nota (id_estudiante, id_curso);
+
+-- Mejores notas por curso (ORDER BY nota DESC con LIMIT) e histogramas por curso
+CREATE INDEX IF NOT EXISTS idx_nota_curso_nota ON nota (id_curso, nota DESC);
+
+-- Listados y estadísticas por tipo de evaluación
+CREATE INDEX IF NOT EXISTS idx_nota_tipo_evaluacion ON nota (tipo_evaluacion);
+
+-- Paginación por cursor del listado general (ORDER BY fecha_registro, id_nota)
+CREATE INDEX IF NOT EXISTS idx_nota_fecha_registro ON nota (fecha_registro, id_nota);
+
+-- Cursos activos de un docente
+CREATE INDEX IF NOT EXISTS idx_curso_docente_activo ON curso (id_docente, activo);
+
+-- Usuarios por rol y estado
+CREATE INDEX IF NOT EXISTS idx_usuario_rol_activo ON usuario (rol, activo);
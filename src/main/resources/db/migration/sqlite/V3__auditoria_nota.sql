@@ -0,0 +1,25 @@
+-- ========================================
+-- AUDITORÍA DE NOTAS
+-- ========================================
+-- Historial de solo inserción de los cambios de nota (ver AuditoriaNotaService)
+
+CREATE TABLE IF NOT EXISTS auditoria_nota (
+    id_auditoria INTEGER PRIMARY KEY AUTOINCREMENT,
+    id_nota INTEGER,
+    id_estudiante INTEGER NOT NULL,
+    id_curso INTEGER NOT NULL,
+    accion VARCHAR(20) NOT NULL,
+    nota_anterior NUMERIC(4,2),
+    nota_nueva NUMERIC(4,2),
+    tipo_evaluacion_anterior VARCHAR(20),
+    tipo_evaluacion_nueva VARCHAR(20),
+    observaciones_anterior TEXT,
+    observaciones_nueva TEXT,
+    usuario VARCHAR(100) NOT NULL,
+    fecha_cambio TIMESTAMP NOT NULL
+);
+
+-- Consultas por nota, estudiante y curso, de la más reciente a la más antigua
+CREATE INDEX IF NOT EXISTS idx_auditoria_nota_nota ON auditoria_nota (id_nota, id_auditoria);
+CREATE INDEX IF NOT EXISTS idx_auditoria_nota_estudiante ON auditoria_nota (id_estudiante, id_auditoria);
+CREATE INDEX IF NOT EXISTS idx_auditoria_nota_curso ON auditoria_nota (id_curso, id_auditoria);
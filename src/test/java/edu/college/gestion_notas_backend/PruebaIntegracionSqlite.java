@@ -0,0 +1,30 @@
+package edu.college.gestion_notas_backend;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+// Base de las pruebas de integración: aplicación completa sobre una base SQLite temporal
+// con las estadísticas de Hibernate activas para contar sentencias
+@SpringBootTest
+@AutoConfigureMockMvc
+public abstract class PruebaIntegracionSqlite {
+
+	@DynamicPropertySource
+	static void baseDeDatos(DynamicPropertyRegistry registro) throws IOException {
+		Path archivo = Files.createTempFile("gestion-notas-prueba", ".db");
+		archivo.toFile().deleteOnExit();
+		registro.add("spring.datasource.url", () -> "jdbc:sqlite:" + archivo);
+		registro.add("spring.datasource.driver-class-name", () -> "org.sqlite.JDBC");
+		registro.add("spring.datasource.username", () -> "");
+		registro.add("spring.datasource.password", () -> "");
+		registro.add("spring.jpa.database-platform", () -> "org.hibernate.community.dialect.SQLiteDialect");
+		registro.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.community.dialect.SQLiteDialect");
+		registro.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+	}
+}
@@ -0,0 +1,179 @@
+package edu.college.gestion_notas_backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import edu.college.gestion_notas_backend.PruebaIntegracionSqlite;
+import edu.college.gestion_notas_backend.service.FileStorageService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Peticiones por segundo al servir una foto por tres caminos, sobre Tomcat real:
+// el archivo leído en un byte[] (como un ResponseEntity<byte[]>), ArchivoController con FileChannel.transferTo
+// y ArchivoController con sendfile. Solo se ejecuta con -Drendimiento=true.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@EnabledIfSystemProperty(named = "rendimiento", matches = "true")
+class ArchivoControllerRendimientoTest extends PruebaIntegracionSqlite {
+
+	private static final int TAMANIO_FOTO = 256 * 1024;
+	private static final int HILOS = 8;
+	private static final long CALENTAMIENTO_MS = 3_000;
+	private static final long MEDICION_MS = 5_000;
+
+	// Cabecera con la que la prueba oculta a ArchivoController el soporte de sendfile
+	private static final String CABECERA_SIN_SENDFILE = "X-Sin-Sendfile";
+
+	@LocalServerPort
+	private int puerto;
+	@Value("${server.servlet.context-path:}")
+	private String contexto;
+	@Autowired
+	private FileStorageService fileStorageService;
+
+	private final HttpClient cliente = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+	private String archivo;
+
+	@BeforeEach
+	void guardarFoto() {
+		byte[] contenido = new byte[TAMANIO_FOTO];
+		new Random(1).nextBytes(contenido);
+		archivo = fileStorageService.storeFile(
+			new MockMultipartFile("foto", "foto.jpg", MediaType.IMAGE_JPEG_VALUE, contenido), "estudiantes");
+	}
+
+	@AfterEach
+	void borrarFoto() throws IOException {
+		Files.deleteIfExists(fileStorageService.resolveFile("estudiantes", archivo).orElseThrow());
+	}
+
+	@Test
+	void peticionesPorSegundoSegunElCamino() throws Exception {
+		String bytes = "/prueba/bytes/estudiantes/" + archivo;
+		String controlador = "/uploads/estudiantes/" + archivo;
+
+		double porBytes = peticionesPorSegundo(bytes, false);
+		double porTransferTo = peticionesPorSegundo(controlador, true);
+		double porSendfile = peticionesPorSegundo(controlador, false);
+
+		System.out.printf("Foto de %d KB, %d hilos: byte[] %.0f pet/s, transferTo %.0f pet/s, sendfile %.0f pet/s%n",
+			TAMANIO_FOTO / 1024, HILOS, porBytes, porTransferTo, porSendfile);
+	}
+
+	private double peticionesPorSegundo(String ruta, boolean sinSendfile) throws Exception {
+		HttpRequest.Builder peticion = HttpRequest.newBuilder(URI.create("http://localhost:" + puerto + contexto + ruta));
+		if (sinSendfile) {
+			peticion.header(CABECERA_SIN_SENDFILE, "true");
+		}
+		ejecutar(peticion.build(), CALENTAMIENTO_MS);
+		return ejecutar(peticion.build(), MEDICION_MS) * 1000.0 / MEDICION_MS;
+	}
+
+	// Peticiones completadas por HILOS clientes concurrentes durante la duración indicada
+	private long ejecutar(HttpRequest peticion, long duracionMs) throws Exception {
+		long fin = System.currentTimeMillis() + duracionMs;
+		ExecutorService hilos = Executors.newFixedThreadPool(HILOS);
+		try {
+			List<Future<Long>> resultados = new ArrayList<>();
+			for (int i = 0; i < HILOS; i++) {
+				resultados.add(hilos.submit(() -> {
+					long completadas = 0;
+					while (System.currentTimeMillis() < fin) {
+						HttpResponse<byte[]> respuesta = cliente.send(peticion, HttpResponse.BodyHandlers.ofByteArray());
+						assertEquals(200, respuesta.statusCode(), peticion.uri().toString());
+						assertEquals(TAMANIO_FOTO, respuesta.body().length);
+						completadas++;
+					}
+					return completadas;
+				}));
+			}
+			long total = 0;
+			for (Future<Long> resultado : resultados) {
+				total += resultado.get();
+			}
+			return total;
+		} finally {
+			hilos.shutdown();
+		}
+	}
+
+	@TestConfiguration
+	static class Rutas {
+
+		@Bean
+		ArchivoEnBytes archivoEnBytes(FileStorageService fileStorageService) {
+			return new ArchivoEnBytes(fileStorageService);
+		}
+
+		@Bean
+		FilterRegistrationBean<OncePerRequestFilter> sinSendfile() {
+			return new FilterRegistrationBean<>(new OncePerRequestFilter() {
+				@Override
+				protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+						throws ServletException, IOException {
+					if (request.getHeader(CABECERA_SIN_SENDFILE) == null) {
+						chain.doFilter(request, response);
+						return;
+					}
+					chain.doFilter(new HttpServletRequestWrapper(request) {
+						@Override
+						public Object getAttribute(String nombre) {
+							return "org.apache.tomcat.sendfile.support".equals(nombre) ? null : super.getAttribute(nombre);
+						}
+					}, response);
+				}
+			});
+		}
+	}
+
+	// Camino de referencia: todo el archivo pasa por un byte[] en el heap
+	@RestController
+	static class ArchivoEnBytes {
+
+		private final FileStorageService fileStorageService;
+
+		ArchivoEnBytes(FileStorageService fileStorageService) {
+			this.fileStorageService = fileStorageService;
+		}
+
+		@GetMapping("/prueba/bytes/{carpeta}/{archivo}")
+		public ResponseEntity<byte[]> obtener(@PathVariable String carpeta, @PathVariable String archivo) throws IOException {
+			Path ruta = fileStorageService.resolveFile(carpeta, archivo).orElseThrow();
+			return ResponseEntity.ok().contentType(MediaType.IMAGE_JPEG).body(Files.readAllBytes(ruta));
+		}
+	}
+}
@@ -0,0 +1,67 @@
+package edu.college.gestion_notas_backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+
+import edu.college.gestion_notas_backend.PruebaIntegracionSqlite;
+import edu.college.gestion_notas_backend.service.VersionesColecciones;
+import edu.college.gestion_notas_backend.service.VersionesColecciones.Coleccion;
+import jakarta.persistence.EntityManagerFactory;
+
+// Sentencias de los listados de docentes y cursos con la caché de segundo nivel vacía (igual que sin caché)
+// y ya cargada. Los datos son los de DataInitializer: 3 docentes y 4 cursos de 3 docentes distintos.
+class CacheSegundoNivelSentenciasTest extends PruebaIntegracionSqlite {
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	@Autowired
+	private VersionesColecciones versionesColecciones;
+
+	@Test
+	void listadoDeDocentesCargaUsuariosDesdeLaCache() throws Exception {
+		comprobar("/docentes", Coleccion.DOCENTES, 1);
+	}
+
+	@Test
+	void docentesActivosSeResuelvenDesdeLaCacheDeConsultas() throws Exception {
+		comprobar("/docentes/activos", Coleccion.DOCENTES, 0);
+	}
+
+	@Test
+	void listadoDeCursosCargaDocentesDesdeLaCache() throws Exception {
+		comprobar("/cursos", Coleccion.CURSOS, 1);
+	}
+
+	@Test
+	void cursosActivosSeResuelvenDesdeLaCacheDeConsultas() throws Exception {
+		comprobar("/cursos/activos", Coleccion.CURSOS, 0);
+	}
+
+	private void comprobar(String ruta, Coleccion coleccion, long esperadasConCache) throws Exception {
+		entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+		long sinCache = sentencias(ruta, coleccion);
+		long conCache = sentencias(ruta, coleccion);
+
+		assertEquals(esperadasConCache, conCache, ruta + " con la caché cargada");
+		assertTrue(sinCache > conCache, ruta + ": " + sinCache + " sentencias sin caché, " + conCache + " con caché");
+	}
+
+	private long sentencias(String ruta, Coleccion coleccion) throws Exception {
+		// Nueva versión de la colección: la respuesta no sale de CacheRespuestasJson, sino de Hibernate
+		versionesColecciones.modificar(coleccion);
+		Statistics estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		estadisticas.clear();
+		mockMvc.perform(get(ruta)).andExpect(status().isOk());
+		return estadisticas.getPrepareStatementCount();
+	}
+}
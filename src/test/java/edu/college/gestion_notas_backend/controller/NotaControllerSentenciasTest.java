@@ -0,0 +1,78 @@
+package edu.college.gestion_notas_backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+
+import edu.college.gestion_notas_backend.PruebaIntegracionSqlite;
+import edu.college.gestion_notas_backend.model.Curso;
+import edu.college.gestion_notas_backend.model.Estudiante;
+import edu.college.gestion_notas_backend.model.Nota;
+import edu.college.gestion_notas_backend.repository.CursoRepository;
+import edu.college.gestion_notas_backend.repository.EstudianteRepository;
+import edu.college.gestion_notas_backend.service.NotaService;
+import jakarta.persistence.EntityManagerFactory;
+
+// GET /notas debe ejecutar las mismas sentencias con pocas o muchas notas (sin una consulta por nota)
+class NotaControllerSentenciasTest extends PruebaIntegracionSqlite {
+
+	// Página proyectada en NotaResponseDTO y consulta de resúmenes para los estados académicos
+	private static final long SENTENCIAS_LISTADO = 2;
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	@Autowired
+	private NotaService notaService;
+	@Autowired
+	private EstudianteRepository estudianteRepository;
+	@Autowired
+	private CursoRepository cursoRepository;
+
+	@Test
+	void listadoDeNotasNoCreceConLaCantidadDeNotas() throws Exception {
+		// Primera petición: carga las cachés
+		sentenciasDeListado();
+
+		registrarNotas(40);
+		assertEquals(SENTENCIAS_LISTADO, sentenciasDeListado(), "GET /notas con pocas notas");
+
+		registrarNotas(300);
+		assertEquals(SENTENCIAS_LISTADO, sentenciasDeListado(), "GET /notas con muchas notas");
+	}
+
+	// Sentencias JDBC preparadas por GET /notas con una página de hasta 500 notas
+	private long sentenciasDeListado() throws Exception {
+		Statistics estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		estadisticas.clear();
+		mockMvc.perform(get("/notas").param("tamanio", "500"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$[0].estadoAcademico").exists());
+		return estadisticas.getPrepareStatementCount();
+	}
+
+	// Notas repartidas entre todos los pares (estudiante, curso) disponibles
+	private void registrarNotas(int cantidad) {
+		List<Estudiante> estudiantes = estudianteRepository.findAll();
+		List<Curso> cursos = cursoRepository.findAll();
+		for (int i = 0; i < cantidad; i++) {
+			Nota nota = new Nota();
+			nota.setEstudiante(estudiantes.get(i % estudiantes.size()));
+			nota.setCurso(cursos.get((i / estudiantes.size()) % cursos.size()));
+			nota.setNota(BigDecimal.valueOf(i % 21));
+			nota.setTipoEvaluacion(Nota.TipoEvaluacion.TAREA);
+			notaService.crearNota(nota);
+		}
+	}
+}
@@ -0,0 +1,78 @@
+package edu.college.gestion_notas_backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import edu.college.gestion_notas_backend.dto.response.CambioNotaDTO;
+import edu.college.gestion_notas_backend.event.NotaCambiadaEvent;
+import edu.college.gestion_notas_backend.model.Nota;
+
+class NotificacionNotaServiceTest {
+
+	private static final int SUSCRIPTORES = 10_000;
+	private static final int ESTUDIANTES = 1_000;
+
+	@Test
+	void mantieneDiezMilSuscripcionesEnHilosVirtuales() throws InterruptedException {
+		CountDownLatch entregados = new CountDownLatch(SUSCRIPTORES);
+		NotificacionNotaService servicio = new NotificacionNotaService(60_000, 60_000, SUSCRIPTORES) {
+			@Override
+			SseEmitter crearEmisor(long tiempoMaximoMs) {
+				// Sin contenedor de servlets: solo se cuentan los cambios que llegarían al cliente
+				return new SseEmitter(tiempoMaximoMs) {
+					@Override
+					public void send(SseEventBuilder evento) {
+						if (evento.build().stream().anyMatch(dato -> dato.getData() instanceof CambioNotaDTO)) {
+							entregados.countDown();
+						}
+					}
+				};
+			}
+		};
+
+		int hilosPlataformaAntes = ManagementFactory.getThreadMXBean().getThreadCount();
+		try {
+			for (int i = 0; i < SUSCRIPTORES; i++) {
+				servicio.suscribir(i % ESTUDIANTES);
+			}
+			assertEquals(SUSCRIPTORES, servicio.obtenerSuscriptoresActivos());
+
+			// Los suscriptores esperan en hilos virtuales; solo se suman los hilos portadores
+			int hilosPlataformaNuevos = ManagementFactory.getThreadMXBean().getThreadCount() - hilosPlataformaAntes;
+			assertTrue(hilosPlataformaNuevos <= Runtime.getRuntime().availableProcessors() + 16,
+				"Se crearon " + hilosPlataformaNuevos + " hilos de plataforma");
+
+			for (int idEstudiante = 0; idEstudiante < ESTUDIANTES; idEstudiante++) {
+				servicio.alCambiarNota(NotaCambiadaEvent.builder()
+					.tipo(NotaCambiadaEvent.Tipo.ACTUALIZADA)
+					.idNota(idEstudiante)
+					.idEstudiante(idEstudiante)
+					.idCurso(1)
+					.notaAnterior(new BigDecimal("10.00"))
+					.notaNueva(new BigDecimal("14.50"))
+					.tipoEvaluacionAnterior(Nota.TipoEvaluacion.PARCIAL)
+					.tipoEvaluacionNueva(Nota.TipoEvaluacion.PARCIAL)
+					.fecha(LocalDateTime.now())
+					.build());
+			}
+			assertTrue(entregados.await(30, TimeUnit.SECONDS),
+				"Cambios sin entregar: " + entregados.getCount());
+
+			assertThrows(IllegalStateException.class, () -> servicio.suscribir(0));
+		} finally {
+			servicio.alCerrar();
+		}
+		assertEquals(0, servicio.obtenerSuscriptoresActivos());
+	}
+
+}